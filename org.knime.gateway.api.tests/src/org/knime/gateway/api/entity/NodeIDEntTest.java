@@ -46,6 +46,7 @@
 package org.knime.gateway.api.entity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import org.junit.jupiter.api.Test;
 import org.knime.core.node.workflow.NodeID;
@@ -98,6 +99,14 @@ void testToAndFromString() {
         //from
         assertThat(new NodeIDEnt(s)).isEqualTo(new NodeIDEnt(3, 4, 1));
         assertThat(new NodeIDEnt("root")).isEqualTo(NodeIDEnt.getRootID());
+        assertThat(new NodeIDEnt("root:12:345:6789")).isEqualTo(new NodeIDEnt(12, 345, 6789));
+        assertThat(new NodeIDEnt("root:7:")).isEqualTo(new NodeIDEnt(7));
+        assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() -> new NodeIDEnt("root:1:a"));
+        assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() -> new NodeIDEnt("root::1"));
+        assertThat(new NodeIDEnt(NodeID.fromString("3:0:4:5"), true)).isEqualTo(new NodeIDEnt(4, 5));
+
+        assertThat(new ConnectionIDEnt("root:3:4_1")).isEqualTo(new ConnectionIDEnt(new NodeIDEnt(3, 4), 1));
+        assertThat(new AnnotationIDEnt("root:3_12")).isEqualTo(new AnnotationIDEnt(new NodeIDEnt(3), 12));
     }
 
     @Test
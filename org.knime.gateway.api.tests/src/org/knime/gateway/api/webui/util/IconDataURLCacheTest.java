@@ -0,0 +1,113 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.api.webui.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link IconDataURLCache}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+class IconDataURLCacheTest {
+
+    @Test
+    void testEqualIconsShareDataURL() {
+        var cache = new IconDataURLCache(Long.MAX_VALUE);
+        var dataURL = cache.getDataURL(new byte[]{1, 2, 3});
+        assertThat(dataURL).startsWith("data:image/png;base64,");
+        assertThat(cache.getDataURL(new byte[]{1, 2, 3})).isSameAs(dataURL);
+        assertThat(cache.getDataURL(new byte[]{1, 2, 4})).isNotEqualTo(dataURL);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(WorkflowEntityFactory.decodeIconDataURL(dataURL)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsedDataURLs() {
+        var dataURLLength = new IconDataURLCache(Long.MAX_VALUE).getDataURL(new byte[]{0, 0, 0}).length();
+        var cache = new IconDataURLCache(2L * dataURLLength);
+        var first = cache.getDataURL(new byte[]{0, 0, 1});
+        cache.getDataURL(new byte[]{0, 0, 2});
+        // access the first one such that the second one is the least recently used
+        assertThat(cache.getDataURL(new byte[]{0, 0, 1})).isSameAs(first);
+        cache.getDataURL(new byte[]{0, 0, 3});
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getSizeInChars()).isEqualTo(2L * dataURLLength);
+        assertThat(cache.getDataURL(new byte[]{0, 0, 1})).isSameAs(first);
+    }
+
+    @Test
+    void testBundleResourceIconsAreReadOnce() throws Exception {
+        var cache = new IconDataURLCache(Long.MAX_VALUE);
+        var reads = new AtomicInteger();
+        var bundleResourceUrl = new URL("bundleresource://1234/icon.png");
+        var dataURL = cache.getDataURL(bundleResourceUrl, () -> {
+            reads.incrementAndGet();
+            return new byte[]{4, 5, 6};
+        });
+        assertThat(cache.getDataURL(bundleResourceUrl, () -> {
+            reads.incrementAndGet();
+            return new byte[]{4, 5, 6};
+        })).isSameAs(dataURL);
+        assertThat(reads.get()).isEqualTo(1);
+
+        // file urls are always read again (the file could have changed) but still share the data-url
+        var fileUrl = new URL("file:/tmp/icon.png");
+        assertThat(cache.getDataURL(fileUrl, () -> {
+            reads.incrementAndGet();
+            return new byte[]{4, 5, 6};
+        })).isSameAs(dataURL);
+        assertThat(reads.get()).isEqualTo(2);
+        assertThat(cache.getDataURL(fileUrl, () -> null)).isNull();
+    }
+
+}
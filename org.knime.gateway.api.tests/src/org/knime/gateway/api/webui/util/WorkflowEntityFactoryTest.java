@@ -49,25 +49,42 @@
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeAndBundleInformationPersistor;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
 import org.knime.core.node.missing.MissingNodeFactory;
 import org.knime.core.node.missing.MissingNodeFactory.Reason;
 import org.knime.core.node.port.PortType;
 import org.knime.core.node.workflow.MetaNodeTemplateInformation;
 import org.knime.core.node.workflow.SubNodeContainer;
 import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.gateway.api.entity.NodeIDEnt;
 import org.knime.gateway.api.webui.entity.ItemVersionEnt;
 import org.knime.gateway.api.webui.entity.LinkVariantEnt;
+import org.knime.gateway.api.webui.entity.NativeNodeEnt;
 import org.knime.gateway.api.webui.entity.NativeNodeInvariantsEnt;
 import org.knime.gateway.api.webui.entity.NativeNodeInvariantsEnt.TypeEnum;
 import org.knime.gateway.api.webui.entity.SpaceProviderEnt;
@@ -155,4 +172,142 @@ void testBuildTemplateLinkEntFromWorkflow() throws URISyntaxException {
         assertThat(linkEnt.getCurrentLinkVariant().getVariant())
             .isEqualTo(LinkVariantEnt.VariantEnum.MOUNTPOINT_ABSOLUTE_PATH);
     }
+
+    @Test
+    void testBuildWorkflowEntReusingUnchangedEntities() {
+        var metanode1 = m_wfm.createAndAddSubWorkflow(new PortType[0], new PortType[0], "metanode1");
+        var metanode2 = m_wfm.createAndAddSubWorkflow(new PortType[0], new PortType[0], "metanode2");
+        var previous = EntityFactory.Workflow.buildWorkflowEnt(m_wfm, WorkflowBuildContext.builder());
+
+        metanode1.setName("renamed metanode1");
+        var workflowEnt = EntityFactory.Workflow.buildWorkflowEnt(m_wfm, WorkflowBuildContext.builder()
+            .reuseUnchangedEntities(previous, Set.of(metanode1.getID()), Set.of(), Set.of()));
+
+        var id1 = new NodeIDEnt(metanode1.getID(), m_wfm).toString();
+        var id2 = new NodeIDEnt(metanode2.getID(), m_wfm).toString();
+        assertThat(workflowEnt.getNodes().get(id1)).isNotSameAs(previous.getNodes().get(id1))
+            .isNotEqualTo(previous.getNodes().get(id1));
+        assertThat(workflowEnt.getNodes().get(id2)).isSameAs(previous.getNodes().get(id2));
+        assertThat(workflowEnt.getNodes()).hasSameSizeAs(previous.getNodes());
+
+        // same result as a full re-build
+        assertThat(workflowEnt)
+            .isEqualTo(EntityFactory.Workflow.buildWorkflowEnt(m_wfm, WorkflowBuildContext.builder()));
+    }
+
+    @Test
+    void testUpdateWorkflowEntProgress() throws InterruptedException {
+        var started = new CountDownLatch(2);
+        var release = new CountDownLatch(1);
+        var nc1 = WorkflowManagerUtil.createAndAddNode(m_wfm, blockingNativeNode(started, release));
+        var nc2 = WorkflowManagerUtil.createAndAddNode(m_wfm, blockingNativeNode(started, release));
+        try {
+            m_wfm.executeAll();
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            var previous = EntityFactory.Workflow.buildWorkflowEnt(m_wfm, WorkflowBuildContext.builder());
+            var id1 = new NodeIDEnt(nc1.getID(), m_wfm).toString();
+            var id2 = new NodeIDEnt(nc2.getID(), m_wfm).toString();
+            var previousNode1 = (NativeNodeEnt)previous.getNodes().get(id1);
+            assertThat(previousNode1.getState().getProgress()).isNull();
+
+            nc1.getProgressMonitor().setProgress(0.5);
+            var workflowEnt = EntityFactory.Workflow.updateWorkflowEntProgress(m_wfm, previous, Set.of(nc1.getID()),
+                Set.of(), WorkflowBuildContext.builder());
+
+            var node1 = (NativeNodeEnt)workflowEnt.getNodes().get(id1);
+            assertThat(node1.getState().getProgress()).isEqualByComparingTo(BigDecimal.valueOf(0.5));
+            assertThat(node1.getState().getExecutionState()).isEqualTo(previousNode1.getState().getExecutionState());
+            assertThat(workflowEnt.getNodes().get(id2)).isSameAs(previous.getNodes().get(id2));
+            assertThat(workflowEnt.getInfo()).isSameAs(previous.getInfo());
+            assertThat(workflowEnt.getConnections()).isSameAs(previous.getConnections());
+            assertThat(workflowEnt)
+                .isEqualTo(EntityFactory.Workflow.buildWorkflowEnt(m_wfm, WorkflowBuildContext.builder()));
+
+            // nodes not contained in the previous workflow entity can't be updated
+            var metanode = m_wfm.createAndAddSubWorkflow(new PortType[0], new PortType[0], "metanode");
+            assertThat(EntityFactory.Workflow.updateWorkflowEntProgress(m_wfm, previous, Set.of(metanode.getID()),
+                Set.of(), WorkflowBuildContext.builder())).isNull();
+        } finally {
+            release.countDown();
+            m_wfm.waitWhileInExecution(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * A node that blocks its execution until 'release' is counted down.
+     */
+    private static NodeFactory<NodeModel> blockingNativeNode(final CountDownLatch started,
+        final CountDownLatch release) {
+        return new NodeFactory<>() {
+            @Override
+            public NodeModel createNodeModel() {
+                return new NodeModel(0, 0) {
+                    @Override
+                    protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+                        throws Exception {
+                        started.countDown();
+                        while (!release.await(10, TimeUnit.MILLISECONDS)) {
+                            exec.checkCanceled();
+                        }
+                        return inData;
+                    }
+
+                    @Override
+                    protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) {
+                        return inSpecs;
+                    }
+
+                    @Override
+                    protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+                        //
+                    }
+
+                    @Override
+                    protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec) {
+                        //
+                    }
+
+                    @Override
+                    protected void saveSettingsTo(final NodeSettingsWO settings) {
+                        //
+                    }
+
+                    @Override
+                    protected void validateSettings(final NodeSettingsRO settings) {
+                        //
+                    }
+
+                    @Override
+                    protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) {
+                        //
+                    }
+
+                    @Override
+                    protected void reset() {
+                        //
+                    }
+                };
+            }
+
+            @Override
+            protected int getNrNodeViews() {
+                return 0;
+            }
+
+            @Override
+            public NodeView<NodeModel> createNodeView(final int viewIndex, final NodeModel nodeModel) {
+                return null;
+            }
+
+            @Override
+            protected boolean hasDialog() {
+                return false;
+            }
+
+            @Override
+            protected NodeDialogPane createNodeDialogPane() {
+                return null;
+            }
+        };
+    }
 }
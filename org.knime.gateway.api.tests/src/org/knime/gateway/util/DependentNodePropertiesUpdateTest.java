@@ -0,0 +1,292 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeDialogPane;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NodeView;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObjectSpec;
+import org.knime.core.node.workflow.NodeContainerState;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.gateway.api.util.DependentNodeProperties;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Tests {@link DependentNodeProperties#update(Set)} on a large generated workflow (a layered DAG) by comparing the
+ * incrementally updated properties with the properties determined from scratch.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings({"javadoc", "java:S5960"})
+class DependentNodePropertiesUpdateTest {
+
+    private static final int NUM_LAYERS = 40;
+
+    private static final int NUM_NODES_PER_LAYER = 25;
+
+    private WorkflowManager m_wfm;
+
+    private final CountDownLatch m_blocker = new CountDownLatch(1);
+
+    private NodeID[][] m_dag;
+
+    @BeforeEach
+    void createLargeDag() throws IOException {
+        m_wfm = WorkflowManagerUtil.createEmptyWorkflow();
+        m_dag = new NodeID[NUM_LAYERS][NUM_NODES_PER_LAYER];
+        for (var l = 0; l < NUM_LAYERS; l++) {
+            for (var n = 0; n < NUM_NODES_PER_LAYER; n++) {
+                var isBlocking = l == NUM_LAYERS / 2 && n == 0;
+                m_dag[l][n] = m_wfm.createAndAddNode(new TestNodeFactory(l == 0 ? 0 : 2, isBlocking));
+                if (l > 0) {
+                    m_wfm.addConnection(m_dag[l - 1][n], 1, m_dag[l][n], 1);
+                    m_wfm.addConnection(m_dag[l - 1][(n + 1) % NUM_NODES_PER_LAYER], 1, m_dag[l][n], 2);
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    void disposeWorkflow() {
+        m_blocker.countDown();
+        m_wfm.getParent().cancelExecution(m_wfm);
+        WorkflowManagerUtil.disposeWorkflow(m_wfm);
+    }
+
+    @Test
+    void testUpdateWhileExecuting() {
+        var props = DependentNodeProperties.determineDependentNodeProperties(m_wfm);
+        var states = getNodeStates();
+
+        // execute up to the blocking node
+        var blockingNode = m_dag[NUM_LAYERS / 2][0];
+        var downstreamNode = m_dag[NUM_LAYERS - 1][0];
+        m_wfm.executeUpToHere(blockingNode, downstreamNode);
+        await().atMost(10, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS)
+            .untilAsserted(() -> assertThat(
+                m_wfm.getNodeContainer(blockingNode).getNodeContainerState().isExecutionInProgress()).isTrue());
+        props = updateAndCompare(props, states);
+        states = getNodeStates();
+
+        // finish execution
+        m_blocker.countDown();
+        await().atMost(10, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS)
+            .untilAsserted(() -> assertThat(m_wfm.getNodeContainerState().isExecutionInProgress()).isFalse());
+        props = updateAndCompare(props, states);
+        states = getNodeStates();
+
+        // reset a node in the middle of the workflow
+        m_wfm.resetAndConfigureNode(m_dag[NUM_LAYERS / 4][1]);
+        updateAndCompare(props, states);
+    }
+
+    @Test
+    void testUpdateFallsBackToFullDeterminationOnStructuralChanges() {
+        var props = DependentNodeProperties.determineDependentNodeProperties(m_wfm);
+        var newNode = m_wfm.createAndAddNode(new TestNodeFactory(0, false));
+        var updatedProps = props.update(Set.of(newNode));
+        assertThat(updatedProps.canExecuteNode(newNode)).isTrue();
+        assertThat(props.canExecuteNode(newNode)).isFalse();
+        assertEquals(updatedProps, DependentNodeProperties.determineDependentNodeProperties(m_wfm));
+    }
+
+    private DependentNodeProperties updateAndCompare(final DependentNodeProperties props,
+        final Map<NodeID, NodeContainerState> previousStates) {
+        try (var lock = m_wfm.lock()) {
+            var changedNodes = getNodeStates().entrySet().stream()
+                .filter(e -> !e.getValue().equals(previousStates.get(e.getKey()))).map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+            assertThat(changedNodes).isNotEmpty();
+            var updated = props.update(changedNodes);
+            assertEquals(updated, DependentNodeProperties.determineDependentNodeProperties(m_wfm));
+            return updated;
+        }
+    }
+
+    private void assertEquals(final DependentNodeProperties actual, final DependentNodeProperties expected) {
+        for (var nc : m_wfm.getNodeContainers()) {
+            var id = nc.getID();
+            assertThat(actual.canExecuteNode(id)).as("'canExecute' flag differs for node " + id)
+                .isEqualTo(expected.canExecuteNode(id));
+            assertThat(actual.canResetNode(id)).as("'canReset' flag differs for node " + id)
+                .isEqualTo(expected.canResetNode(id));
+            assertThat(actual.hasExecutingSuccessor(id)).as("'hasExecutingSuccessor' flag differs for node " + id)
+                .isEqualTo(expected.hasExecutingSuccessor(id));
+        }
+        assertThat(actual.canResetAny()).isEqualTo(expected.canResetAny());
+    }
+
+    private Map<NodeID, NodeContainerState> getNodeStates() {
+        var res = new HashMap<NodeID, NodeContainerState>();
+        m_wfm.getNodeContainers().forEach(nc -> res.put(nc.getID(), nc.getNodeContainerState()));
+        return res;
+    }
+
+    private final class TestNodeFactory extends NodeFactory<NodeModel> {
+
+        private final int m_numInputs;
+
+        private final boolean m_isBlocking;
+
+        TestNodeFactory(final int numInputs, final boolean isBlocking) {
+            m_numInputs = numInputs;
+            m_isBlocking = isBlocking;
+        }
+
+        @Override
+        public NodeModel createNodeModel() {
+            List<PortType> inputs = new ArrayList<>();
+            for (var i = 0; i < m_numInputs; i++) {
+                inputs.add(FlowVariablePortObject.TYPE);
+            }
+            return new TestNodeModel(inputs.toArray(PortType[]::new), m_isBlocking ? m_blocker : null);
+        }
+
+        @Override
+        protected int getNrNodeViews() {
+            return 0;
+        }
+
+        @Override
+        public NodeView<NodeModel> createNodeView(final int viewIndex, final NodeModel nodeModel) {
+            return null;
+        }
+
+        @Override
+        protected boolean hasDialog() {
+            return false;
+        }
+
+        @Override
+        protected NodeDialogPane createNodeDialogPane() {
+            return null;
+        }
+    }
+
+    private static final class TestNodeModel extends NodeModel {
+
+        private final CountDownLatch m_blocker;
+
+        TestNodeModel(final PortType[] inputs, final CountDownLatch blocker) {
+            super(inputs, new PortType[]{FlowVariablePortObject.TYPE});
+            m_blocker = blocker;
+        }
+
+        @Override
+        protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+            return new PortObjectSpec[]{FlowVariablePortObjectSpec.INSTANCE};
+        }
+
+        @Override
+        protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
+            if (m_blocker != null) {
+                m_blocker.await();
+            }
+            return new PortObject[]{FlowVariablePortObject.INSTANCE};
+        }
+
+        @Override
+        protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            //
+        }
+
+        @Override
+        protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+            //
+        }
+
+        @Override
+        protected void saveSettingsTo(final NodeSettingsWO settings) {
+            //
+        }
+
+        @Override
+        protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+            //
+        }
+
+        @Override
+        protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+            //
+        }
+
+        @Override
+        protected void reset() {
+            //
+        }
+    }
+}
@@ -103,9 +103,9 @@ public AnnotationIDEnt(final WorkflowAnnotationID id, final WorkflowManager wfm)
      * @param s string representation as returned by {@link #toString()}
      */
     public AnnotationIDEnt(final String s) {
-        String[] split = s.split("_");
-        m_nodeId = new NodeIDEnt(split[0]);
-        m_index = Integer.parseInt(split[1]);
+        final var index = s.indexOf('_');
+        m_nodeId = new NodeIDEnt(s.substring(0, index));
+        m_index = Integer.parseInt(s, index + 1, s.length(), 10);
     }
 
     @Override
@@ -100,9 +100,9 @@ public ConnectionIDEnt(final ConnectionID connectionId, final WorkflowManager wf
      * @param s string representation as returned by {@link #toString()}
      */
     public ConnectionIDEnt(final String s) {
-        String[] split = s.split("_");
-        m_destNodeID = new NodeIDEnt(split[0]);
-        m_destPortIdx = Integer.parseInt(split[1]);
+        final var index = s.indexOf('_');
+        m_destNodeID = new NodeIDEnt(s.substring(0, index));
+        m_destPortIdx = Integer.parseInt(s, index + 1, s.length(), 10);
     }
 
     /**
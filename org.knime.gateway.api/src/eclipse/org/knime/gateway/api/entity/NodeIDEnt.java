@@ -188,18 +188,38 @@ private static int[] extractNodeIDs(final NodeID nodeID, final int startIndex) {
         return extractNodeIDs(s, startIndex);
     }
 
+    /*
+     * Parses the ids in a single pass without intermediate strings (as opposed to, e.g., String.split). Mimics
+     * String.split in that trailing empty segments are ignored.
+     */
     private static int[] extractNodeIDs(final String s, final int startIndex) {
         final int index = s.indexOf(':');
-        if (index >= startIndex) {
-            final var split = s.substring(index + 1).split(":");
-            final var ids = new int[split.length - startIndex];
-            for (int i = startIndex; i < split.length; i++) {
-                ids[i - startIndex] = Integer.parseInt(split[i]);
-            }
-            return ids;
-        } else {
+        if (index < startIndex) {
             return new int[0];
         }
+        var end = s.length();
+        while (end > index + 2 && s.charAt(end - 1) == ':') {
+            end--;
+        }
+        var numSegments = 1;
+        for (var i = index + 1; i < end; i++) {
+            if (s.charAt(i) == ':') {
+                numSegments++;
+            }
+        }
+        final var ids = new int[numSegments - startIndex];
+        var segment = 0;
+        var segmentStart = index + 1;
+        for (var i = index + 1; i <= end; i++) {
+            if (i == end || s.charAt(i) == ':') {
+                if (segment >= startIndex) {
+                    ids[segment - startIndex] = Integer.parseInt(s, segmentStart, i, 10);
+                }
+                segment++;
+                segmentStart = i + 1;
+            }
+        }
+        return ids;
     }
 
     /**
@@ -262,9 +282,9 @@ public int[] getNodeIDs() {
      */
     @Override
     public String toString() {
-        final var sb = new StringBuilder(ROOT_MARKER);
+        final var sb = new StringBuilder(ROOT_MARKER.length() + 4 * m_ids.length).append(ROOT_MARKER);
         for (int i : m_ids) {
-            sb.append(":" + i);
+            sb.append(':').append(i);
         }
         return sb.toString();
     }
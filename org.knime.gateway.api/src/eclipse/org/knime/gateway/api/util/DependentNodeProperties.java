@@ -49,6 +49,7 @@
 package org.knime.gateway.api.util;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Optional;
@@ -79,8 +80,9 @@
  * API/framework.
  *
  * Another note: every time the {@link #calc()}-method is called the entire workflow (of the associated workflow manager
- * and partly of the parent workflow manager) graph is traversed. That maybe could be avoided somehow if we knew what
- * parts of the graph have been changed (a changed node state itself is not enough).
+ * and partly of the parent workflow manager) graph is traversed. If it's known which nodes changed their state, the
+ * properties can be updated incrementally instead (see {@link #update(Set)}), i.e. only the nodes up- and downstream of
+ * the changed nodes are traversed.
  *
  * @noreference This class is not intended to be referenced by clients.
  *
@@ -122,6 +124,37 @@ private DependentNodeProperties(final WorkflowManager wfm) {
         calc();
     }
 
+    private DependentNodeProperties(final DependentNodeProperties other) {
+        m_wfm = other.m_wfm;
+        other.m_props.forEach((id, p) -> m_props.put(id, new Properties(p)));
+    }
+
+    /**
+     * Updates the dependent node properties with respect to the given nodes whose state changed since the properties
+     * have been determined. Only the properties of the nodes downstream (executable predecessors) and upstream
+     * (executing or paused successors) of the changed nodes (and of the nodes connected to the workflow's borders) are
+     * re-determined - instead of traversing the entire workflow graph again.
+     *
+     * The result is equivalent to {@link #determineDependentNodeProperties(WorkflowManager)} as long as nothing else
+     * but the state of the given nodes changed. If nodes have been added or removed, a full re-determination is done.
+     * It's the responsibility of the caller to call {@link #determineDependentNodeProperties(WorkflowManager)}
+     * instead if connections have been added or removed.
+     *
+     * @param nodesWithChangedState the nodes whose state (including the loop status) changed
+     * @return a new instance with the updated properties; this instance remains unchanged
+     * @since 5.12
+     */
+    public DependentNodeProperties update(final Set<NodeID> nodesWithChangedState) {
+        try (WorkflowLock lock = m_wfm.lock()) {
+            var res = new DependentNodeProperties(this);
+            if (!res.calcIncrementally(nodesWithChangedState)) {
+                res.m_props.clear();
+                res.calc();
+            }
+            return res;
+        }
+    }
+
     /**
      * Whether a node can be executed. Equivalent to the {@link WorkflowManager#canExecuteNode(NodeID)}-method, but
      * faster if called for many (or usually all) nodes.
@@ -239,6 +272,130 @@ private void calc() {
         updateHasPausedSuccessorsProperties(hasPausedSuccessors);
     }
 
+    /**
+     * Re-determines the properties of the nodes up- and downstream of the given nodes.
+     *
+     * @return {@code false} if the properties can't be determined incrementally (e.g. because nodes have been added
+     *         or removed)
+     */
+    private boolean calcIncrementally(final Set<NodeID> nodesWithChangedState) {
+        assert m_wfm.isLockedByCurrentThread();
+        if (m_wfm.getNodeContainers().size() != m_props.size()
+            || !m_props.keySet().containsAll(nodesWithChangedState)) {
+            return false;
+        }
+        if (nodesWithChangedState.isEmpty()) {
+            return true;
+        }
+        // nodes at the workflow borders depend on the parent workflow, too - hence, always re-determined
+        var changedNodes = new HashSet<>(nodesWithChangedState);
+        addNodesAtWorkflowBorders(m_wfm, changedNodes);
+        var downstream = collectReachableNodes(changedNodes, id -> CoreUtil.successors(id, m_wfm));
+        var upstream = collectReachableNodes(changedNodes, id -> CoreUtil.predecessors(id, m_wfm));
+
+        // (1) reset the properties of the affected nodes to their initial values (as done for a full calculation)
+        LinkedList<NodeID> hasExecutingSuccessors = new LinkedList<>();
+        LinkedList<NodeID> hasExecutablePredecessors = new LinkedList<>();
+        LinkedList<NodeID> hasPausedSuccessors = new LinkedList<>();
+        var init = new InitialProperties();
+        var affected = new HashSet<>(downstream);
+        affected.addAll(upstream);
+        for (var id : affected) {
+            init.determine(m_wfm, m_wfm.getNodeContainer(id));
+            var props = m_props.get(id);
+            if (downstream.contains(id)) {
+                props.setHasExecutablePredecessors(init.m_props.hasExecutablePredecessors());
+                hasExecutablePredecessors.addAll(init.m_hasExecutablePredecessors);
+            }
+            if (upstream.contains(id)) {
+                props.setHasExecutingSuccessors(init.m_props.hasExecutingSuccessors());
+                props.setHasPausedSuccessor(init.m_props.hasPausedSuccessor());
+                hasExecutingSuccessors.addAll(init.m_hasExecutingSuccessors);
+                hasPausedSuccessors.addAll(init.m_hasPausedSuccessors);
+            }
+        }
+
+        // (2) take the (unchanged) properties of the non-affected neighbours into account
+        for (var id : downstream) {
+            if (CoreUtil.predecessors(id, m_wfm).stream()
+                .anyMatch(pred -> !downstream.contains(pred) && propagatesExecutablePredecessors(pred, init))
+                && hasExecutablePredecessorVisitor(id)) {
+                hasExecutablePredecessors.add(id);
+            }
+        }
+        for (var id : upstream) {
+            var successors = CoreUtil.successors(id, m_wfm);
+            if (successors.stream()
+                .anyMatch(succ -> !upstream.contains(succ) && propagatesExecutingSuccessors(succ, init))
+                && hasExecutingSuccessorVisitor(id)) {
+                hasExecutingSuccessors.add(id);
+            }
+            if (successors.stream().anyMatch(succ -> !upstream.contains(succ) && m_props.get(succ).hasPausedSuccessor())
+                && hasPausedSuccessorVisitor(id)) {
+                hasPausedSuccessors.add(id);
+            }
+        }
+
+        // (3) propagate within the affected parts of the workflow
+        updateHasExecutablePredecessorsProperties(hasExecutablePredecessors);
+        updateHasExecutingSuccessorsProperties(hasExecutingSuccessors);
+        updateHasPausedSuccessorsProperties(hasPausedSuccessors);
+        return true;
+    }
+
+    /*
+     * Whether the 'has executable predecessors' property of a node has been propagated to its successors during the
+     * (full) calculation. That's also the case for idle metanodes or components which contain configured nodes - even
+     * though their own property is 'false' (see initProperties).
+     */
+    private boolean propagatesExecutablePredecessors(final NodeID id, final InitialProperties init) {
+        if (m_props.get(id).hasExecutablePredecessors()) {
+            return true;
+        }
+        init.determine(m_wfm, m_wfm.getNodeContainer(id));
+        return init.m_hasExecutablePredecessors.contains(id);
+    }
+
+    /*
+     * Whether the 'has executing successors' property of a node has been propagated to its predecessors during the
+     * (full) calculation. That's not the case for nodes which are waiting to be executed - they are initialized with
+     * 'true' but not used as start nodes (see initProperties).
+     */
+    private boolean propagatesExecutingSuccessors(final NodeID id, final InitialProperties init) {
+        if (!m_props.get(id).hasExecutingSuccessors()) {
+            return false;
+        }
+        init.determine(m_wfm, m_wfm.getNodeContainer(id));
+        return !init.m_props.hasExecutingSuccessors() || init.m_hasExecutingSuccessors.contains(id);
+    }
+
+    private static void addNodesAtWorkflowBorders(final WorkflowManager wfm, final Set<NodeID> nodes) {
+        var wfmId = wfm.getID();
+        for (var cc : wfm.getConnectionContainers()) {
+            if (cc.getSource().equals(wfmId) && !cc.getDest().equals(wfmId)) {
+                nodes.add(cc.getDest());
+            } else if (cc.getDest().equals(wfmId) && !cc.getSource().equals(wfmId)) {
+                nodes.add(cc.getSource());
+            }
+        }
+        getParentComponent(wfm).map(SubNodeContainer::getVirtualOutNodeID).filter(wfm::containsNodeContainer)
+            .ifPresent(nodes::add);
+    }
+
+    private static Set<NodeID> collectReachableNodes(final Set<NodeID> startNodes,
+        final Function<NodeID, Set<NodeID>> nextNodes) {
+        var res = new HashSet<>(startNodes);
+        Queue<NodeID> queue = new LinkedList<>(startNodes);
+        while (!queue.isEmpty()) {
+            for (NodeID next : nextNodes.apply(queue.poll())) {
+                if (res.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        return res;
+    }
+
     private void updateHasExecutablePredecessorsProperties(final Queue<NodeID> startNodes) {
         iterateNodes(startNodes, this::hasExecutablePredecessorVisitor, id -> CoreUtil.successors(id, m_wfm));
     }
@@ -271,34 +428,40 @@ private static void findAndInitStartNodes(final WorkflowManager wfm, final Map<N
         final Queue<NodeID> hasExecutingSuccessors, final Queue<NodeID> hasExecutablePredecessors,
         final LinkedList<NodeID> hasPausedSuccessors) {
         for (NodeContainer nc : wfm.getNodeContainers()) {
-            var nodeId = nc.getID();
-            var props = propsMap.computeIfAbsent(nodeId, i -> new Properties());
-            var nodeState = nc.getNodeContainerState();
-            var added = false;
-
-            // Optimisation: Set the property for any waiting node as well, but add only actually executing nodes as seeds.
-            //  (Per definition, waiting nodes must have an upstream node that is executing).
-            props.setHasExecutingSuccessors(isExecutionInProgress(nc));
-            if (isExecuting(nodeState)) {
-                hasExecutingSuccessors.add(nodeId);
-                added = true;
-            }
+            var props = propsMap.computeIfAbsent(nc.getID(), i -> new Properties());
+            initProperties(wfm, nc, props, hasExecutingSuccessors, hasExecutablePredecessors, hasPausedSuccessors);
+        }
+    }
 
-            props.setHasExecutablePredecessors(nodeState.isConfigured());
-            if (nodeState.isConfigured() || isIdleButContainsConfiguredNodes(nodeState, nc)) {
-                hasExecutablePredecessors.add(nodeId);
-                added = true;
-            }
+    private static void initProperties(final WorkflowManager wfm, final NodeContainer nc, final Properties props,
+        final Queue<NodeID> hasExecutingSuccessors, final Queue<NodeID> hasExecutablePredecessors,
+        final Queue<NodeID> hasPausedSuccessors) {
+        var nodeId = nc.getID();
+        var nodeState = nc.getNodeContainerState();
+        var added = false;
+
+        // Optimisation: Set the property for any waiting node as well, but add only actually executing nodes as seeds.
+        //  (Per definition, waiting nodes must have an upstream node that is executing).
+        props.setHasExecutingSuccessors(isExecutionInProgress(nc));
+        if (isExecuting(nodeState)) {
+            hasExecutingSuccessors.add(nodeId);
+            added = true;
+        }
 
-            props.setHasPausedSuccessor(isPausedLoopEndNode(nc));
-            if (isPausedLoopEndNode(nc)) {
-                hasPausedSuccessors.add(nodeId);
-            }
+        props.setHasExecutablePredecessors(nodeState.isConfigured());
+        if (nodeState.isConfigured() || isIdleButContainsConfiguredNodes(nodeState, nc)) {
+            hasExecutablePredecessors.add(nodeId);
+            added = true;
+        }
 
-            if (!added) {
-                handleNodesAtComponentAndMetanodeBorders(wfm, hasExecutingSuccessors, hasExecutablePredecessors, nc,
-                    nodeId, props);
-            }
+        props.setHasPausedSuccessor(isPausedLoopEndNode(nc));
+        if (isPausedLoopEndNode(nc)) {
+            hasPausedSuccessors.add(nodeId);
+        }
+
+        if (!added) {
+            handleNodesAtComponentAndMetanodeBorders(wfm, hasExecutingSuccessors, hasExecutablePredecessors, nc,
+                nodeId, props);
         }
     }
 
@@ -410,6 +573,29 @@ private static Optional<SubNodeContainer> getParentComponent(final WorkflowManag
             .map(p -> (SubNodeContainer)p);
     }
 
+    /**
+     * Helper to determine the initial properties of a single node (i.e. before they are propagated through the
+     * workflow graph) together with the start nodes for the propagation. Re-used for multiple nodes.
+     */
+    private static final class InitialProperties {
+
+        private final Properties m_props = new Properties();
+
+        private final LinkedList<NodeID> m_hasExecutingSuccessors = new LinkedList<>();
+
+        private final LinkedList<NodeID> m_hasExecutablePredecessors = new LinkedList<>();
+
+        private final LinkedList<NodeID> m_hasPausedSuccessors = new LinkedList<>();
+
+        void determine(final WorkflowManager wfm, final NodeContainer nc) {
+            m_hasExecutingSuccessors.clear();
+            m_hasExecutablePredecessors.clear();
+            m_hasPausedSuccessors.clear();
+            initProperties(wfm, nc, m_props, m_hasExecutingSuccessors, m_hasExecutablePredecessors,
+                m_hasPausedSuccessors);
+        }
+    }
+
     private static class Properties {
 
         private boolean m_hasExecutablePredecessors;
@@ -427,6 +613,11 @@ private static class Properties {
             m_hasExecutingSuccessors = hasExecutingSuccessors;
         }
 
+        Properties(final Properties other) {
+            this(other.m_hasExecutablePredecessors, other.m_hasExecutingSuccessors);
+            m_hasPausedSuccessor = other.m_hasPausedSuccessor;
+        }
+
         /**
          * @return Whether the node has a predecessor that is executable. Also considers predecessors across
          *         component/metanode borders. The property is boundary-inclusive: An executable node will also have
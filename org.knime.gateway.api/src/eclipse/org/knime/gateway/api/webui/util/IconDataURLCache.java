@@ -0,0 +1,182 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.api.webui.util;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Content-addressed, size-bounded store of icon data-urls. Icons are identified by the hash of their bytes such that
+ * equal icons (e.g. the same icon of many node templates or components) are encoded only once and share the same
+ * data-url instance. The least recently used data-urls are evicted as soon as the summed up length of all cached
+ * data-urls exceeds the configured budget.
+ *
+ * Icons referenced by bundle resource urls are additionally looked up by their url, i.e. they don't even need to be
+ * read again as long as they are cached (bundle resources don't change while the application is running).
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class IconDataURLCache {
+
+    /**
+     * System property to configure the maximum number of characters of all the cached data-urls together.
+     */
+    static final String MAX_SIZE_PROPERTY = IconDataURLCache.class.getName() + ".maxSize";
+
+    private static final long DEFAULT_MAX_SIZE = 16L * 1024 * 1024;
+
+    private static final String BUNDLE_RESOURCE_PROTOCOL = "bundleresource";
+
+    private static final IconDataURLCache INSTANCE =
+        new IconDataURLCache(Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+
+    private final long m_maxSize;
+
+    /*
+     * Content hash -> data-url; in access order to evict the least recently used data-urls first.
+     */
+    private final LinkedHashMap<String, String> m_dataURLs = new LinkedHashMap<>(256, 0.75f, true);
+
+    /*
+     * Bundle resource url -> content hash. Not bounded since it only holds a small entry per icon url; the actual
+     * data-url might have been evicted in the meantime in which case the icon is read again.
+     */
+    private final Map<String, String> m_hashesByURL = new HashMap<>();
+
+    private long m_size;
+
+    IconDataURLCache(final long maxSize) {
+        m_maxSize = maxSize;
+    }
+
+    static IconDataURLCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param iconData the icon bytes
+     * @return the data-url for the given icon bytes; the same instance for equal icon bytes as long as it's cached
+     */
+    String getDataURL(final byte[] iconData) {
+        return getDataURL(DigestUtils.sha256Hex(iconData), iconData);
+    }
+
+    /**
+     * @param url the icon url
+     * @param readIconData reads the icon bytes from the url if not cached already; can return {@code null}
+     * @return the data-url or {@code null} if the icon bytes couldn't be read
+     */
+    String getDataURL(final URL url, final Supplier<byte[]> readIconData) {
+        if (!BUNDLE_RESOURCE_PROTOCOL.equals(url.getProtocol())) {
+            var iconData = readIconData.get();
+            return iconData == null ? null : getDataURL(iconData);
+        }
+        var urlKey = url.toExternalForm();
+        String hash;
+        synchronized (this) {
+            hash = m_hashesByURL.get(urlKey);
+            var dataURL = hash == null ? null : m_dataURLs.get(hash);
+            if (dataURL != null) {
+                return dataURL;
+            }
+        }
+        var iconData = readIconData.get();
+        if (iconData == null) {
+            return null;
+        }
+        hash = DigestUtils.sha256Hex(iconData);
+        synchronized (this) {
+            m_hashesByURL.put(urlKey, hash);
+        }
+        return getDataURL(hash, iconData);
+    }
+
+    private String getDataURL(final String hash, final byte[] iconData) {
+        synchronized (this) {
+            var dataURL = m_dataURLs.get(hash);
+            if (dataURL != null) {
+                return dataURL;
+            }
+        }
+        // encode outside of the lock - in the worst case the same icon is encoded twice concurrently
+        var dataURL = WorkflowEntityFactory.ICON_DATA_URL_PREFIX
+            + new String(Base64.encodeBase64(iconData), StandardCharsets.UTF_8);
+        synchronized (this) {
+            var existing = m_dataURLs.putIfAbsent(hash, dataURL);
+            if (existing != null) {
+                return existing;
+            }
+            m_size += dataURL.length();
+            evict();
+        }
+        return dataURL;
+    }
+
+    private void evict() {
+        var it = m_dataURLs.entrySet().iterator();
+        // always keep the most recently added data-url, even if it exceeds the budget on its own
+        while (m_size > m_maxSize && m_dataURLs.size() > 1) {
+            m_size -= it.next().getValue().length();
+            it.remove();
+        }
+    }
+
+    synchronized int size() {
+        return m_dataURLs.size();
+    }
+
+    synchronized long getSizeInChars() {
+        return m_size;
+    }
+
+}
@@ -54,13 +54,17 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import org.knime.core.node.context.ModifiableNodeCreationConfiguration;
 import org.knime.core.node.context.ports.ModifiablePortsConfiguration;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.ConnectionID;
 import org.knime.core.node.workflow.NativeNodeContainer;
 import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowAnnotation;
 import org.knime.core.node.workflow.WorkflowAnnotationID;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.gateway.api.entity.AnnotationIDEnt;
@@ -69,8 +73,12 @@
 import org.knime.gateway.api.util.DependentNodeProperties;
 import org.knime.gateway.api.util.VersionId;
 import org.knime.gateway.api.webui.entity.ComponentPlaceholderEnt;
+import org.knime.gateway.api.webui.entity.ConnectionEnt;
+import org.knime.gateway.api.webui.entity.NativeNodeInvariantsEnt;
+import org.knime.gateway.api.webui.entity.NodeEnt;
 import org.knime.gateway.api.webui.entity.SpaceProviderEnt;
 import org.knime.gateway.api.webui.entity.SyncStateEnt;
+import org.knime.gateway.api.webui.entity.WorkflowAnnotationEnt;
 import org.knime.gateway.api.webui.entity.WorkflowEnt;
 
 /**
@@ -112,6 +120,8 @@ public final class WorkflowBuildContext {
 
     private final Supplier<SyncStateEnt> m_syncStateSupplier;
 
+    private final UnchangedEntities m_unchangedEntities;
+
     private WorkflowBuildContext(final WorkflowManager wfm, final WorkflowBuildContextBuilder builder,
         final boolean isInStreamingMode, final DependentNodeProperties depNodeProps,
         final Collection<ComponentPlaceholderEnt> componentPlaceholders) {
@@ -126,6 +136,7 @@ private WorkflowBuildContext(final WorkflowManager wfm, final WorkflowBuildConte
         m_spaceProviderTypes = builder.m_spaceProviderTypes;
         m_version = builder.m_version;
         m_syncStateSupplier = builder.m_syncStateSupplier;
+        m_unchangedEntities = builder.m_unchangedEntities;
     }
 
     NodeIDEnt buildNodeIDEnt(final NodeID nodeID) {
@@ -233,6 +244,76 @@ SyncStateEnt getSyncStateEnt() {
         return m_syncStateSupplier == null ? null : m_syncStateSupplier.get();
     }
 
+    /**
+     * @param nodeId the node to get the entity for
+     * @param key the key of the node entity in {@link WorkflowEnt#getNodes()}
+     * @return the node entity of the previous workflow entity if the node is known to be unchanged (see
+     *         {@link WorkflowBuildContextBuilder#reuseUnchangedEntities(WorkflowEnt, Set, Set, Set)}), otherwise
+     *         {@code null}
+     */
+    NodeEnt getUnchangedNodeEnt(final NodeID nodeId, final String key) {
+        if (m_unchangedEntities == null || m_unchangedEntities.changedNodes().contains(nodeId)) {
+            return null;
+        }
+        return m_unchangedEntities.previous().getNodes().get(key);
+    }
+
+    /**
+     * @param cc the connection to get the entity for
+     * @param key the key of the connection entity in {@link WorkflowEnt#getConnections()}
+     * @return the connection entity of the previous workflow entity if the connection is known to be unchanged,
+     *         otherwise {@code null}
+     */
+    ConnectionEnt getUnchangedConnectionEnt(final ConnectionContainer cc, final String key) {
+        if (m_unchangedEntities == null
+            || m_unchangedEntities.changedConnections().contains(new ConnectionID(cc.getDest(), cc.getDestPort()))) {
+            return null;
+        }
+        return m_unchangedEntities.previous().getConnections().get(key);
+    }
+
+    /**
+     * @param wa the annotation to get the entity for
+     * @return the annotation entity of the previous workflow entity if the annotation is known to be unchanged,
+     *         otherwise {@code null}
+     */
+    WorkflowAnnotationEnt getUnchangedWorkflowAnnotationEnt(final WorkflowAnnotation wa) {
+        if (m_unchangedEntities == null || m_unchangedEntities.changedAnnotations().contains(wa.getID())) {
+            return null;
+        }
+        return m_unchangedEntities.previousAnnotations().get(buildAnnotationIDEnt(wa.getID()));
+    }
+
+    /**
+     * @param templateId
+     * @return the native node invariants of the previous workflow entity, if available, otherwise {@code null}
+     */
+    NativeNodeInvariantsEnt getPreviousNativeNodeInvariantsEnt(final String templateId) {
+        if (m_unchangedEntities == null || m_unchangedEntities.previous().getNodeTemplates() == null) {
+            return null;
+        }
+        return m_unchangedEntities.previous().getNodeTemplates().get(templateId);
+    }
+
+    /**
+     * The previously built workflow entity together with the changes that happened since then.
+     */
+    private record UnchangedEntities(WorkflowEnt previous,
+        Map<AnnotationIDEnt, WorkflowAnnotationEnt> previousAnnotations, Set<NodeID> changedNodes,
+        Set<ConnectionID> changedConnections, Set<WorkflowAnnotationID> changedAnnotations) {
+
+        static UnchangedEntities of(final WorkflowEnt previous, final Set<NodeID> changedNodes,
+            final Set<ConnectionID> changedConnections, final Set<WorkflowAnnotationID> changedAnnotations) {
+            var annotations = previous.getWorkflowAnnotations();
+            var previousAnnotations = new HashMap<AnnotationIDEnt, WorkflowAnnotationEnt>();
+            if (annotations != null) {
+                annotations.forEach(a -> previousAnnotations.put(a.getId(), a));
+            }
+            return new UnchangedEntities(previous, previousAnnotations, changedNodes, changedConnections,
+                changedAnnotations);
+        }
+    }
+
     /**
      * Creates a new builder instance.
      *
@@ -263,6 +344,8 @@ public static final class WorkflowBuildContextBuilder {
 
         private Supplier<SyncStateEnt> m_syncStateSupplier;
 
+        private UnchangedEntities m_unchangedEntities;
+
         private WorkflowBuildContextBuilder() {
             //
         }
@@ -361,6 +444,32 @@ public WorkflowBuildContextBuilder setSyncStateSupplier(final Supplier<SyncState
             return this;
         }
 
+        /**
+         * Lets the workflow entity be built incrementally, i.e. the node-, connection- and annotation-entities of the
+         * given previous workflow entity are re-used (by reference) instead of being re-built - unless they are part of
+         * the given sets of changes.
+         *
+         * Note: it's the responsibility of the caller to ensure that the previous workflow entity has been built for
+         * the very same workflow with the same build context settings, and that no changes occurred since then other
+         * than the ones given. Workflow-level properties (info, allowed actions, parents, metadata etc.) are always
+         * re-built.
+         *
+         * @param previous the previously built workflow entity
+         * @param changedNodes the nodes changed since the previous workflow entity has been built
+         * @param changedConnections the connections changed since the previous workflow entity has been built
+         * @param changedAnnotations the workflow annotations changed since the previous workflow entity has been built
+         * @return this builder instance
+         *
+         * @since 5.12
+         */
+        public WorkflowBuildContextBuilder reuseUnchangedEntities(final WorkflowEnt previous,
+            final Set<NodeID> changedNodes, final Set<ConnectionID> changedConnections,
+            final Set<WorkflowAnnotationID> changedAnnotations) {
+            m_unchangedEntities = UnchangedEntities.of(CheckUtils.checkArgumentNotNull(previous), changedNodes,
+                changedConnections, changedAnnotations);
+            return this;
+        }
+
         /**
          * Builds the workflow context. This might be an operation which is a bit more involved since certain
          * characteristics of the workflow are being determined.
@@ -40,6 +40,7 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -69,6 +70,7 @@
 import org.knime.core.node.workflow.AnnotationData.TextAlignment;
 import org.knime.core.node.workflow.ComponentMetadata;
 import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.ConnectionID;
 import org.knime.core.node.workflow.FlowScopeContext;
 import org.knime.core.node.workflow.LoopEndNode;
 import org.knime.core.node.workflow.MetaNodeTemplateInformation;
@@ -203,7 +205,7 @@ public final class WorkflowEntityFactory {
 
     private static final Map<Class<?>, Boolean> IS_STREAMABLE = new ConcurrentHashMap<>(0);
 
-    private static final String ICON_DATA_URL_PREFIX = "data:image/png;base64,";
+    static final String ICON_DATA_URL_PREFIX = "data:image/png;base64,";
 
     /**
      * Characterization of loop state for determining allowed actions. This is not part of the API, see
@@ -376,10 +378,10 @@ public WorkflowEnt buildWorkflowEnt(final WorkflowManager wfm,
             }
 
             var connections = wfm.getConnectionContainers().stream()
-                .map(cc -> buildConnectionEnt(buildConnectionIDEnt(cc, buildContext), cc, buildContext))
+                .map(cc -> buildOrReuseConnectionEnt(cc, buildContext))
                 .collect(Collectors.toMap(c -> c.getId().toString(), c -> c)); // NOSONAR
-            var annotations =
-                wfm.getWorkflowAnnotations().stream().map(wa -> buildWorkflowAnnotationEnt(wa, buildContext)).toList();
+            var annotations = wfm.getWorkflowAnnotations().stream()
+                .map(wa -> buildOrReuseWorkflowAnnotationEnt(wa, buildContext)).toList();
             var metadata = getMetadata(wfm);
             var componentPlaceholders = buildContext.getComponentPlaceholders().stream().toList();
             var isProjectExecuting = CoreUtil.getProjectWorkflow(wfm).getNodeContainerState().isExecutionInProgress();
@@ -403,6 +405,84 @@ public WorkflowEnt buildWorkflowEnt(final WorkflowManager wfm,
         }
     }
 
+    /**
+     * Updates a previously built {@link WorkflowEnt} with respect to the execution progress of the given nodes and
+     * connections. Only the respective node- and connection-entities are re-built, everything else is re-used by
+     * reference from the previous workflow entity. This is considerably cheaper than
+     * {@link #buildWorkflowEnt(WorkflowManager, WorkflowBuildContextBuilder)} for large workflows, because neither
+     * all the other node containers nor the workflow-level properties need to be visited.
+     *
+     * Note: it's the responsibility of the caller to ensure that the previous workflow entity has been built for the
+     * very same workflow with the same build context settings, and that no other changes than progress changes
+     * occurred since then (in particular, no node state changes and no structural changes).
+     *
+     * @param wfm the workflow manager the previous workflow entity has been built for
+     * @param previous the previously built workflow entity
+     * @param changedNodes the nodes whose progress changed
+     * @param changedConnections the connections whose (streaming) progress changed
+     * @param buildContextBuilder contextual information required to re-build the node and connection entities
+     * @return the updated workflow entity or {@code null} if the workflow entity can't be updated that way (e.g.
+     *         because a changed node or connection isn't part of the previous workflow entity) - a full build is
+     *         required in that case
+     * @since 5.12
+     */
+    public WorkflowEnt updateWorkflowEntProgress(final WorkflowManager wfm, final WorkflowEnt previous,
+        final Set<NodeID> changedNodes, final Set<ConnectionID> changedConnections,
+        final WorkflowBuildContextBuilder buildContextBuilder) {
+        try (var lock = wfm.lock()) {
+            var buildContext = buildContextBuilder.build(wfm);
+            var allowedActions = previous.getAllowedActions();
+            if (allowedActions != null && (!Objects.equals(allowedActions.isCanUndo(), buildContext.canUndo())
+                || !Objects.equals(allowedActions.isCanRedo(), buildContext.canRedo()))) {
+                return null;
+            }
+            var nodes = previous.getNodes();
+            if (!changedNodes.isEmpty()) {
+                nodes = new LinkedHashMap<>(nodes);
+                for (var nodeId : changedNodes) {
+                    var id = buildContext.buildNodeIDEnt(nodeId);
+                    var key = id.toString();
+                    if (!wfm.containsNodeContainer(nodeId) || !nodes.containsKey(key)) {
+                        return null;
+                    }
+                    nodes.put(key, buildNodeEnt(id, wfm.getNodeContainer(nodeId), buildContext));
+                }
+            }
+            var connections = previous.getConnections();
+            if (!changedConnections.isEmpty()) {
+                connections = new HashMap<>(connections);
+                for (var connectionId : changedConnections) {
+                    var cc = wfm.getConnection(connectionId);
+                    if (cc == null) {
+                        return null;
+                    }
+                    var id = buildConnectionIDEnt(cc, buildContext);
+                    var key = id.toString();
+                    if (!connections.containsKey(key)) {
+                        return null;
+                    }
+                    connections.put(key, buildConnectionEnt(id, cc, buildContext));
+                }
+            }
+            return builder(WorkflowEntBuilder.class) //
+                .setInfo(previous.getInfo())//
+                .setNodes(nodes)//
+                .setNodeTemplates(previous.getNodeTemplates())//
+                .setConnections(connections)//
+                .setWorkflowAnnotations(previous.getWorkflowAnnotations())//
+                .setAllowedActions(allowedActions)//
+                .setParents(previous.getParents())//
+                .setMetaInPorts(previous.getMetaInPorts())//
+                .setMetaOutPorts(previous.getMetaOutPorts())//
+                .setMetadata(previous.getMetadata())//
+                .setComponentPlaceholders(previous.getComponentPlaceholders())//
+                .setDirty(previous.isDirty()) //
+                .setSyncState(previous.getSyncState()) //
+                .setIsProjectExecuting(previous.isProjectExecuting()) //
+                .build();
+        }
+    }
+
     /**
      * Add the port ranges for a single Map.Entry<String, PortGroupEntBuilder> if the port is used at all. Returns the
      * unmodified builder instead.
@@ -476,11 +556,18 @@ private static AllowedWorkflowActionsEnt buildAllowedWorkflowActionsEnt(final Wo
 
     private void buildAndAddNodeEnt(final NodeIDEnt id, final NodeContainer nc, final Map<String, NodeEnt> nodes,
         final Map<String, NativeNodeInvariantsEnt> invariants, final WorkflowBuildContext buildContext) {
-        var nodeEnt = buildNodeEnt(id, nc, buildContext);
-        nodes.put(nodeEnt.getId().toString(), nodeEnt);
+        var key = id.toString();
+        var nodeEnt = buildContext.getUnchangedNodeEnt(nc.getID(), key);
+        if (nodeEnt == null) {
+            nodeEnt = buildNodeEnt(id, nc, buildContext);
+        }
+        nodes.put(key, nodeEnt);
         if (nc instanceof NativeNodeContainer nnc) {
             var templateId = ((NativeNodeEnt)nodeEnt).getTemplateId();
-            invariants.computeIfAbsent(templateId, tid -> buildOrGetFromCacheNativeNodeInvariantsEnt(templateId, nnc));
+            invariants.computeIfAbsent(templateId, tid -> {
+                var previous = buildContext.getPreviousNativeNodeInvariantsEnt(templateId);
+                return previous == null ? buildOrGetFromCacheNativeNodeInvariantsEnt(templateId, nnc) : previous;
+            });
         }
     }
 
@@ -691,6 +778,13 @@ private static ConnectionEnt buildConnectionEnt(final ConnectionIDEnt id, final
         return builder.build();
     }
 
+    private static ConnectionEnt buildOrReuseConnectionEnt(final ConnectionContainer cc,
+        final WorkflowBuildContext buildContext) {
+        var id = buildConnectionIDEnt(cc, buildContext);
+        var connectionEnt = buildContext.getUnchangedConnectionEnt(cc, id.toString());
+        return connectionEnt == null ? buildConnectionEnt(id, cc, buildContext) : connectionEnt;
+    }
+
     private static List<XYEnt> buildBendpoints(final ConnectionContainer cc) {
         if (cc.getUIInfo() != null) {
             var allBendpoints = cc.getUIInfo().getAllBendpoints();
@@ -1207,6 +1301,12 @@ private static StyleRangeEnt buildStyleRangeEnt(final StyleRange sr) {
             .build());
     }
 
+    private static WorkflowAnnotationEnt buildOrReuseWorkflowAnnotationEnt(final WorkflowAnnotation wa,
+        final WorkflowBuildContext buildContext) {
+        var annotationEnt = buildContext.getUnchangedWorkflowAnnotationEnt(wa);
+        return annotationEnt == null ? buildWorkflowAnnotationEnt(wa, buildContext) : annotationEnt;
+    }
+
     private static WorkflowAnnotationEnt buildWorkflowAnnotationEnt(final WorkflowAnnotation wa,
         final WorkflowBuildContext buildContext) {
         var bounds = builder(BoundsEntBuilder.class).setX(wa.getX())//
@@ -1473,14 +1573,15 @@ public static byte[] decodeIconDataURL(final String dataUrl) {
     }
 
     /**
-     * Encode bytes into a data-url-string
+     * Encode bytes into a data-url-string. Equal icon bytes result in the very same (cached) string instance as long
+     * as it hasn't been evicted from the shared {@link IconDataURLCache}.
      *
      * @param iconData The data to encode
      * @return The encoded string
      */
     public static String createIconDataURL(final byte[] iconData) {
         if (iconData != null) {
-            return ICON_DATA_URL_PREFIX + new String(Base64.encodeBase64(iconData), StandardCharsets.UTF_8);
+            return IconDataURLCache.getInstance().getDataURL(iconData);
         } else {
             return null;
         }
@@ -1495,11 +1596,15 @@ static String createIconDataURL(final URL url) {
             return null;
         }
         ensureFileOrBundleURL(url);
+        return IconDataURLCache.getInstance().getDataURL(url, () -> readIconData(url));
+    }
+
+    private static byte[] readIconData(final URL url) {
         try (var in = url.openStream()) {
             if (in == null) {
                 throw new IOException("Could not open stream for URL: " + url);
             }
-            return createIconDataURL(IOUtils.toByteArray(in));
+            return IOUtils.toByteArray(in);
         } catch (IOException ex) {
             NodeLogger.getLogger(WorkflowEntityFactory.class).error("Icon for node couldn't be read", ex);
             return null;
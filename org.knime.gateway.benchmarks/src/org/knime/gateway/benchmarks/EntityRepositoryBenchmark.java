@@ -0,0 +1,124 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.knime.gateway.api.webui.entity.PatchEnt;
+import org.knime.gateway.api.webui.entity.WorkflowEnt;
+import org.knime.gateway.api.webui.util.EntityFactory;
+import org.knime.gateway.api.webui.util.WorkflowBuildContext;
+import org.knime.gateway.impl.service.util.PatchEntCreator;
+import org.knime.gateway.impl.service.util.SimpleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link SimpleRepository#getChangesAndCommit(String, org.knime.gateway.api.entity.GatewayEntity,
+ * org.knime.gateway.impl.service.util.PatchCreator)}, i.e. determining the patch between the latest and a new workflow
+ * entity and committing the new one.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityRepositoryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int numNodes;
+
+    private final WorkflowEnt[] m_ents = new WorkflowEnt[2];
+
+    private SimpleRepository<String, WorkflowEnt> m_repo;
+
+    private String m_snapshotId;
+
+    private int m_next;
+
+    /**
+     * Builds two workflow entities (differing in a single node) and commits the first one.
+     *
+     * @throws Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var workflow = SyntheticWorkflow.create(numNodes, 0, 0);
+        try {
+            var wfm = workflow.getWorkflowManager();
+            m_ents[0] = EntityFactory.Workflow.buildWorkflowEnt(wfm, WorkflowBuildContext.builder());
+            workflow.moveFirstNode();
+            m_ents[1] = EntityFactory.Workflow.buildWorkflowEnt(wfm, WorkflowBuildContext.builder());
+        } finally {
+            workflow.dispose();
+        }
+        m_repo = new SimpleRepository<>();
+        m_snapshotId = m_repo.commit("workflow", m_ents[0]);
+        m_next = 1;
+    }
+
+    /**
+     * Alternately commits one of the two workflow entities, such that every call results in a patch.
+     *
+     * @return the patch
+     */
+    @Benchmark
+    public PatchEnt getChangesAndCommit() {
+        var patch = m_repo.getChangesAndCommit(m_snapshotId, m_ents[m_next], new PatchEntCreator(m_snapshotId))
+            .orElseThrow();
+        m_snapshotId = patch.getSnapshotId();
+        m_next = 1 - m_next;
+        return patch;
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.benchmarks;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.knime.core.node.NodeLogger;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks of this bundle and writes the results in JMH's json format to a file.
+ *
+ * The benchmarks are run within the current JVM (i.e. without forking) since they require the running OSGi framework
+ * (node factories, extension points etc.). They can be configured via the system properties
+ * <ul>
+ * <li>{@value #INCLUDE_PROPERTY} - regular expression selecting the benchmarks to run (default: all)</li>
+ * <li>{@value #RESULT_PROPERTY} - the file to write the results to (default: {@value #DEFAULT_RESULT_FILE})</li>
+ * <li>{@value #WARMUP_ITERATIONS_PROPERTY} - the number of warm-up iterations (default: 3)</li>
+ * <li>{@value #ITERATIONS_PROPERTY} - the number of measurement iterations (default: 5)</li>
+ * </ul>
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class GatewayBenchmarks {
+
+    private static final String PROPERTY_PREFIX = GatewayBenchmarks.class.getName();
+
+    private static final String INCLUDE_PROPERTY = PROPERTY_PREFIX + ".include";
+
+    private static final String RESULT_PROPERTY = PROPERTY_PREFIX + ".result";
+
+    private static final String WARMUP_ITERATIONS_PROPERTY = PROPERTY_PREFIX + ".warmupIterations";
+
+    private static final String ITERATIONS_PROPERTY = PROPERTY_PREFIX + ".iterations";
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(GatewayBenchmarks.class);
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @throws RunnerException
+     */
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        var resultFile = new File(System.getProperty(RESULT_PROPERTY, DEFAULT_RESULT_FILE));
+        resultFile.getAbsoluteFile().getParentFile().mkdirs(); // NOSONAR
+        var options = new OptionsBuilder() //
+            .include(System.getProperty(INCLUDE_PROPERTY, ".*")) //
+            .forks(0) //
+            .warmupIterations(Integer.getInteger(WARMUP_ITERATIONS_PROPERTY, 3)) //
+            .warmupTime(TimeValue.seconds(1)) //
+            .measurementIterations(Integer.getInteger(ITERATIONS_PROPERTY, 5)) //
+            .measurementTime(TimeValue.seconds(1)) //
+            .resultFormat(ResultFormatType.JSON) //
+            .result(resultFile.getAbsolutePath()) //
+            .build();
+        var results = new Runner(options).run();
+        LOGGER.info(results.size() + " benchmark results written to " + resultFile.getAbsolutePath());
+    }
+
+    /**
+     * Runs the benchmarks. Only works if launched within a KNIME/OSGi-environment.
+     *
+     * @param args ignored
+     * @throws RunnerException
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new GatewayBenchmarks().runBenchmarks();
+    }
+
+}
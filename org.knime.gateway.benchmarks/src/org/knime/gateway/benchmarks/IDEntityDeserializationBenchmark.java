@@ -0,0 +1,148 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.knime.gateway.api.entity.NodeIDEnt;
+import org.knime.gateway.json.util.ObjectMapperUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Benchmarks the deserialization of {@link NodeIDEnt node ids} as, e.g., part of a command with many nodes (translate,
+ * delete, copy). The 'baseline' is the former deserializer which created the id entities reflectively and parsed them
+ * via {@link String#split(String)}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IDEntityDeserializationBenchmark {
+
+    @Param({"10", "1000"})
+    int numIds;
+
+    private String m_json;
+
+    private ObjectMapper m_mapper;
+
+    private ObjectMapper m_baselineMapper;
+
+    /**
+     * Creates the json array of node ids to be deserialized.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        m_json = IntStream.range(0, numIds) //
+            .mapToObj(i -> "\"root:" + (i % 7) + ":" + i + "\"") //
+            .collect(Collectors.joining(",", "[", "]"));
+        m_mapper = ObjectMapperUtil.getInstance().getObjectMapper();
+        m_baselineMapper = new ObjectMapper();
+        var module = new SimpleModule();
+        module.addDeserializer(NodeIDEnt.class, new BaselineDeserializer());
+        m_baselineMapper.registerModule(module);
+    }
+
+    /**
+     * @return the deserialized ids
+     * @throws IOException
+     */
+    @Benchmark
+    public NodeIDEnt[] deserialize() throws IOException {
+        return m_mapper.readValue(m_json, NodeIDEnt[].class);
+    }
+
+    /**
+     * @return the deserialized ids
+     * @throws IOException
+     */
+    @Benchmark
+    public NodeIDEnt[] deserializeBaseline() throws IOException {
+        return m_baselineMapper.readValue(m_json, NodeIDEnt[].class);
+    }
+
+    @SuppressWarnings("serial")
+    private static final class BaselineDeserializer extends StdDeserializer<NodeIDEnt> {
+
+        BaselineDeserializer() {
+            super(NodeIDEnt.class);
+        }
+
+        @Override
+        public NodeIDEnt deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            try {
+                var split = p.getText().split(":");
+                var ids = new int[split.length - 1];
+                for (var i = 1; i < split.length; i++) {
+                    ids[i - 1] = Integer.parseInt(split[i]);
+                }
+                return NodeIDEnt.class.getConstructor(int[].class).newInstance(ids);
+            } catch (ReflectiveOperationException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+    }
+
+}
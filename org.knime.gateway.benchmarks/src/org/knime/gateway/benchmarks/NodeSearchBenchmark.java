@@ -0,0 +1,130 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.knime.gateway.api.webui.entity.NodeSearchResultEnt;
+import org.knime.gateway.api.webui.service.util.ServiceExceptions.InvalidRequestException;
+import org.knime.gateway.impl.webui.repo.NodeRepository;
+import org.knime.gateway.impl.webui.repo.NodeSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link NodeSearch#searchNodes(String, java.util.List, Boolean, Integer, Integer, Boolean, String,
+ * org.knime.gateway.impl.webui.NodeRelation)} against the node repository of the running installation.
+ *
+ * Since search results are cached per query, the search is measured twice: with a fresh {@link NodeSearch}-instance
+ * per invocation ('cold') and with the same instance for all invocations ('cached').
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodeSearchBenchmark {
+
+    @Param({"", "column", "read csv", "rwo fitler"})
+    String query;
+
+    private NodeRepository m_nodeRepo;
+
+    private NodeSearch m_cachedSearch;
+
+    private NodeSearch m_coldSearch;
+
+    /**
+     * Creates and loads the node repository.
+     *
+     * @throws InvalidRequestException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws InvalidRequestException {
+        m_nodeRepo = new NodeRepository();
+        m_cachedSearch = new NodeSearch(m_nodeRepo);
+        // loads all the nodes (and fills the cache)
+        search(m_cachedSearch);
+    }
+
+    /**
+     * Creates a new node search instance, i.e. with an empty result cache.
+     */
+    @Setup(Level.Invocation)
+    public void resetColdSearch() {
+        m_coldSearch = new NodeSearch(m_nodeRepo);
+    }
+
+    /**
+     * @return the search result
+     * @throws InvalidRequestException
+     */
+    @Benchmark
+    public NodeSearchResultEnt searchNodesCold() throws InvalidRequestException {
+        return search(m_coldSearch);
+    }
+
+    /**
+     * @return the search result
+     * @throws InvalidRequestException
+     */
+    @Benchmark
+    public NodeSearchResultEnt searchNodesCached() throws InvalidRequestException {
+        return search(m_cachedSearch);
+    }
+
+    private NodeSearchResultEnt search(final NodeSearch nodeSearch) throws InvalidRequestException {
+        return nodeSearch.searchNodes(query, null, null, 0, 50, Boolean.FALSE, null, null);
+    }
+
+}
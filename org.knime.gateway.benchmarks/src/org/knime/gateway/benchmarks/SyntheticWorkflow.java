@@ -0,0 +1,194 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.extension.InvalidNodeFactoryExtensionException;
+import org.knime.core.node.extension.NodeFactoryProvider;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.AnnotationData;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeUIInformation;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.gateway.testing.helper.TestWorkflowCollection;
+import org.knime.testing.util.WorkflowManagerUtil;
+
+/**
+ * Generates workflows of a configurable size to run the benchmarks on, or loads one of the
+ * {@link TestWorkflowCollection}-workflows.
+ *
+ * The generated workflows consist of chains of 'Column Filter' nodes, each chain fed by a 'Table Creator' node. With
+ * a nesting depth greater than 0, the nodes and annotations are placed into the innermost of the respective number of
+ * nested metanodes.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public final class SyntheticWorkflow {
+
+    private static final String SOURCE_FACTORY =
+        "org.knime.base.node.io.tablecreator.TableCreator2NodeFactory";
+
+    private static final String CHAIN_FACTORY =
+        "org.knime.base.node.preproc.filter.column.DataColumnSpecFilterNodeFactory";
+
+    private static final int CHAIN_LENGTH = 10;
+
+    private final WorkflowManager m_root;
+
+    private final WorkflowManager m_wfm;
+
+    private SyntheticWorkflow(final WorkflowManager root, final WorkflowManager wfm) {
+        m_root = root;
+        m_wfm = wfm;
+    }
+
+    /**
+     * Creates a new synthetic workflow.
+     *
+     * @param numNodes the number of nodes in the (innermost) workflow
+     * @param nestingDepth the number of metanodes the nodes are nested in
+     * @param numAnnotations the number of workflow annotations in the (innermost) workflow
+     * @return the new synthetic workflow
+     * @throws IOException if the empty workflow couldn't be created
+     */
+    public static SyntheticWorkflow create(final int numNodes, final int nestingDepth, final int numAnnotations)
+        throws IOException {
+        var root = WorkflowManagerUtil.createEmptyWorkflow();
+        var wfm = root;
+        for (var i = 0; i < nestingDepth; i++) {
+            var ports = new PortType[]{BufferedDataTable.TYPE};
+            wfm = wfm.createAndAddSubWorkflow(ports, ports, "metanode level " + i);
+            wfm.setUIInformation(NodeUIInformation.builder().setNodeLocation(100, 100, 100, 100).build());
+        }
+        addNodes(wfm, numNodes);
+        addAnnotations(wfm, numAnnotations);
+        return new SyntheticWorkflow(root, wfm);
+    }
+
+    /**
+     * Loads one of the test workflows.
+     *
+     * @param testWorkflow the workflow to load
+     * @return the loaded workflow
+     * @throws Exception if the workflow couldn't be loaded
+     */
+    public static SyntheticWorkflow load(final TestWorkflowCollection testWorkflow) throws Exception {
+        var dir = testWorkflow.getWorkflowDir();
+        var wfm = WorkflowManagerUtil
+            .loadWorkflowInWorkspaceAndReturnLoadResult(dir.toPath(), dir.getParentFile().toPath())
+            .getWorkflowManager();
+        return new SyntheticWorkflow(wfm, wfm);
+    }
+
+    private static void addNodes(final WorkflowManager wfm, final int numNodes) {
+        var provider = NodeFactoryProvider.getInstance();
+        NodeID previous = null;
+        for (var i = 0; i < numNodes; i++) {
+            NodeID id;
+            try {
+                if (i % CHAIN_LENGTH == 0) {
+                    id = wfm.createAndAddNode(provider.getNodeFactory(SOURCE_FACTORY).orElseThrow());
+                } else {
+                    id = wfm.createAndAddNode(provider.getNodeFactory(CHAIN_FACTORY).orElseThrow());
+                    wfm.addConnection(previous, 1, id, 1);
+                }
+            } catch (InstantiationException | IllegalAccessException | InvalidNodeFactoryExtensionException ex) {
+                throw new IllegalStateException(ex);
+            }
+            wfm.getNodeContainer(id).setUIInformation(NodeUIInformation.builder()
+                .setNodeLocation((i % CHAIN_LENGTH) * 120, (i / CHAIN_LENGTH) * 150, 50, 50).build());
+            previous = id;
+        }
+    }
+
+    private static void addAnnotations(final WorkflowManager wfm, final int numAnnotations) {
+        for (var i = 0; i < numAnnotations; i++) {
+            var data = new AnnotationData();
+            data.setText("Annotation " + i);
+            data.setDimension(i * 20, -200, 300, 100);
+            wfm.addWorkflowAnnotation(data, -1);
+        }
+    }
+
+    /**
+     * @return the workflow the nodes and annotations have been added to
+     */
+    public WorkflowManager getWorkflowManager() {
+        return m_wfm;
+    }
+
+    /**
+     * @return the ids of all nodes in {@link #getWorkflowManager()}
+     */
+    public List<NodeID> getNodeIds() {
+        var ids = new ArrayList<NodeID>();
+        m_wfm.getNodeContainers().forEach(nc -> ids.add(nc.getID()));
+        return ids;
+    }
+
+    /**
+     * Moves the first node of {@link #getWorkflowManager()} by a few pixels. Used to obtain two workflow entities that
+     * differ in a single node only.
+     */
+    public void moveFirstNode() {
+        var nc = m_wfm.getNodeContainers().iterator().next();
+        var bounds = nc.getUIInformation().getBounds();
+        nc.setUIInformation(NodeUIInformation.builder()
+            .setNodeLocation(bounds[0] + 10, bounds[1] + 10, bounds[2], bounds[3]).build());
+    }
+
+    /**
+     * Disposes the entire workflow.
+     */
+    public void dispose() {
+        WorkflowManagerUtil.disposeWorkflow(m_root);
+    }
+
+}
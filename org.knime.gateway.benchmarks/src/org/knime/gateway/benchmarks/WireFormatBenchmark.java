@@ -0,0 +1,154 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.gateway.api.webui.entity.WorkflowEnt;
+import org.knime.gateway.api.webui.util.EntityFactory;
+import org.knime.gateway.api.webui.util.WorkflowBuildContext;
+import org.knime.gateway.json.util.WireFormat;
+import org.knime.gateway.testing.helper.TestWorkflowCollection;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the {@link WireFormat wire formats} in terms of encoding and decoding time and payload size, using the
+ * workflow entities of (large) test workflows and a big synthetic workflow.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final String SYNTHETIC_WORKFLOW = "SYNTHETIC_1000";
+
+    @Param({"JSON", "BSON"})
+    WireFormat wireFormat;
+
+    @Param({"GENERAL_WEB_UI", "METANODES_COMPONENTS", SYNTHETIC_WORKFLOW})
+    String workflow;
+
+    private ObjectMapper m_mapper;
+
+    private WorkflowEnt m_workflowEnt;
+
+    private byte[] m_encoded;
+
+    /**
+     * Reports the payload size as secondary result (in the json output, too).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        /**
+         * The number of bytes encoded in total.
+         */
+        public long bytes; // NOSONAR field name is the name of the counter in the results
+
+    }
+
+    /**
+     * Loads the workflow and builds the workflow entity.
+     *
+     * @throws Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var syntheticWorkflow = SYNTHETIC_WORKFLOW.equals(workflow) ? SyntheticWorkflow.create(1000, 0, 100)
+            : SyntheticWorkflow.load(TestWorkflowCollection.valueOf(workflow));
+        try {
+            m_workflowEnt = EntityFactory.Workflow.buildWorkflowEnt(syntheticWorkflow.getWorkflowManager(),
+                WorkflowBuildContext.builder().includeInteractionInfo(true));
+        } finally {
+            syntheticWorkflow.dispose();
+        }
+        m_mapper = wireFormat.getObjectMapper();
+        m_encoded = m_mapper.writeValueAsBytes(m_workflowEnt);
+        NodeLogger.getLogger(WireFormatBenchmark.class)
+            .info("Payload size of workflow '" + workflow + "' as " + wireFormat + ": " + m_encoded.length + " bytes");
+    }
+
+    /**
+     * @param payloadSize
+     * @return the encoded workflow entity
+     * @throws IOException
+     */
+    @Benchmark
+    public byte[] encode(final PayloadSize payloadSize) throws IOException {
+        var encoded = m_mapper.writeValueAsBytes(m_workflowEnt);
+        payloadSize.bytes += encoded.length;
+        return encoded;
+    }
+
+    /**
+     * Decodes the workflow entity into a tree, as a generic (e.g. javascript) client would do.
+     *
+     * @return the decoded workflow entity
+     * @throws IOException
+     */
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return m_mapper.readTree(m_encoded);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.gateway.api.webui.entity.WorkflowEnt;
+import org.knime.gateway.api.webui.util.EntityFactory;
+import org.knime.gateway.api.webui.util.WorkflowBuildContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks {@link EntityFactory.Workflow#buildWorkflowEnt} on synthetic workflows of different sizes.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkflowEntBenchmark {
+
+    // no m_-prefix since the field names are the parameter names in the benchmark results
+    @Param({"10", "100", "1000"})
+    int numNodes;
+
+    @Param({"0", "3"})
+    int nestingDepth;
+
+    @Param({"0", "50"})
+    int numAnnotations;
+
+    private SyntheticWorkflow m_workflow;
+
+    /**
+     * Creates the synthetic workflow.
+     *
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        m_workflow = SyntheticWorkflow.create(numNodes, nestingDepth, numAnnotations);
+    }
+
+    /**
+     * Disposes the synthetic workflow.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        m_workflow.dispose();
+    }
+
+    /**
+     * @return the workflow entity, without interaction info
+     */
+    @Benchmark
+    public WorkflowEnt buildWorkflowEnt() {
+        return EntityFactory.Workflow.buildWorkflowEnt(m_workflow.getWorkflowManager(),
+            WorkflowBuildContext.builder());
+    }
+
+    /**
+     * @return the workflow entity, including interaction info (i.e. allowed actions etc.)
+     */
+    @Benchmark
+    public WorkflowEnt buildWorkflowEntWithInteractionInfo() {
+        return EntityFactory.Workflow.buildWorkflowEnt(m_workflow.getWorkflowManager(),
+            WorkflowBuildContext.builder().includeInteractionInfo(true));
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.service.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.gateway.api.webui.entity.WorkflowEnt;
+import org.knime.gateway.api.webui.util.EntityFactory;
+import org.knime.gateway.api.webui.util.WorkflowBuildContext;
+import org.knime.gateway.benchmarks.SyntheticWorkflow;
+import org.knime.gateway.testing.helper.TestWorkflowCollection;
+import org.knime.gateway.testing.helper.WorkflowTransformations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link EntityDiff#compare(org.knime.gateway.api.entity.GatewayEntity,
+ * org.knime.gateway.api.entity.GatewayEntity, PatchCreator)}. Located in the same package as {@link EntityDiff} since
+ * it's not public API.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityDiffBenchmark {
+
+    /**
+     * Two workflow entities of a synthetic workflow which only differ in the position of a single node.
+     */
+    @State(Scope.Benchmark)
+    public static class SingleNodeChange {
+
+        @Param({"10", "100", "1000"})
+        int numNodes;
+
+        WorkflowEnt m_before;
+
+        WorkflowEnt m_after;
+
+        /**
+         * Builds the two workflow entities.
+         *
+         * @throws Exception
+         */
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            var workflow = SyntheticWorkflow.create(numNodes, 0, 0);
+            try {
+                m_before = buildWorkflowEnt(workflow);
+                workflow.moveFirstNode();
+                m_after = buildWorkflowEnt(workflow);
+            } finally {
+                workflow.dispose();
+            }
+        }
+
+    }
+
+    /**
+     * The workflow entities as they result from applying the {@link WorkflowTransformations} to the
+     * {@link TestWorkflowCollection#GENERAL_WEB_UI} workflow one after the other.
+     */
+    @State(Scope.Benchmark)
+    public static class Transformations {
+
+        final List<WorkflowEnt> m_ents = new ArrayList<>();
+
+        /**
+         * Applies the transformations and builds the workflow entities.
+         *
+         * @throws Exception
+         */
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            var testWorkflow = TestWorkflowCollection.GENERAL_WEB_UI;
+            var workflow = SyntheticWorkflow.load(testWorkflow);
+            try {
+                var wfm = workflow.getWorkflowManager();
+                m_ents.add(buildWorkflowEnt(workflow));
+                for (var transformation : WorkflowTransformations.createWorkflowTransformations(testWorkflow)) {
+                    transformation.apply(wfm);
+                    transformation.waitForStableState(wfm);
+                    m_ents.add(buildWorkflowEnt(workflow));
+                }
+            } finally {
+                workflow.dispose();
+            }
+        }
+
+    }
+
+    private static WorkflowEnt buildWorkflowEnt(final SyntheticWorkflow workflow) {
+        return EntityFactory.Workflow.buildWorkflowEnt(workflow.getWorkflowManager(),
+            WorkflowBuildContext.builder().includeInteractionInfo(true));
+    }
+
+    /**
+     * @param state
+     * @return whether the entities are equal
+     */
+    @Benchmark
+    public boolean compareSingleNodeChange(final SingleNodeChange state) {
+        return EntityDiff.compare(state.m_before, state.m_after, new PatchEntCreator(null));
+    }
+
+    /**
+     * Diffs all consecutive workflow entities of the transformation sequence.
+     *
+     * @param state
+     * @param blackhole
+     */
+    @Benchmark
+    public void compareTransformations(final Transformations state, final Blackhole blackhole) {
+        var ents = state.m_ents;
+        for (var i = 1; i < ents.size(); i++) {
+            blackhole.consume(EntityDiff.compare(ents.get(i - 1), ents.get(i), new PatchEntCreator(null)));
+        }
+    }
+
+}
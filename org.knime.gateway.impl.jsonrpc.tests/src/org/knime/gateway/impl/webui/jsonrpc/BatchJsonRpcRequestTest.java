@@ -0,0 +1,283 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.jsonrpc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.knime.gateway.api.entity.NodeIDEnt;
+import org.knime.gateway.api.service.GatewayService;
+import org.knime.gateway.api.webui.service.NodeService;
+import org.knime.gateway.api.webui.service.util.ListServices;
+import org.knime.gateway.impl.project.ProjectManager;
+import org.knime.gateway.impl.webui.AppStateUpdater;
+import org.knime.gateway.impl.webui.PreferencesProvider;
+import org.knime.gateway.impl.webui.WorkflowMiddleware;
+import org.knime.gateway.impl.webui.repo.NodeCategoryExtensions;
+import org.knime.gateway.impl.webui.repo.NodeRepository;
+import org.knime.gateway.impl.webui.service.ServiceDependencies;
+import org.knime.gateway.impl.webui.service.ServiceInstances;
+import org.knime.gateway.json.util.ObjectMapperUtil;
+import org.knime.gateway.testing.helper.LocalWorkflowLoader;
+
+/**
+ * Tests the handling of json-rpc batch requests by the {@link DefaultJsonRpcRequestHandler}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class BatchJsonRpcRequestTest {
+
+    /**
+     * Tests that the read-only calls of a batch are executed in parallel (on other threads), the other calls on the
+     * calling thread, and that the responses are returned in the order of the calls.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchRequest() throws Exception {
+        var readOnlyCallThreads = new ConcurrentLinkedQueue<String>();
+        var otherCallThreads = new ConcurrentLinkedQueue<String>();
+        var nodeServiceMock = mock(NodeService.class);
+        when(nodeServiceMock.getNodeDescription(any())).thenAnswer(i -> {
+            readOnlyCallThreads.add(Thread.currentThread().getName());
+            return null;
+        });
+        when(nodeServiceMock.getNodeView(any(), any(), any(), any())).thenAnswer(i -> {
+            otherCallThreads.add(Thread.currentThread().getName());
+            return Map.of("foo", "bar");
+        });
+        var handler = createHandler(nodeServiceMock);
+
+        var getNodeDescription = """
+                {"jsonrpc":"2.0","id":%d,"method":"NodeService.getNodeDescription","params":{"nodeFactoryKey":null}}
+                """;
+        var getNodeView = """
+                {"jsonrpc":"2.0",%s"method":"NodeService.getNodeView","params":
+                {"projectId":"p","workflowId":"root","versionId":null,"nodeId":"root:1"}}
+                """;
+        var batch = " [" + getNodeDescription.formatted(1) + "," + getNodeView.formatted("\"id\":2,") + ","
+            + getNodeView.formatted("") + "," + getNodeDescription.formatted(3) + "]";
+        var response = ObjectMapperUtil.getInstance().getObjectMapper()
+            .readTree(handler.handle(batch.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.isArray(), is(true));
+        assertThat(response.size(), is(3));
+        assertThat(response.get(0).get("id").asInt(), is(1));
+        assertThat(response.get(1).get("id").asInt(), is(2));
+        assertThat(response.get(1).get("result").get("foo").asText(), is("bar"));
+        assertThat(response.get(2).get("id").asInt(), is(3));
+
+        var callingThread = Thread.currentThread().getName();
+        assertThat(List.copyOf(otherCallThreads), containsInAnyOrder(callingThread, callingThread));
+        assertThat(readOnlyCallThreads.size(), is(2));
+        for (var thread : readOnlyCallThreads) {
+            assertThat(thread, startsWith("KNIME-JsonRpc-Batch-"));
+            assertThat(thread, not(is(callingThread)));
+        }
+    }
+
+    /**
+     * Tests that read-only calls are only executed after the preceding calls that aren't read-only, i.e. that they
+     * observe the effects of those calls.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadOnlyCallsObserveEffectsOfPrecedingCalls() throws Exception {
+        var otherCallDone = new AtomicBoolean();
+        var otherCallDoneObserved = new ConcurrentLinkedQueue<Boolean>();
+        var nodeServiceMock = mock(NodeService.class);
+        when(nodeServiceMock.getNodeView(any(), any(), any(), any())).thenAnswer(i -> {
+            Thread.sleep(200);
+            otherCallDone.set(true);
+            return null;
+        });
+        when(nodeServiceMock.getNodeDescription(any())).thenAnswer(i -> {
+            otherCallDoneObserved.add(otherCallDone.get());
+            return null;
+        });
+        var handler = createHandler(nodeServiceMock);
+
+        var getNodeView = """
+                {"jsonrpc":"2.0","id":1,"method":"NodeService.getNodeView","params":
+                {"projectId":"p","workflowId":"root","versionId":null,"nodeId":"root:1"}}
+                """;
+        var getNodeDescription = """
+                {"jsonrpc":"2.0","id":%d,"method":"NodeService.getNodeDescription","params":{"nodeFactoryKey":null}}
+                """;
+        var batch = "[" + getNodeView + "," + getNodeDescription.formatted(2) + "," + getNodeDescription.formatted(3)
+            + "]";
+        var response = ObjectMapperUtil.getInstance().getObjectMapper()
+            .readTree(handler.handle(batch.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.size(), is(3));
+        assertThat(List.copyOf(otherCallDoneObserved), is(List.of(true, true)));
+    }
+
+    /**
+     * Tests that all the methods declared read-only exist.
+     */
+    @Test
+    public void testReadOnlyMethodsExist() {
+        var methods = ListServices.listServiceInterfaces().stream() //
+            .flatMap(i -> Arrays.stream(i.getMethods()).map(m -> i.getSimpleName() + "." + m.getName())) //
+            .collect(Collectors.toSet());
+        for (var readOnlyMethod : DefaultJsonRpcRequestHandler.READ_ONLY_METHODS) {
+            assertThat("Unknown read-only method " + readOnlyMethod, methods.contains(readOnlyMethod), is(true));
+        }
+    }
+
+    /**
+     * Runs a batch of read-only and mutating calls against the actual service implementations and checks the results
+     * and that the mutating calls are executed in order.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchRequestWithActualServices() throws Exception {
+        var projectManager = ProjectManager.getInstance();
+        ServiceDependencies.setServiceDependency(AppStateUpdater.class, null);
+        ServiceDependencies.setServiceDependency(WorkflowMiddleware.class,
+            new WorkflowMiddleware(projectManager, null));
+        ServiceDependencies.setServiceDependency(ProjectManager.class, projectManager);
+        ServiceDependencies.setServiceDependency(PreferencesProvider.class, mock(PreferencesProvider.class));
+        ServiceDependencies.setServiceDependency(NodeRepository.class, new NodeRepository());
+        ServiceDependencies.setServiceDependency(NodeCategoryExtensions.class, Map::of);
+        var workflowLoader = new LocalWorkflowLoader();
+        try {
+            var emptyWorkflow = workflowLoader.createEmptyWorkflow();
+            var projectId = emptyWorkflow.getFirst();
+            var wfm = emptyWorkflow.getSecond();
+            var factory = "org.knime.base.node.io.filehandling.csv.reader.CSVTableReaderNodeFactory";
+
+            var getNodeDescription = """
+                    {"jsonrpc":"2.0","id":%d,"method":"NodeService.getNodeDescription",
+                    "params":{"nodeFactoryKey":{"className":"%s"}}}
+                    """;
+            var getNodeTemplates = """
+                    {"jsonrpc":"2.0","id":%d,"method":"NodeRepositoryService.getNodeTemplates",
+                    "params":{"nodeTemplateIds":["%s"]}}
+                    """;
+            var addNode = """
+                    {"jsonrpc":"2.0","id":%d,"method":"WorkflowService.executeWorkflowCommand",
+                    "params":{"projectId":"%s","workflowId":"root",
+                    "workflowCommand":{"kind":"add_node","position":{"x":0,"y":0},"nodeFactory":{"className":"%s"}}}}
+                    """;
+            var undo = """
+                    {"jsonrpc":"2.0","id":%d,"method":"WorkflowService.undoWorkflowCommand",
+                    "params":{"projectId":"%s","workflowId":"root"}}
+                    """;
+            var batch = "[" + String.join(",", //
+                getNodeDescription.formatted(1, factory), //
+                addNode.formatted(2, projectId, factory), //
+                getNodeTemplates.formatted(3, factory), //
+                addNode.formatted(4, projectId, factory), //
+                undo.formatted(5, projectId), //
+                getNodeDescription.formatted(6, factory)) + "]";
+            var response = ObjectMapperUtil.getInstance().getObjectMapper()
+                .readTree(new DefaultJsonRpcRequestHandler().handle(batch.getBytes(StandardCharsets.UTF_8)));
+
+            assertThat(response.size(), is(6));
+            for (var i = 0; i < 6; i++) {
+                assertThat(response.get(i).get("id").asInt(), is(i + 1));
+                assertThat("Unexpected error: " + response.get(i), response.get(i).has("error"), is(false));
+            }
+            var description = response.get(0).get("result");
+            assertThat(description.get("description").asText().isEmpty(), is(false));
+            assertThat(response.get(5).get("result"), is(description));
+            assertThat(response.get(2).get("result").has(factory), is(true));
+
+            // the second node has been added after the first one and it's the second one which has been removed again
+            var firstNodeId = response.get(1).get("result").get("newNodeId").asText();
+            var secondNodeId = response.get(3).get("result").get("newNodeId").asText();
+            assertThat(firstNodeId, not(is(secondNodeId)));
+            var nodeIds = wfm.getNodeContainers().stream()
+                .map(nc -> new NodeIDEnt(nc.getID(), wfm).toString()).toList();
+            assertThat(nodeIds, is(List.of(firstNodeId)));
+        } finally {
+            workflowLoader.disposeWorkflows();
+            ServiceInstances.disposeAllServiceInstancesAndDependencies();
+        }
+    }
+
+    /**
+     * Tests that a batch consisting of notifications only results in no response at all.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchOfNotifications() throws Exception {
+        var nodeServiceMock = mock(NodeService.class);
+        var handler = createHandler(nodeServiceMock);
+        var notification =
+            "{\"jsonrpc\":\"2.0\",\"method\":\"NodeService.getNodeDescription\",\"params\":{\"nodeFactoryKey\":null}}";
+        var response = handler.handle(("[" + notification + "," + notification + "]").getBytes(StandardCharsets.UTF_8));
+        assertThat(response.length, is(0));
+    }
+
+    private static DefaultJsonRpcRequestHandler createHandler(final NodeService nodeService) {
+        Map<Class<? extends GatewayService>, Supplier<? extends GatewayService>> serviceMocks =
+            Map.of(NodeService.class, () -> nodeService);
+        return new DefaultJsonRpcRequestHandler(serviceMocks);
+    }
+
+}
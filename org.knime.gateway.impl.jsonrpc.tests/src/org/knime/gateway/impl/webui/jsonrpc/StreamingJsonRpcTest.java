@@ -0,0 +1,202 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.jsonrpc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.knime.gateway.api.service.GatewayService;
+import org.knime.gateway.api.webui.service.NodeService;
+import org.knime.gateway.json.util.ObjectMapperUtil;
+import org.knime.gateway.json.util.WireFormat;
+
+/**
+ * Tests {@link DefaultJsonRpcRequestHandler#handle(java.io.InputStream, java.io.OutputStream)} and the
+ * {@link JsonRpcEventConsumer}, with json text and binary {@link WireFormat wire formats}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class StreamingJsonRpcTest {
+
+    private static final String GET_NODE_VIEW_REQUEST = """
+            {"jsonrpc":"2.0","id":1,"method":"NodeService.getNodeView","params":
+            {"projectId":"p","workflowId":"root","versionId":null,"nodeId":"root:1"}}
+            """;
+
+    /**
+     * Makes sure the streamed response is the same as the one returned by
+     * {@link DefaultJsonRpcRequestHandler#handle(byte[])}.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStreamedResponseEqualsByteArrayResponse() throws Exception {
+        var nodeServiceMock = mock(NodeService.class);
+        when(nodeServiceMock.getNodeView(any(), any(), any(), any())).thenReturn(Map.of("foo", List.of(1, 2, 3)));
+        var handler = createHandler(nodeServiceMock);
+        var mapper = ObjectMapperUtil.getInstance().getObjectMapper();
+
+        var expected = mapper.readTree(handler.handle(GET_NODE_VIEW_REQUEST.getBytes(StandardCharsets.UTF_8)));
+        assertThat(expected.get("result").get("foo").size(), is(3));
+
+        var out = new ByteArrayOutputStream();
+        handler.handle(new ByteArrayInputStream(GET_NODE_VIEW_REQUEST.getBytes(StandardCharsets.UTF_8)), out);
+        assertThat(mapper.readTree(out.toByteArray()), is(expected));
+
+        var channelOut = new ByteArrayOutputStream();
+        handler.handle(new ByteArrayInputStream(GET_NODE_VIEW_REQUEST.getBytes(StandardCharsets.UTF_8)),
+            Channels.newChannel(channelOut));
+        assertThat(mapper.readTree(channelOut.toByteArray()), is(expected));
+    }
+
+    /**
+     * Tests that exceptions thrown by the service are turned into json-rpc error responses when streaming, too.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStreamedErrorResponse() throws Exception {
+        var nodeServiceMock = mock(NodeService.class);
+        when(nodeServiceMock.getNodeView(any(), any(), any(), any()))
+            .thenThrow(new UnsupportedOperationException("an unexpected exception"));
+        var handler = createHandler(nodeServiceMock);
+
+        var out = new ByteArrayOutputStream();
+        handler.handle(new ByteArrayInputStream(GET_NODE_VIEW_REQUEST.getBytes(StandardCharsets.UTF_8)), out);
+        var error = ObjectMapperUtil.getInstance().getObjectMapper().readTree(out.toByteArray()).get("error");
+        assertThat(error.get("code").asInt(), is(-32601));
+        assertThat(error.get("message").asText(), is("an unexpected exception"));
+    }
+
+    /**
+     * Tests that the {@link JsonRpcEventConsumer} writes json-rpc notifications to the transport.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testJsonRpcEventConsumer() throws Exception {
+        var messages = new ArrayList<ByteArrayOutputStream>();
+        var projectIds = new ArrayList<String>();
+        var eventConsumer = new JsonRpcEventConsumer(projectId -> {
+            projectIds.add(projectId);
+            var message = new ByteArrayOutputStream();
+            messages.add(message);
+            return message;
+        });
+
+        eventConsumer.accept("TestEvent", Map.of("foo", "bar"), "projectId");
+        eventConsumer.accept("AppWideEvent", List.of("baz"));
+
+        assertThat(projectIds, is(Arrays.asList("projectId", null)));
+        var mapper = ObjectMapperUtil.getInstance().getObjectMapper();
+        var notification = mapper.readTree(messages.get(0).toByteArray());
+        assertThat(notification.get("jsonrpc").asText(), is("2.0"));
+        assertThat(notification.get("method").asText(), is("TestEvent"));
+        assertThat(notification.get("params").get(0).get("foo").asText(), is("bar"));
+        assertThat(notification.has("id"), is(false));
+        notification = mapper.readTree(messages.get(1).toByteArray());
+        assertThat(notification.get("method").asText(), is("AppWideEvent"));
+        assertThat(notification.get("params").get(0).get(0).asText(), is("baz"));
+    }
+
+    /**
+     * Tests json-rpc requests, responses and notifications in the {@link WireFormat#BSON} format.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBinaryWireFormat() throws Exception {
+        assertThat(WireFormat.negotiate(null), is(WireFormat.JSON));
+        assertThat(WireFormat.negotiate("application/cbor, application/bson;q=0.9"), is(WireFormat.BSON));
+        assertThat(WireFormat.negotiate("bson"), is(WireFormat.BSON));
+        assertThat(WireFormat.negotiate("application/cbor"), is(WireFormat.JSON));
+
+        var nodeServiceMock = mock(NodeService.class);
+        when(nodeServiceMock.getNodeView(any(), any(), any(), any())).thenReturn(Map.of("foo", List.of(1, 2, 3)));
+        var jsonMapper = WireFormat.JSON.getObjectMapper();
+        var bsonMapper = WireFormat.BSON.getObjectMapper();
+        var bsonRequest = bsonMapper.writeValueAsBytes(jsonMapper.readTree(GET_NODE_VIEW_REQUEST));
+
+        var handler = createHandler(nodeServiceMock, WireFormat.BSON);
+        var out = new ByteArrayOutputStream();
+        handler.handle(new ByteArrayInputStream(bsonRequest), out);
+        var response = bsonMapper.readTree(out.toByteArray());
+        assertThat(response.get("result").get("foo").get(2).asInt(), is(3));
+        assertThat(bsonMapper.readTree(handler.handle(bsonRequest)), is(response));
+
+        var message = new ByteArrayOutputStream();
+        new JsonRpcEventConsumer(WireFormat.BSON, projectId -> message).accept("TestEvent", Map.of("foo", "bar"));
+        var notification = bsonMapper.readTree(message.toByteArray());
+        assertThat(notification.get("method").asText(), is("TestEvent"));
+        assertThat(notification.get("params").get(0).get("foo").asText(), is("bar"));
+    }
+
+    private static DefaultJsonRpcRequestHandler createHandler(final NodeService nodeService) {
+        return createHandler(nodeService, WireFormat.JSON);
+    }
+
+    private static DefaultJsonRpcRequestHandler createHandler(final NodeService nodeService,
+        final WireFormat wireFormat) {
+        Map<Class<? extends GatewayService>, Supplier<? extends GatewayService>> serviceMocks =
+            Map.of(NodeService.class, () -> nodeService);
+        return new DefaultJsonRpcRequestHandler(serviceMocks, wireFormat);
+    }
+
+}
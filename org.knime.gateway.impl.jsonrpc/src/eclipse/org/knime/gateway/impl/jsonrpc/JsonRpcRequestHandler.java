@@ -47,15 +47,33 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.SafeCloseable;
 import org.knime.gateway.api.service.GatewayService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -63,6 +81,15 @@
 
 /**
  * Executes json-rpc 2.0 requests and delegates the respective calls to the default service implementations.
+ * <p>
+ * Batch requests (json arrays of requests) are supported. If the handler has been configured with the read-only
+ * methods (see {@link #JsonRpcRequestHandler(ObjectMapper, Map, ExceptionToJsonRpcErrorTranslator, Predicate)}), the
+ * consecutive read-only calls of a batch are executed in parallel on a bounded, shared executor while all other calls
+ * are executed one after the other, in the order given in the batch, on the calling thread. A call which isn't read-only
+ * is only executed once all the preceding calls are done and the subsequent calls are only executed once it's done,
+ * i.e. the calls of a batch always observe the effects of the preceding calls. The number of threads can be configured
+ * via the system property {@code org.knime.gateway.impl.jsonrpc.JsonRpcRequestHandler.batchParallelism} (a value
+ * &lt; 1 disables the parallel execution).
  *
  * @author Martin Horn, University of Konstanz
  * @since 4.11
@@ -72,19 +99,42 @@ public class JsonRpcRequestHandler {
     private static final ClassLoader defaultContextClassLoader =
         JsonRpcBundleActivator.getDefaultContextClassLoader().orElse(null);
 
+    private static final int BATCH_PARALLELISM = Integer.getInteger(
+        JsonRpcRequestHandler.class.getName() + ".batchParallelism",
+        Math.min(8, Math.max(2, Runtime.getRuntime().availableProcessors())));
+
     private final JsonRpcMultiServer m_jsonRpcMultiServer;
     private final ExceptionToJsonRpcErrorTranslator m_exceptionTranslator;
     private final ObjectMapper m_mapper;
+    private final Predicate<String> m_isReadOnlyMethod;
 
     /**
      * Creates a new request handler.
      *
-     * @param mapper the object mapper to use for json de-/serialization
+     * @param mapper the object mapper to use for json de-/serialization; determines the wire format of requests and
+     *            responses (e.g. json text or bson)
      * @param services the services to be used by the handler (map from service name to service handler)
      * @param t to translate exception to json-rpc errors
      */
     public JsonRpcRequestHandler(final ObjectMapper mapper, final Map<String, GatewayService> services,
         final ExceptionToJsonRpcErrorTranslator t) {
+        this(mapper, services, t, null);
+    }
+
+    /**
+     * Creates a new request handler which executes the read-only calls of batch requests in parallel.
+     *
+     * @param mapper the object mapper to use for json de-/serialization; determines the wire format of requests and
+     *            responses (e.g. json text or bson)
+     * @param services the services to be used by the handler (map from service name to service handler)
+     * @param t to translate exception to json-rpc errors
+     * @param isReadOnlyMethod tells whether a json-rpc method (e.g. {@code WorkflowService.getWorkflow}) is read-only,
+     *            i.e. whether it can be executed on another thread and concurrently with other calls; or {@code null}
+     *            if all calls are to be executed one after the other
+     * @since 5.12
+     */
+    public JsonRpcRequestHandler(final ObjectMapper mapper, final Map<String, GatewayService> services,
+        final ExceptionToJsonRpcErrorTranslator t, final Predicate<String> isReadOnlyMethod) {
         m_mapper = mapper;
         //setup json-rpc server
         m_jsonRpcMultiServer = new JsonRpcMultiServer(mapper);
@@ -94,6 +144,7 @@ public JsonRpcRequestHandler(final ObjectMapper mapper, final Map<String, Gatewa
         }
 
         m_exceptionTranslator = t;
+        m_isReadOnlyMethod = BATCH_PARALLELISM > 0 ? isReadOnlyMethod : null;
     }
 
     /**
@@ -101,22 +152,196 @@ public JsonRpcRequestHandler(final ObjectMapper mapper, final Map<String, Gatewa
      * <p>
      * We rely on Jackson's default size limits, see com.fasterxml.jackson.core.StreamReadConstraints,
      * StreamWriteConstraints.
+     * <p>
+     * Buffers the entire response in memory. Prefer {@link #handle(InputStream, OutputStream)} for potentially large
+     * responses (such as the initial workflow of a big workflow project).
      *
      * @param jsonRpcRequest the request
      * @return a jsonrpc response
      */
     public byte[] handle(final byte[] jsonRpcRequest) {
-        try (var out = new ByteArrayOutputStream();
-                var in = new ByteArrayInputStream(jsonRpcRequest);
-                var clCloser = new WithDefaultContextClassLoaderCloseable()) {
-            m_jsonRpcMultiServer.handleRequest(in, out);
+        var out = new ByteArrayOutputStream();
+        try {
+            handleRequest(new ByteArrayInputStream(jsonRpcRequest), out);
             return out.toByteArray();
         } catch (IOException e) {
             NodeLogger.getLogger(getClass()).warn("Problem handling json rpc request", e);
-            // turn it into a json error object
-            return createJsonRpcErrorResponse(m_mapper, m_exceptionTranslator.getUnexpectedExceptionErrorCode(e),
-                m_exceptionTranslator.getMessage(e), m_exceptionTranslator.getData(e)).getBytes(StandardCharsets.UTF_8);
+            // turn it into a json error object (in the format of the mapper, which isn't necessarily json text)
+            var error = createJsonRpcErrorObject(m_mapper, m_exceptionTranslator.getUnexpectedExceptionErrorCode(e),
+                m_exceptionTranslator.getMessage(e), m_exceptionTranslator.getData(e));
+            try {
+                return m_mapper.writeValueAsBytes(error);
+            } catch (JsonProcessingException ex) { // NOSONAR
+                return error.toString().getBytes(StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * Handles a json rpc 2.0 request and writes the response directly to the given output stream, i.e. without
+     * materializing the entire response in memory first. The json generator writing the response uses Jackson's
+     * recycled (i.e. pooled) buffers and flushes them to the output stream as they fill up.
+     * <p>
+     * Neither of the streams is closed.
+     *
+     * @param jsonRpcRequest the request
+     * @param jsonRpcResponse the stream to write the response to
+     * @throws IOException if writing to the response stream fails, or if the request couldn't be handled after parts
+     *             of the response have already been written (otherwise the problem is reported as json rpc error
+     *             response)
+     * @since 5.12
+     */
+    public void handle(final InputStream jsonRpcRequest, final OutputStream jsonRpcResponse) throws IOException {
+        var out = new ResponseOutputStream(jsonRpcResponse);
+        try {
+            handleRequest(jsonRpcRequest, out);
+        } catch (IOException e) {
+            if (out.m_hasBeenWrittenTo) {
+                // the response is incomplete - too late to turn it into a json error object
+                throw e;
+            }
+            NodeLogger.getLogger(getClass()).warn("Problem handling json rpc request", e);
+            writeJsonRpcErrorResponse(m_mapper, jsonRpcResponse,
+                m_exceptionTranslator.getUnexpectedExceptionErrorCode(e), m_exceptionTranslator.getMessage(e),
+                m_exceptionTranslator.getData(e));
+        }
+        jsonRpcResponse.flush();
+    }
+
+    /**
+     * Same as {@link #handle(InputStream, OutputStream)} but writes the response to a channel.
+     *
+     * @param jsonRpcRequest the request
+     * @param jsonRpcResponse the channel to write the response to; not closed
+     * @throws IOException see {@link #handle(InputStream, OutputStream)}
+     * @since 5.12
+     */
+    public void handle(final InputStream jsonRpcRequest, final WritableByteChannel jsonRpcResponse)
+        throws IOException {
+        handle(jsonRpcRequest, Channels.newOutputStream(jsonRpcResponse));
+    }
+
+    private void handleRequest(final InputStream in, final OutputStream out) throws IOException {
+        try (var clCloser = new WithDefaultContextClassLoaderCloseable()) {
+            if (m_isReadOnlyMethod == null) {
+                m_jsonRpcMultiServer.handleRequest(in, out);
+                return;
+            }
+            var pushbackIn = new PushbackInputStream(in, MAX_LEADING_WHITESPACES);
+            if (isBatchRequest(pushbackIn)) {
+                handleBatchRequest(pushbackIn.readAllBytes(), out);
+            } else {
+                m_jsonRpcMultiServer.handleRequest(pushbackIn, out);
+            }
+        }
+    }
+
+    private static final int MAX_LEADING_WHITESPACES = 64;
+
+    /*
+     * Checks whether the first non-whitespace character is '['. All the bytes read are pushed back, such that the
+     * stream is left untouched (e.g. in case it's a binary format, such as bson).
+     */
+    private static boolean isBatchRequest(final PushbackInputStream in) throws IOException {
+        var read = new byte[MAX_LEADING_WHITESPACES];
+        var numRead = 0;
+        var isBatch = false;
+        while (numRead < read.length) {
+            var b = in.read();
+            if (b < 0) {
+                break;
+            }
+            read[numRead++] = (byte)b;
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                isBatch = b == '[';
+                break;
+            }
+        }
+        in.unread(read, 0, numRead);
+        return isBatch;
+    }
+
+    private void handleBatchRequest(final byte[] request, final OutputStream out) throws IOException {
+        JsonNode batch;
+        try {
+            batch = m_mapper.readTree(request);
+        } catch (JsonProcessingException e) { // NOSONAR
+            batch = null;
+        }
+        if (batch == null || !batch.isArray() || batch.size() < 2) {
+            // let the json-rpc server deal with it (e.g. to respond with the appropriate errors)
+            m_jsonRpcMultiServer.handleRequest(new ByteArrayInputStream(request), out);
+            return;
+        }
+
+        var responses = new byte[batch.size()][];
+        var futures = new ArrayList<Future<?>>();
+        for (var i = 0; i < batch.size(); i++) {
+            var call = batch.get(i);
+            if (isReadOnlyCall(call)) {
+                // consecutive read-only calls are executed in parallel
+                var index = i;
+                futures.add(BatchExecutor.INSTANCE.submit(() -> {
+                    try (var clCloser = new WithDefaultContextClassLoaderCloseable()) {
+                        responses[index] = handleCall(call);
+                    }
+                    return null;
+                }));
+            } else {
+                // any other call is only executed once all the preceding calls are done, and the subsequent calls
+                // only once it's done (i.e. the calls of a batch observe the effects of the preceding calls)
+                awaitAll(futures);
+                futures.clear();
+                responses[i] = handleCall(call);
+            }
+        }
+        awaitAll(futures);
+        writeBatchResponse(responses, out);
+    }
+
+    private boolean isReadOnlyCall(final JsonNode call) {
+        var method = call.path("method");
+        return method.isTextual() && m_isReadOnlyMethod.test(method.textValue());
+    }
+
+    private byte[] handleCall(final JsonNode call) throws IOException {
+        var out = new ByteArrayOutputStream();
+        m_jsonRpcMultiServer.handleRequest(new ByteArrayInputStream(m_mapper.writeValueAsBytes(call)), out);
+        return out.toByteArray();
+    }
+
+    private static void awaitAll(final Iterable<Future<?>> futures) throws IOException {
+        for (var future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) { // NOSONAR interrupt flag is restored
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new InterruptedIOException("Interrupted while waiting for the calls of a batch request");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException ioe) {
+                    throw ioe;
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    private static void writeBatchResponse(final byte[][] responses, final OutputStream out) throws IOException {
+        var isFirst = true;
+        for (var response : responses) {
+            if (response.length == 0) {
+                // notification
+                continue;
+            }
+            out.write(isFirst ? '[' : ',');
+            out.write(response);
+            isFirst = false;
+        }
+        if (!isFirst) {
+            out.write(']');
         }
+        // nothing at all is written if the batch consists of notifications only (as required by the spec)
     }
 
     /**
@@ -129,13 +354,87 @@ public byte[] handle(final byte[] jsonRpcRequest) {
      * @return the json rpc error response
      */
     public static String createJsonRpcErrorResponse(final ObjectMapper mapper, final int errorCode,
+        final String message, final Object data) {
+        return createJsonRpcErrorObject(mapper, errorCode, message, data).toString();
+    }
+
+    /**
+     * Writes a json rpc error response to the given output stream. The stream is not closed.
+     *
+     * @param mapper mapper used to create the json object and serialize the data, if given.
+     * @param out the stream to write the response to
+     * @param errorCode
+     * @param message
+     * @param data the data to be set in the data field, or {@code null} if none
+     * @throws IOException if writing to the stream failed
+     * @since 5.12
+     */
+    public static void writeJsonRpcErrorResponse(final ObjectMapper mapper, final OutputStream out,
+        final int errorCode, final String message, final Object data) throws IOException {
+        mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out,
+            createJsonRpcErrorObject(mapper, errorCode, message, data));
+    }
+
+    private static ObjectNode createJsonRpcErrorObject(final ObjectMapper mapper, final int errorCode,
         final String message, final Object data) {
         ObjectNode jsonRpc = mapper.createObjectNode().put("jsonrpc", "2.0"); // NOSONAR
         var res = jsonRpc.putObject("error").put("code", errorCode).put("message", message);
         if (data != null) {
             res.set("data", mapper.convertValue(data, JsonNode.class));
         }
-        return jsonRpc.toPrettyString();
+        return jsonRpc;
+    }
+
+    /**
+     * Passes everything through to the actual response stream while keeping track of whether anything has been written
+     * yet. Doesn't close the actual response stream.
+     */
+    private static final class ResponseOutputStream extends FilterOutputStream {
+
+        private boolean m_hasBeenWrittenTo;
+
+        ResponseOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            m_hasBeenWrittenTo = true;
+            out.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            m_hasBeenWrittenTo = true;
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Lazily initialized executor for the read-only calls of batch requests. If all threads are busy and the queue is
+     * full, the calls are executed on the thread handling the batch request.
+     */
+    private static final class BatchExecutor {
+
+        private static final ExecutorService INSTANCE = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            var count = new AtomicInteger();
+            var executor = new ThreadPoolExecutor(BATCH_PARALLELISM, BATCH_PARALLELISM, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(16 * BATCH_PARALLELISM), r -> {
+                    var t = new Thread(r, "KNIME-JsonRpc-Batch-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
     }
 
     /**
@@ -48,35 +48,69 @@
  */
 package org.knime.gateway.impl.webui.jsonrpc;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.knime.gateway.api.service.GatewayService;
 import org.knime.gateway.impl.jsonrpc.DefaultExceptionToJsonRpcErrorTranslator;
 import org.knime.gateway.impl.jsonrpc.JsonRpcRequestHandler;
 import org.knime.gateway.impl.webui.service.DefaultWorkflowService;
 import org.knime.gateway.impl.webui.service.ServiceInstances;
-import org.knime.gateway.json.util.ObjectMapperUtil;
+import org.knime.gateway.json.util.WireFormat;
 
 /**
  * A {@link JsonRpcRequestHandler} that delegates the json-requests to the default service implementations of the web-ui
  * (e.g. {@link DefaultWorkflowService}) using the {@link DefaultExceptionToJsonRpcErrorTranslator} in case of thrown
  * exceptions.
+ * <p>
+ * The calls of a batch request to the methods in {@link #READ_ONLY_METHODS} are executed in parallel (see
+ * {@link JsonRpcRequestHandler}). More methods can be declared read-only via the system property
+ * {@code org.knime.gateway.impl.webui.jsonrpc.DefaultJsonRpcRequestHandler.readOnlyMethods} (comma-separated, e.g.
+ * {@code NodeService.getNodeView}).
  *
  * @author Martin Horn, KNIME GmbH, Konstanz, Germany
  */
 public class DefaultJsonRpcRequestHandler extends JsonRpcRequestHandler {
 
     /**
-     * New instance.
+     * The json-rpc methods which don't modify anything and can be called from any thread, concurrently to other calls.
+     * Only methods which don't access a workflow (i.e. don't need a workflow lock or the service context of a
+     * project), don't require the UI-thread and never ask for a login (e.g. to a hub) qualify. The node repository and
+     * node description calls made by the UI on start-up are such calls.
+     */
+    static final Set<String> READ_ONLY_METHODS = Stream.concat(Stream.of( //
+        "NodeRepositoryService.getNodeTemplates", //
+        "NodeRepositoryService.getNodesGroupedByTags", //
+        "NodeRepositoryService.searchNodes", //
+        "NodeService.getNodeDescription"), //
+        Arrays.stream(System.getProperty(DefaultJsonRpcRequestHandler.class.getName() + ".readOnlyMethods", "")
+            .split(",")).map(String::trim).filter(m -> !m.isEmpty())) //
+        .collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * New instance reading and writing json text.
      */
     public DefaultJsonRpcRequestHandler() {
-        super(ObjectMapperUtil.getInstance().getObjectMapper(), wrapWithJsonRpcServices(getDefaultServiceImpls()),
-            new DefaultExceptionToJsonRpcErrorTranslator());
+        this(WireFormat.JSON);
+    }
+
+    /**
+     * New instance reading requests and writing responses in the given format. Usually created once per connection,
+     * with the format negotiated for that connection (see {@link WireFormat#negotiate(String)}).
+     *
+     * @param wireFormat the format of requests and responses
+     * @since 5.12
+     */
+    public DefaultJsonRpcRequestHandler(final WireFormat wireFormat) {
+        super(wireFormat.getObjectMapper(), wrapWithJsonRpcServices(getDefaultServiceImpls()),
+            new DefaultExceptionToJsonRpcErrorTranslator(), READ_ONLY_METHODS::contains);
     }
 
     /**
@@ -84,8 +118,17 @@ public DefaultJsonRpcRequestHandler() {
      */
     DefaultJsonRpcRequestHandler(
         final Map<Class<? extends GatewayService>, Supplier<? extends GatewayService>> serviceImpls) {
-        super(ObjectMapperUtil.getInstance().getObjectMapper(), wrapWithJsonRpcServices(serviceImpls),
-            new DefaultExceptionToJsonRpcErrorTranslator());
+        this(serviceImpls, WireFormat.JSON);
+    }
+
+    /**
+     * For testing purposes only.
+     */
+    DefaultJsonRpcRequestHandler(
+        final Map<Class<? extends GatewayService>, Supplier<? extends GatewayService>> serviceImpls,
+        final WireFormat wireFormat) {
+        super(wireFormat.getObjectMapper(), wrapWithJsonRpcServices(serviceImpls),
+            new DefaultExceptionToJsonRpcErrorTranslator(), READ_ONLY_METHODS::contains);
     }
 
     private static Map<Class<? extends GatewayService>, Supplier<? extends GatewayService>> getDefaultServiceImpls() {
@@ -0,0 +1,153 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.jsonrpc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.gateway.impl.webui.service.events.EventConsumer;
+import org.knime.gateway.json.util.WireFormat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * An {@link EventConsumer} that sends events as json-rpc 2.0 notifications, i.e. as
+ * <code>{"jsonrpc":"2.0","method":"&lt;event name&gt;","params":[&lt;event&gt;]}</code> (as json text or in a binary
+ * {@link WireFormat}). The notification is serialized straight into the stream provided by the {@link Transport} -
+ * without materializing it as string or byte-array first.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ * @since 5.12
+ */
+public final class JsonRpcEventConsumer implements EventConsumer {
+
+    /**
+     * The transport the notifications are sent through.
+     */
+    @FunctionalInterface
+    public interface Transport {
+
+        /**
+         * Opens a new message, e.g. a websocket message or a frame on a connection. The returned stream will be closed
+         * once the notification has been written, which is expected to complete (i.e. send) the message.
+         *
+         * @param projectId the id of the project the event is associated with, or {@code null} if it's an
+         *            'application-wide' event
+         * @return the stream to write the message to
+         * @throws IOException if the message couldn't be opened
+         */
+        OutputStream openMessage(String projectId) throws IOException;
+
+    }
+
+    private final ObjectMapper m_mapper;
+
+    private final Transport m_transport;
+
+    /**
+     * @param transport the transport to send the notifications through
+     */
+    public JsonRpcEventConsumer(final Transport transport) {
+        this(WireFormat.JSON, transport);
+    }
+
+    /**
+     * @param wireFormat the format to send the notifications in, usually the one negotiated for the connection
+     * @param transport the transport to send the notifications through
+     */
+    public JsonRpcEventConsumer(final WireFormat wireFormat, final Transport transport) {
+        this(wireFormat.getObjectMapper(), transport);
+    }
+
+    /**
+     * @param mapper the mapper used to serialize the events
+     * @param transport the transport to send the notifications through
+     */
+    public JsonRpcEventConsumer(final ObjectMapper mapper, final Transport transport) {
+        m_mapper = mapper;
+        m_transport = transport;
+    }
+
+    @Override
+    public void accept(final String name, final Object event) {
+        accept(name, event, null);
+    }
+
+    @Override
+    public void accept(final String name, final Object event, final String projectId) {
+        try (var out = m_transport.openMessage(projectId)) {
+            writeNotification(m_mapper, out, name, event);
+        } catch (IOException e) {
+            NodeLogger.getLogger(getClass()).error("Event '" + name + "' couldn't be sent", e);
+        }
+    }
+
+    /**
+     * Writes a json-rpc 2.0 notification to the given stream. The stream is not closed.
+     *
+     * @param mapper the mapper used to serialize the params
+     * @param out the stream to write to
+     * @param method the notification's method name
+     * @param param the single notification param
+     * @throws IOException if writing to the stream failed
+     */
+    public static void writeNotification(final ObjectMapper mapper, final OutputStream out, final String method,
+        final Object param) throws IOException {
+        try (var generator = mapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("jsonrpc", "2.0");
+            generator.writeStringField("method", method);
+            generator.writeArrayFieldStart("params");
+            mapper.writeValue(generator, param);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+}
@@ -50,6 +50,7 @@
 
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
 import java.util.concurrent.Semaphore;
@@ -57,6 +58,7 @@
 
 import org.junit.Test;
 import org.knime.gateway.impl.service.util.CallThrottle.CallState;
+import org.knime.gateway.impl.service.util.CallThrottle.Settings;
 
 /**
  * Test for {@link CallThrottle}.
@@ -156,4 +158,43 @@ public void testInvokeWithDelayWhenIdle() {
 
     }
 
+    /**
+     * Tests that the interval between consecutive calls is raised if many invocations arrive while a call is in
+     * progress and that it drops back once there are no more invocations.
+     */
+    @Test
+    public void testAdaptiveInterval() {
+        var semaphore = new Semaphore(0);
+        var numCalls = new AtomicInteger();
+        Runnable call = () -> {
+            numCalls.incrementAndGet();
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException ex) {
+                //
+            }
+        };
+        var callThrottle = new CallThrottle(call, "thread name");
+        callThrottle.setSettings(new Settings(10, 1000, 0));
+
+        callThrottle.invoke();
+        await().untilAsserted(() -> assertThat(callThrottle.getCallState(), is(CallState.IN_PROGRESS)));
+        // flood of invocations while the call is in progress
+        for (var i = 0; i < 100; i++) {
+            callThrottle.invoke();
+        }
+        semaphore.release();
+        await().untilAsserted(() -> {
+            assertThat(numCalls.get(), is(2));
+            assertThat(callThrottle.getIntervalInMs(), greaterThan(10L));
+        });
+
+        semaphore.release();
+        await().untilAsserted(() -> {
+            assertThat(callThrottle.getCallState(), is(CallState.IDLE));
+            assertThat(callThrottle.getIntervalInMs(), is(10L));
+        });
+        callThrottle.dispose();
+    }
+
 }
@@ -0,0 +1,264 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.service.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThrows;
+import static org.knime.core.util.Pair.create;
+import static org.knime.gateway.api.entity.EntityBuilderManager.builder;
+import static org.knime.gateway.api.entity.NodeIDEnt.getRootID;
+import static org.knime.gateway.impl.service.util.RandomEntityBuilder.buildRandomEntityBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.knime.core.util.Pair;
+import org.knime.gateway.api.entity.NodeIDEnt;
+import org.knime.gateway.api.webui.entity.PatchEnt;
+import org.knime.gateway.api.webui.entity.PatchOpEnt.OpEnum;
+import org.knime.gateway.api.webui.entity.WorkflowEnt;
+import org.knime.gateway.api.webui.entity.WorkflowEnt.WorkflowEntBuilder;
+import org.knime.gateway.api.webui.entity.WorkflowInfoEnt.ContainerTypeEnum;
+import org.knime.gateway.api.webui.entity.WorkflowInfoEnt.WorkflowInfoEntBuilder;
+
+/**
+ * Tests for {@link EntityRepository} and it's {@link MemoryBoundedRepository}-implementation.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class MemoryBoundedRepositoryTest extends AbstractEntityRepositoryTest {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected EntityRepository<Pair<UUID, NodeIDEnt>, WorkflowEnt> createRepo(final int numSnapshotsPerEntity) {
+        return new MemoryBoundedRepository<>(numSnapshotsPerEntity <= 0 ? 500 : numSnapshotsPerEntity,
+            Long.MAX_VALUE);
+    }
+
+    /**
+     * Snapshots evicted because of the maximum number of snapshots per entity result in a full re-sync (instead of an
+     * exception).
+     */
+    @Override
+    @Test
+    public void testNumSnapshotsPerEntity() throws Exception {
+        var repo = createRepo(2);
+        var wfBuilder = buildRandomEntityBuilder(WorkflowEntBuilder.class);
+        var key = create(UUID.randomUUID(), getRootID());
+        var wf1 = wfBuilder.build();
+        var id1 = repo.commit(key, wf1);
+        var wf2 = wfBuilder.setInfo(builder(WorkflowInfoEntBuilder.class).setContainerId(new NodeIDEnt(2, 3))
+            .setName("wf_2").setContainerType(ContainerTypeEnum.COMPONENT).build()).build();
+        var id2 = repo.commit(key, wf2);
+        var wf3 = wfBuilder.setInfo(builder(WorkflowInfoEntBuilder.class).setContainerId(new NodeIDEnt(2, 3))
+            .setName("wf_3").setContainerType(ContainerTypeEnum.COMPONENT).build()).build();
+        var id3 = repo.commit(key, wf3);
+
+        assertFullResync(repo.getChangesAndCommit(id1, wf3, new PatchEntCreator(null)));
+        assertThat("empty patch expected", repo.getChangesAndCommit(id2, wf2, new PatchEntCreator(null)),
+            is(Optional.empty()));
+        assertThat("empty patch expected", repo.getChangesAndCommit(id3, wf3, new PatchEntCreator(null)),
+            is(Optional.empty()));
+    }
+
+    /**
+     * Tests that the memory budget is enforced across all keys by evicting the least recently used snapshots and that
+     * the statistics are updated accordingly.
+     */
+    @Test
+    public void testMemoryBudget() {
+        var wf1 = buildRandomEntityBuilder(WorkflowEntBuilder.class).build();
+        var wf2 = buildRandomEntityBuilder(WorkflowEntBuilder.class).build();
+        var wf3 = buildRandomEntityBuilder(WorkflowEntBuilder.class).build();
+        var unboundedRepo = new MemoryBoundedRepository<String, WorkflowEnt>(10, Long.MAX_VALUE);
+        unboundedRepo.commit("wf1", wf1);
+        unboundedRepo.commit("wf2", wf2);
+        unboundedRepo.commit("wf3", wf3);
+        var maxBytes = unboundedRepo.getStatistics().sizeInBytes() - 1;
+        var repo = new MemoryBoundedRepository<String, WorkflowEnt>(10, maxBytes);
+
+        var id1 = repo.commit("wf1", wf1);
+        var id2 = repo.commit("wf2", wf2);
+        // access the first snapshot such that the second one is the least recently used one
+        assertThat(repo.getChangesAndCommit(id1, wf1, new PatchEntCreator(null)), is(Optional.empty()));
+        var id3 = repo.commit("wf3", wf3);
+
+        var stats = repo.getStatistics();
+        assertThat(stats.numSnapshots(), is(2));
+        assertThat(stats.evictionCount(), is(1L));
+        assertThat(stats.sizeInBytes() <= maxBytes, is(true));
+        assertThat(repo.getLastCommit("wf2"), is(Optional.empty()));
+        assertThat(repo.getLastCommit("wf3").map(Pair::getFirst), is(Optional.of(id3)));
+
+        // the evicted snapshot is requested -> full re-sync
+        assertFullResync(repo.getChangesAndCommit(id2, wf2, new PatchEntCreator(null)));
+        stats = repo.getStatistics();
+        assertThat(stats.hitCount(), is(1L));
+        assertThat(stats.missCount(), is(1L));
+        assertThat(stats.evictionCount(), is(2L));
+        assertThat(repo.getLastCommit("wf1"), is(Optional.empty()));
+        assertThat(repo.getLastCommit("wf2").isPresent(), is(true));
+    }
+
+    /**
+     * Tests that sub-entities shared by multiple snapshots are only accounted for once and that the memory is released
+     * again once all the snapshots referencing them are gone.
+     */
+    @Test
+    public void testSharedSubEntitiesAreAccountedForOnce() {
+        var repo = new MemoryBoundedRepository<String, WorkflowEnt>(10, Long.MAX_VALUE);
+        var wfBuilder = buildRandomEntityBuilder(WorkflowEntBuilder.class);
+        var wf1 = wfBuilder.build();
+        repo.commit("wf", wf1);
+        var sizeOfOneSnapshot = repo.getStatistics().sizeInBytes();
+
+        // same sub-entities except for the workflow info
+        var wf2 = wfBuilder.setInfo(builder(WorkflowInfoEntBuilder.class).setContainerId(new NodeIDEnt(2, 3))
+            .setName("wf_2").setContainerType(ContainerTypeEnum.COMPONENT).build()).build();
+        repo.commit("wf", wf2);
+        var sizeOfTwoSnapshots = repo.getStatistics().sizeInBytes();
+        assertThat(sizeOfTwoSnapshots > sizeOfOneSnapshot, is(true));
+        assertThat(sizeOfTwoSnapshots - sizeOfOneSnapshot < sizeOfOneSnapshot, is(true));
+
+        // the very same entity for another key
+        repo.commit("other wf", wf2);
+        assertThat(repo.getStatistics().sizeInBytes(), is(sizeOfTwoSnapshots));
+
+        repo.disposeHistory("wf"::equals);
+        assertThat(repo.getStatistics().sizeInBytes() < sizeOfTwoSnapshots, is(true));
+        repo.disposeHistory(k -> true);
+        assertThat(repo.getStatistics().sizeInBytes(), is(0L));
+    }
+
+    /**
+     * Tests that the changes relative to multiple snapshots are determined before the entity is committed (such that
+     * the commit doesn't evict any of the requested snapshots), that all the patches lead to the same new snapshot and
+     * that only evicted snapshots result in a full re-sync while unknown ones are rejected.
+     */
+    @Test
+    public void testGetChangesAndCommitForMultipleSnapshots() {
+        var repo = createRepo(1);
+        var wfBuilder = buildRandomEntityBuilder(WorkflowEntBuilder.class);
+        var key = create(UUID.randomUUID(), getRootID());
+        var wf1 = wfBuilder.build();
+        var id1 = repo.commit(key, wf1);
+        var wf2 = wfBuilder.setInfo(builder(WorkflowInfoEntBuilder.class).setContainerId(new NodeIDEnt(2, 3))
+            .setName("wf_2").setContainerType(ContainerTypeEnum.COMPONENT).build()).build();
+        var id2 = repo.commit(key, wf2); // evicts id1
+        var wf3 = wfBuilder.setInfo(builder(WorkflowInfoEntBuilder.class).setContainerId(new NodeIDEnt(2, 3))
+            .setName("wf_3").setContainerType(ContainerTypeEnum.COMPONENT).build()).build();
+
+        var patchCreators = new HashMap<String, PatchEntCreator>();
+        var patches = repo.getChangesAndCommit(key, List.of(id1, id2), wf3,
+            id -> patchCreators.computeIfAbsent(id, k -> new PatchEntCreator(null)));
+        assertThat(patches.keySet(), is(Set.of(id1, id2)));
+        assertFullResync(Optional.of(patches.get(id1)));
+        assertThat(patches.get(id2).getOps().get(0).getPath().startsWith("/info"), is(true));
+        var id3 = patchCreators.get(id2).getLastSnapshotId();
+        assertThat(patchCreators.get(id1).getLastSnapshotId(), is(id3));
+        assertThat(repo.getLastCommit(key).map(Pair::getFirst), is(Optional.of(id3)));
+
+        // no changes
+        assertThat(repo.getChangesAndCommit(key, List.of(id3), wf3, id -> new PatchEntCreator(null)).isEmpty(),
+            is(true));
+
+        // unknown snapshots and snapshots of other keys are rejected (and nothing is committed)
+        var otherKey = create(UUID.randomUUID(), getRootID());
+        var otherId = repo.commit(otherKey, wf1);
+        assertThrows(IllegalArgumentException.class,
+            () -> repo.getChangesAndCommit(key, List.of(id3, "unknown"), wf2, id -> new PatchEntCreator(null)));
+        assertThrows(IllegalArgumentException.class,
+            () -> repo.getChangesAndCommit(key, List.of(id3, otherId), wf2, id -> new PatchEntCreator(null)));
+        assertThat(repo.getLastCommit(key).map(Pair::getFirst), is(Optional.of(id3)));
+    }
+
+    /**
+     * Tests that pinned snapshots aren't evicted in favour of newer snapshots of the same entity, but are again once
+     * unpinned.
+     */
+    @Test
+    public void testPinnedSnapshotsAreNotEvicted() {
+        var repo = new MemoryBoundedRepository<Pair<UUID, NodeIDEnt>, WorkflowEnt>(1, Long.MAX_VALUE);
+        var wfBuilder = buildRandomEntityBuilder(WorkflowEntBuilder.class);
+        var key = create(UUID.randomUUID(), getRootID());
+        var wf1 = wfBuilder.build();
+        var id1 = repo.commit(key, wf1);
+        repo.pin(id1);
+        var wf2 = wfBuilder.setInfo(builder(WorkflowInfoEntBuilder.class).setContainerId(new NodeIDEnt(2, 3))
+            .setName("wf_2").setContainerType(ContainerTypeEnum.COMPONENT).build()).build();
+        var id2 = repo.commit(key, wf2);
+        var wf3 = wfBuilder.setInfo(builder(WorkflowInfoEntBuilder.class).setContainerId(new NodeIDEnt(2, 3))
+            .setName("wf_3").setContainerType(ContainerTypeEnum.COMPONENT).build()).build();
+        repo.commit(key, wf3);
+
+        // the pinned snapshot is still available, the other one has been evicted
+        assertThat(repo.getStatistics().numSnapshots(), is(2));
+        assertThat("empty patch expected", repo.getChangesAndCommit(id1, wf1, new PatchEntCreator(null)),
+            is(Optional.empty()));
+        assertFullResync(repo.getChangesAndCommit(id2, wf3, new PatchEntCreator(null)));
+
+        repo.unpin(id1);
+        repo.commit(key, wf2);
+        assertThat(repo.getStatistics().numSnapshots(), is(1));
+        assertFullResync(repo.getChangesAndCommit(id1, wf3, new PatchEntCreator(null)));
+    }
+
+    private static void assertFullResync(final Optional<PatchEnt> patch) {
+        assertThat(patch.isPresent(), is(true));
+        var ops = patch.get().getOps();
+        assertThat(ops.size(), is(1));
+        assertThat(ops.get(0).getOp(), is(OpEnum.REPLACE));
+        assertThat(ops.get(0).getPath(), is(""));
+    }
+}
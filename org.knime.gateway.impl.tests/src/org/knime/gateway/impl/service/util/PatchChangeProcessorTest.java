@@ -51,6 +51,7 @@
 import static org.knime.gateway.api.entity.EntityBuilderManager.builder;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.util.Collections;
@@ -74,6 +75,7 @@
 import org.knime.gateway.api.webui.entity.PortGroupEnt.PortGroupEntBuilder;
 import org.knime.gateway.api.webui.entity.ProjectMetadataEnt.ProjectMetadataEntBuilder;
 import org.knime.gateway.api.webui.entity.TypedTextEnt.ContentTypeEnum;
+import org.knime.gateway.api.webui.entity.WorkflowAnnotationEnt;
 import org.knime.gateway.api.webui.entity.WorkflowAnnotationEnt.WorkflowAnnotationEntBuilder;
 import org.knime.gateway.api.webui.entity.WorkflowEnt;
 import org.knime.gateway.api.webui.entity.WorkflowEnt.WorkflowEntBuilder;
@@ -171,6 +173,59 @@ public void testPatchRemovingMultipleArrayElements() {
         verify(patchCreator).replaced("/workflowAnnotations/0/text/value", "anno3");
     }
 
+    /**
+     * Tests that changes to lists of identifiable entities (here: workflow annotations with distinct ids) are translated
+     * into minimal patches (i.e. a single remove-, move- or add-operation) instead of replacing all the subsequent
+     * elements.
+     */
+    @Test
+    public void testPatchesForListsOfIdentifiableElements() {
+        var workflowBuilder = builder(WorkflowEntBuilder.class)//
+            .setInfo(builder(WorkflowInfoEntBuilder.class)//
+                .setName("wf-name")//
+                .setContainerType(ContainerTypeEnum.PROJECT)//
+                .setContainerId(new NodeIDEnt(0))//
+                .build())//
+            .setMetadata(builder(ProjectMetadataEntBuilder.class).setMetadataType(MetadataTypeEnum.PROJECT).build()) //
+            .setDirty(false) //
+            .setIsProjectExecuting(Boolean.FALSE);
+
+        var workflowAnnoBuilder = builder(WorkflowAnnotationEntBuilder.class)//
+            .setTextAlign(TextAlignEnum.CENTER)//
+            .setBounds(builder(BoundsEntBuilder.class).setX(0).setY(0).setWidth(0).setHeight(0).build())//
+            .setBorderColor("test")//
+            .setStyleRanges(Collections.emptyList())//
+            .setBorderWidth(0);
+        var annos = new WorkflowAnnotationEnt[5];
+        for (var i = 0; i < annos.length; i++) {
+            annos[i] = workflowAnnoBuilder.setId(new AnnotationIDEnt("root:1_" + i))
+                .setText(EntityUtil.toTypedTextEnt("anno" + i, ContentTypeEnum.PLAIN)).build();
+        }
+        var workflow1 = workflowBuilder.setWorkflowAnnotations(List.of(annos[0], annos[1], annos[2], annos[3])).build();
+
+        // remove the first annotation
+        var workflow2 = workflowBuilder.setWorkflowAnnotations(List.of(annos[1], annos[2], annos[3])).build();
+        var patchCreator = createDiffAndPatchCreatorMock(workflow1, workflow2);
+        verify(patchCreator).removed("/workflowAnnotations/0");
+        verify(patchCreator, never()).replaced(any(), any());
+
+        // move the last annotation to the front
+        workflow2 = workflowBuilder.setWorkflowAnnotations(List.of(annos[3], annos[0], annos[1], annos[2])).build();
+        patchCreator = createDiffAndPatchCreatorMock(workflow1, workflow2);
+        verify(patchCreator).moved("/workflowAnnotations/3", "/workflowAnnotations/0");
+        verify(patchCreator, never()).replaced(any(), any());
+
+        // add an annotation at the front and change the text of another one
+        var changedAnno = workflowAnnoBuilder.setId(new AnnotationIDEnt("root:1_2"))
+            .setText(EntityUtil.toTypedTextEnt("changed", ContentTypeEnum.PLAIN)).build();
+        workflow2 =
+            workflowBuilder.setWorkflowAnnotations(List.of(annos[4], annos[0], annos[1], changedAnno, annos[3])).build();
+        patchCreator = createDiffAndPatchCreatorMock(workflow1, workflow2);
+        verify(patchCreator).added("/workflowAnnotations/0", annos[4]);
+        verify(patchCreator).replaced("/workflowAnnotations/3/text/value", "changed");
+        verify(patchCreator, never()).removed(any());
+    }
+
     /**
      * Test if `onListChange()` method can also handle {@link ElementValueChange} changes
      */
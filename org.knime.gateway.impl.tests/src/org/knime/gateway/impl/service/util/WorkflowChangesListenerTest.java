@@ -58,7 +58,10 @@
 
 import java.io.IOException;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.awaitility.Awaitility;
 import org.awaitility.Duration;
@@ -71,6 +74,7 @@
 import org.knime.core.node.workflow.SubNodeContainer;
 import org.knime.core.node.workflow.WorkflowListener;
 import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.gateway.impl.service.util.WorkflowChangeLog.NodeChange;
 import org.knime.gateway.impl.service.util.WorkflowChangesListener.Scope;
 import org.knime.testing.node.SourceNodeTestFactory;
 import org.knime.testing.util.WorkflowManagerUtil;
@@ -167,6 +171,48 @@ public void testListenToNodeMessagesOnly() throws IOException {
         disposeWorkflow(wfm);
     }
 
+    /**
+     * Tests that change-log callbacks receive a typed log of the changes since the previous callback.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testChangeLogCallback() throws IOException {
+        var wfm = createEmptyWorkflow();
+        var nc = WorkflowManagerUtil.createAndAddNode(wfm, new SourceNodeTestFactory());
+        var listener = new WorkflowChangesListener(wfm);
+        var changeLogs = new CopyOnWriteArrayList<WorkflowChangeLog>();
+        Consumer<WorkflowChangeLog> callback = changeLogs::add;
+        listener.addWorkflowChangeLogCallback(callback);
+        assertThat(listener.m_isListening, is(true));
+        // the first log also reports unspecified changes since changes might have been missed before listening
+        nc.setNodeMessage(new NodeMessage(Type.WARNING, "blub"));
+        Awaitility.await().atMost(Duration.FIVE_SECONDS)
+            .untilAsserted(() -> assertThat(changeLogs.isEmpty(), is(false)));
+        assertThat(changeLogs.get(0).hasUnspecifiedChanges(), is(true));
+        changeLogs.clear();
+
+        nc.setNodeMessage(new NodeMessage(Type.ERROR, "blub"));
+        Awaitility.await().atMost(Duration.FIVE_SECONDS).untilAsserted(() -> {
+            var changedNodes = changeLogs.stream().flatMap(l -> l.getChangedNodes(NodeChange.MESSAGE).stream())
+                .collect(Collectors.toSet());
+            assertThat(changedNodes, is(Set.of(nc.getID())));
+        });
+        assertThat(changeLogs.stream().anyMatch(WorkflowChangeLog::hasUnspecifiedChanges), is(false));
+        assertThat(changeLogs.stream().anyMatch(WorkflowChangeLog::hasProgressChangesOnly), is(false));
+        changeLogs.clear();
+
+        nc.getProgressMonitor().setProgress(0.5);
+        Awaitility.await().atMost(Duration.FIVE_SECONDS)
+            .untilAsserted(() -> assertThat(changeLogs.isEmpty(), is(false)));
+        assertThat(changeLogs.get(0).getChangedNodes(NodeChange.PROGRESS), is(Set.of(nc.getID())));
+        assertThat(changeLogs.get(0).hasProgressChangesOnly(), is(true));
+
+        listener.removeWorkflowChangeLogCallback(callback);
+        assertThat(listener.m_isListening, is(false));
+        disposeWorkflow(wfm);
+    }
+
     private static void modifyWorkflowAndVerifyCallback(final WorkflowManager wfm,
         final Runnable callbackMock, final Predicate<Modification> callbackExpected) {
         var annoId = wfm.addWorkflowAnnotation(new AnnotationData(), 0).getID();
@@ -49,6 +49,7 @@
 package org.knime.gateway.impl.util;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 
@@ -60,6 +61,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 
+import org.awaitility.Awaitility;
 import org.junit.Test;
 
 /**
@@ -280,6 +282,73 @@ public void testCallScheduledOnlyAfterExecutionCompleted() throws InterruptedExc
         }
     }
 
+    /**
+     * Ensures debounced executions run on the shared {@link EventDispatchScheduler} and are reflected in its metrics.
+     */
+    @Test
+    public void testExecutesOnSharedScheduler() throws Exception {
+        var latch = new CountDownLatch(1);
+        var threadName = new String[1];
+        var debouncer = new Debouncer(Duration.ofMillis(100), () -> {
+            threadName[0] = Thread.currentThread().getName();
+            latch.countDown();
+        });
+        var metricsBefore = EventDispatchScheduler.getInstance().getMetrics();
+
+        try {
+            debouncer.call();
+            assertThat("Execution should happen after delay", latch.await(2, TimeUnit.SECONDS), is(true));
+            assertThat(threadName[0].startsWith("KNIME-Event-Dispatch-"), is(true));
+            // the lag is recorded right before the task is run
+            assertThat(EventDispatchScheduler.getInstance().getMetrics().dispatchedTaskCount(),
+                greaterThan(metricsBefore.dispatchedTaskCount()));
+            // the task is counted as completed shortly after it returned
+            Awaitility.await().atMost(2, TimeUnit.SECONDS).until(() -> EventDispatchScheduler.getInstance()
+                .getMetrics().completedTaskCount() > metricsBefore.completedTaskCount());
+        } finally {
+            debouncer.shutdown();
+        }
+    }
+
+    /**
+     * Ensures that debounced tasks which block (e.g. a project being saved and uploaded) don't hold up the execution of
+     * other debounced tasks, no matter how many of them are blocked.
+     *
+     * @throws Exception - unexpected
+     */
+    @Test
+    public void testBlockingExecutionsDontHoldUpOthers() throws Exception {
+        var numBlocking = Runtime.getRuntime().availableProcessors() + 4;
+        var blockingStarted = new CountDownLatch(numBlocking);
+        var release = new CountDownLatch(1);
+        Runnable blockingTask = () -> {
+            blockingStarted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        var blockingDebouncers = IntStream.range(0, numBlocking) //
+            .mapToObj(i -> new Debouncer(Duration.ofMillis(10), blockingTask)) //
+            .toList();
+        var executed = new CountDownLatch(1);
+        var debouncer = new Debouncer(Duration.ofMillis(10), executed::countDown);
+
+        try {
+            blockingDebouncers.forEach(Debouncer::call);
+            assertThat("All blocking executions should have started", blockingStarted.await(5, TimeUnit.SECONDS),
+                is(true));
+            debouncer.call();
+            assertThat("Execution should not be held up by the blocked ones", executed.await(2, TimeUnit.SECONDS),
+                is(true));
+        } finally {
+            release.countDown();
+            blockingDebouncers.forEach(Debouncer::shutdown);
+            debouncer.shutdown();
+        }
+    }
+
     private static void sleep(final long seconds) {
         try {
             Thread.sleep(seconds * 1000L);
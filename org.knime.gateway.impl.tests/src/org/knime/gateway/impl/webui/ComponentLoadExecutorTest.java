@@ -0,0 +1,127 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ComponentLoadExecutor}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class ComponentLoadExecutorTest {
+
+    /**
+     * Tests that the pending loads of different projects are run in a round-robin fashion.
+     *
+     * @throws Exception -
+     */
+    @Test
+    public void testProjectsAreServedRoundRobin() throws Exception {
+        var executor = new ComponentLoadExecutor(1, 10, 10);
+        var release = new CountDownLatch(1);
+        executor.execute("A", () -> awaitLatch(release));
+
+        List<String> executed = new CopyOnWriteArrayList<>();
+        for (var load : List.of("A1", "A2", "A3")) {
+            executor.execute("A", () -> executed.add(load));
+        }
+        executor.forProject("B").execute(() -> executed.add("B1"));
+        assertThat(executor.getNumPendingLoads(), is(4));
+
+        release.countDown();
+        await().untilAsserted(() -> assertThat(executed, contains("A1", "B1", "A2", "A3")));
+        assertThat(executor.getNumPendingLoads(), is(0));
+    }
+
+    /**
+     * Tests that loads are rejected once the maximum number of pending loads (per project) is reached.
+     *
+     * @throws Exception -
+     */
+    @Test
+    public void testLoadsAreRejectedIfTooManyArePending() throws Exception {
+        var executor = new ComponentLoadExecutor(1, 2, 3);
+        var release = new CountDownLatch(1);
+        executor.execute("A", () -> awaitLatch(release));
+        await().untilAsserted(() -> assertThat(executor.getNumPendingLoads(), is(0)));
+
+        Runnable noop = () -> {
+        };
+        executor.execute("A", noop);
+        executor.execute("A", noop);
+        assertThrows(RejectedExecutionException.class, () -> executor.execute("A", noop));
+        executor.execute("B", noop);
+        assertThrows(RejectedExecutionException.class, () -> executor.execute("C", noop));
+        assertThat(executor.getNumPendingLoads(), is(3));
+
+        release.countDown();
+        await().untilAsserted(() -> assertThat(executor.getNumPendingLoads(), is(0)));
+        executor.execute("C", noop);
+    }
+
+    private static void awaitLatch(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while waiting", e);
+        }
+    }
+
+}
@@ -57,6 +57,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.hamcrest.Matchers;
 import org.junit.Assert;
@@ -201,6 +202,17 @@ public void testSelectNodesAndNodeSearchNullParameters() throws Exception {
         }
     }
 
+    @Test
+    public void testPreload() throws Exception {
+        var preloadedRepo = new NodeRepository();
+        preloadedRepo.preload().get(2, TimeUnit.MINUTES);
+        var loadedRepo = new NodeRepository();
+        assertThat(preloadedRepo.getNodes().size(), is(loadedRepo.getNodes().size()));
+        assertThat(preloadedRepo.getHiddenNodes().size(), is(loadedRepo.getHiddenNodes().size()));
+        assertThat(preloadedRepo.getDeprecatedNodes().size(), is(loadedRepo.getDeprecatedNodes().size()));
+        assertThat("node weights expected", preloadedRepo.getNodes().stream().anyMatch(n -> n.weight() > 0), is(true));
+    }
+
     @Test
     public void testFilteredNodeRepository() {
         assertThat("repo without filter should have no additional nodes", repo.getFilteredNodes(), empty());
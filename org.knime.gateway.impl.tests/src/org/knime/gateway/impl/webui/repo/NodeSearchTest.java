@@ -254,16 +254,98 @@ public void testSearchReactsToRepoFilterChange() {
             }
         };
         var resultWithSomeFilter = search.get();
+        var contentVersion = repo.getContentVersion();
         repo.resetFilter(id -> true);
+        assertThat("content version expected to change", repo.getContentVersion() != contentVersion);
         var resultWithOtherFilter = search.get();
         assertThat("Result sets should differ", !Objects.equals(resultWithSomeFilter.getTotalNumNodesFound(),
             resultWithOtherFilter.getTotalNumNodesFound()));
     }
 
+    @Test
+    public void testSearchIndexCandidates() {
+        var nodes = repo.getNodes();
+        var index = new NodeSearchIndex(nodes);
+        var substringMatches = nodes.stream().filter(n -> n.name().toUpperCase().contains("FIL")).toList();
+        assertThat(substringMatches, is(not(empty())));
+
+        // candidates are narrowed down, but contain all the nodes whose name contains the search term
+        var candidates = index.getCandidates("FIL", 0.15);
+        assertThat(candidates.size() < nodes.size(), is(true));
+        assertThat(candidates.containsAll(substringMatches), is(true));
+
+        // refining the search term (incrementally) gives the same candidates as a fresh index - also if searches for
+        // other search terms (e.g. by other users) happen in between
+        assertThat(index.getCandidates("JOIN", 0.15), is(new NodeSearchIndex(nodes).getCandidates("JOIN", 0.15)));
+        var refined = index.getCandidates("FILTER", 0.15);
+        assertThat(refined, is(new NodeSearchIndex(nodes).getCandidates("FILTER", 0.15)));
+        assertThat(index.getCandidates("FILTERS", 0.15),
+            is(new NodeSearchIndex(nodes).getCandidates("FILTERS", 0.15)));
+        assertThat(index.getCandidates("FIL", 0.15), is(candidates));
+
+        // search terms too short for n-grams don't narrow down the candidates
+        assertThat(index.getCandidates("F", 0.15).size(), is(nodes.size()));
+    }
+
+    /**
+     * The search index must only speed up the search, i.e. the search results are expected to be exactly the same with
+     * and without index - including fuzzy matches of misspelled search terms.
+     */
+    @Test
+    public void testSameSearchResultsWithAndWithoutIndex() throws Exception {
+        var searchWithIndex = new NodeSearch(repo, true);
+        var searchWithoutIndex = new NodeSearch(repo, false);
+        var queries = List.of("Column Filter", "Colum Filtr", "fitler", "Row Fliter", "joiner", "jioner",
+            "CSV Reader", "CVS Raeder", "tabel", "grup by", "Rule Engine", "ruel engin", "concatnate", "xyz", "er");
+        for (var query : queries) {
+            for (var portTypeId : Arrays.asList(null, TABLE_PORT_TYPE_ID)) {
+                var nodeRelation = portTypeId == null ? null : NodeRelation.SUCCESSORS;
+                var expected = searchWithoutIndex.searchNodes(query, null, null, null, null, false, portTypeId,
+                    nodeRelation);
+                var actual = searchWithIndex.searchNodes(query, null, null, null, null, false, portTypeId,
+                    nodeRelation);
+                assertThat("unexpected search result for '" + query + "'", getNodeIds(actual.getNodes()),
+                    is(getNodeIds(expected.getNodes())));
+            }
+        }
+
+        // misspelled words still share the n-grams at the word boundaries
+        var filterNodes = repo.getNodes().stream().filter(n -> n.name().endsWith("Filter")).toList();
+        assertThat(filterNodes, is(not(empty())));
+        assertThat(new NodeSearchIndex(repo.getNodes()).getCandidates("Fitler", 0.15).containsAll(filterNodes),
+            is(true));
+    }
+
+    @Test
+    public void testPortCompatibilityIndex() {
+        var nodes = repo.getNodes();
+        var index = new PortCompatibilityIndex(nodes);
+        for (var portType : List.of(BufferedDataTable.TYPE, ImagePortObject.TYPE, FlowVariablePortObject.TYPE)) {
+            var inputFilter = index.getCompatibilityFilter(portType, true);
+            var outputFilter = index.getCompatibilityFilter(portType, false);
+            for (var n : nodes) {
+                assertThat(inputFilter.test(n), is(n.isInputCompatibleWith(portType)));
+                assertThat(outputFilter.test(n), is(n.isOutputCompatibleWith(portType)));
+            }
+        }
+
+        // nodes not part of the index are checked directly
+        var filteredNodes = repoWithFilter.getFilteredNodes();
+        assertThat(filteredNodes, is(not(empty())));
+        var tableFilter = index.getCompatibilityFilter(BufferedDataTable.TYPE, true);
+        for (var n : filteredNodes) {
+            assertThat(tableFilter.test(n), is(n.isInputCompatibleWith(BufferedDataTable.TYPE)));
+        }
+    }
+
     private static boolean everyNodeHasInputPortOfType(final List<NodeTemplateEnt> nodes, final String portTypeId) {
         return nodes.stream().anyMatch(n -> n.getInPorts().stream().anyMatch(p -> p.getTypeId().equals(portTypeId)));
     }
 
+    private static List<String> getNodeIds(final List<NodeTemplateEnt> nodes) {
+        return nodes.stream().map(NodeTemplateEnt::getId).toList();
+    }
+
     private static List<String> getNodeFactoryNames(final List<NodeTemplateEnt> nodes) {
         return nodes.stream() //
             .map(n -> n.getNodeFactory().getClassName()) //
@@ -0,0 +1,139 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Optional;
+
+import org.junit.Test;
+import org.knime.gateway.impl.webui.service.commands.ClipboardStore.ClipboardContentTooLargeException;
+
+/**
+ * Tests {@link ClipboardStore}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("javadoc")
+public class ClipboardStoreTest {
+
+    @Test
+    public void testKeepLargeContentsBehindHandle() throws Exception {
+        var store = new ClipboardStore(100, 10_000, Long.MAX_VALUE);
+
+        var smallContent = "a".repeat(99);
+        assertThat(store.putIfLarge(smallContent), is(smallContent));
+        assertThat(store.get(smallContent), is(Optional.of(smallContent)));
+
+        var largeContent = "{\"node\": \"content\"}".repeat(100);
+        var handle = store.putIfLarge(largeContent);
+        assertThat(handle, is(not(largeContent)));
+        assertThat(handle, startsWith("knime-clipboard-handle:"));
+        assertThat(store.get(handle), is(Optional.of(largeContent)));
+
+        var metrics = store.getMetrics();
+        assertThat(metrics.numContents(), is(1));
+        assertThat(metrics.numStored(), is(1L));
+        assertThat(metrics.storeSizeInBytes() < largeContent.length(), is(true));
+
+        assertThat(store.get("knime-clipboard-handle:unknown"), is(Optional.empty()));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsedContents() throws Exception {
+        var content = "x".repeat(1000);
+        var compressedSize = storeSizeOfOne(content);
+        var store = new ClipboardStore(0, 10_000, 2 * compressedSize);
+        var handle1 = store.putIfLarge(content);
+        var handle2 = store.putIfLarge(content);
+        // access the first one such that the second one is the least recently used
+        assertThat(store.get(handle1).isPresent(), is(true));
+        var handle3 = store.putIfLarge(content);
+
+        assertThat(store.get(handle1).isPresent(), is(true));
+        assertThat(store.get(handle2).isPresent(), is(false));
+        assertThat(store.get(handle3).isPresent(), is(true));
+        assertThat(store.getMetrics().numEvicted(), is(1L));
+        assertThat(store.getMetrics().storeSizeInBytes(), is(2 * compressedSize));
+    }
+
+    @Test
+    public void testPinnedContentSurvivesEviction() throws Exception {
+        var content = "x".repeat(1000);
+        var store = new ClipboardStore(0, 10_000, storeSizeOfOne(content));
+        var handle = store.putIfLarge(content);
+        var pinned = store.pin(handle).orElseThrow();
+        assertThat(pinned.getRetainedSize() > 0, is(true));
+
+        // evicts the first content
+        store.putIfLarge(content);
+        assertThat(store.get(handle).isPresent(), is(false));
+        assertThat(pinned.get(), is(content));
+
+        var smallContent = "a".repeat(10);
+        assertThat(store.pin(smallContent).orElseThrow().get(), is(smallContent));
+        assertThat(store.pin(smallContent).orElseThrow().getRetainedSize(), is(0L));
+    }
+
+    @Test
+    public void testRejectTooLargeContents() {
+        var store = new ClipboardStore(Integer.MAX_VALUE, 10, Long.MAX_VALUE);
+        assertThrows(ClipboardContentTooLargeException.class, () -> store.putIfLarge("a".repeat(11)));
+        assertThrows(ClipboardContentTooLargeException.class, () -> store.get("a".repeat(11)));
+        assertThat(store.getMetrics().numRejected(), is(2L));
+    }
+
+    private static long storeSizeOfOne(final String content) throws ClipboardContentTooLargeException {
+        var store = new ClipboardStore(0, 10_000, Long.MAX_VALUE);
+        store.putIfLarge(content);
+        return store.getMetrics().storeSizeInBytes();
+    }
+
+}
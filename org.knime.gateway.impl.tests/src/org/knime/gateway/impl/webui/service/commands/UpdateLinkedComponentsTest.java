@@ -0,0 +1,156 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.workflow.NodeContainerTemplate;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.SubNodeContainer;
+import org.knime.core.node.workflow.WorkflowCopyContent;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.util.pathresolve.URIToFileResolve;
+import org.knime.gateway.api.webui.entity.UpdateLinkedComponentsResultEnt.StatusEnum;
+import org.knime.gateway.impl.webui.service.GatewayServiceTest;
+import org.knime.gateway.testing.helper.TestWorkflowCollection;
+import org.knime.testing.util.URIToFileResolveTestUtil;
+
+/**
+ * Tests {@link UpdateLinkedComponents}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("javadoc")
+public class UpdateLinkedComponentsTest extends GatewayServiceTest {
+
+    private URIToFileResolve m_resolver;
+
+    private URIToFileResolve m_oldResolver;
+
+    @Before
+    public void mockResolver() {
+        m_resolver = mock(URIToFileResolve.class);
+        m_oldResolver = URIToFileResolveTestUtil.replaceURIToFileResolveService(m_resolver);
+    }
+
+    @After
+    public void resetResolver() {
+        URIToFileResolveTestUtil.replaceURIToFileResolveService(m_oldResolver);
+    }
+
+    /**
+     * Tests that multiple instances of the same shared component are all updated from a single load of the template
+     * and that the loaded template is disposed afterwards.
+     */
+    @Test
+    public void testUpdateInstancesOfSameComponentFromSingleLoad() throws Exception {
+        var wfm = loadWorkflow(TestWorkflowCollection.UPDATE_LINKED_COMPONENTS).getSecond();
+        when(m_resolver.resolveToLocalOrTempFileConditional(any(), any(), any()))
+            .thenReturn(Optional.of(TestWorkflowCollection.LINKED_COMPONENT.getWorkflowDir()));
+
+        // two more instances of the (updatable) component #7, linking to the very same template
+        var componentId = wfm.getID().createChild(7);
+        var componentIds = new ArrayList<>(List.of(componentId));
+        for (var i = 0; i < 2; i++) {
+            var copy = wfm.copy(WorkflowCopyContent.builder().setNodeIDs(componentId).build());
+            componentIds.add(wfm.paste(copy).getNodeIDs()[0]);
+        }
+
+        final Map<URI, NodeContainerTemplate> loadedTemplates = new HashMap<>();
+        NodeContainerTemplate template = null;
+        var updatedIds = new ArrayList<NodeID>();
+        for (var id : componentIds) {
+            var log = UpdateLinkedComponents.updateLinkedComponent((SubNodeContainer)wfm.getNodeContainer(id),
+                loadedTemplates);
+            assertThat(log.status(), is(StatusEnum.SUCCESS));
+            updatedIds.add(log.nct().getID());
+            assertThat(loadedTemplates.size(), is(1));
+            if (template == null) {
+                template = loadedTemplates.values().iterator().next();
+            }
+            assertThat(loadedTemplates.values().iterator().next(), is(sameInstance(template)));
+        }
+        verify(m_resolver, times(1)).resolveToLocalOrTempFileConditional(any(), any(), any());
+
+        var templateParent = template.getParent();
+        var templateId = template.getID();
+        assertThat(templateParent.containsNodeContainer(templateId), is(true));
+        UpdateLinkedComponents.disposeLoadedTemplates(loadedTemplates);
+        assertThat(templateParent.containsNodeContainer(templateId), is(false));
+
+        assertNoUpdatesAvailable(wfm, updatedIds);
+    }
+
+    private static void assertNoUpdatesAvailable(final WorkflowManager wfm, final List<NodeID> componentIds)
+        throws Exception {
+        final Map<URI, NodeContainerTemplate> loadedTemplates = new HashMap<>();
+        try {
+            for (var id : componentIds) {
+                assertThat(UpdateLinkedComponents.needsUpdate(id, wfm, loadedTemplates), is(false));
+            }
+        } finally {
+            UpdateLinkedComponents.disposeLoadedTemplates(loadedTemplates);
+        }
+    }
+
+}
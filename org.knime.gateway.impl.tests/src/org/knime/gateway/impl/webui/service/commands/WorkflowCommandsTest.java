@@ -63,6 +63,8 @@
 import java.util.List;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -122,6 +124,7 @@
 import org.knime.gateway.impl.webui.spaces.SpaceProviderFactory;
 import org.knime.gateway.impl.webui.spaces.SpaceProvidersManager;
 import org.knime.gateway.testing.helper.TestWorkflowCollection;
+import org.knime.testing.node.SourceNodeTestFactory;
 import org.knime.testing.util.WorkflowManagerUtil;
 
 import junit.framework.AssertionFailedError;
@@ -324,6 +327,184 @@ public void testUndoFlagUpdateOnWorkflowChange() throws Exception {
             .stream().map(op -> op.getPath()).toList(), Matchers.hasItem("/allowedActions/canUndo"));
     }
 
+    /**
+     * Makes sure that a long-running command of one project doesn't block the commands (and undo-/redo-operations) of
+     * other projects but only those of the same project.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCommandsOfDifferentProjectsDontBlockEachOther() throws Exception {
+        var commands = new WorkflowCommands(5);
+        var wfKey1 = new WorkflowKey("project1", getRootID());
+        var wfKey2 = new WorkflowKey("project2", getRootID());
+        var commandStarted = new CountDownLatch(1);
+        var releaseCommand = new CountDownLatch(1);
+
+        commands.setCommandToExecute(new NoOpWorkflowCommand() {
+            @Override
+            public boolean execute(final WorkflowKey wfKey) {
+                commandStarted.countDown();
+                try {
+                    releaseCommand.await();
+                } catch (InterruptedException ex) { // NOSONAR
+                    //
+                }
+                return true;
+            }
+        });
+        var longRunningCommand = CompletableFuture.runAsync(() -> {
+            try {
+                commands.execute(wfKey1, null, null, null, null, null);
+            } catch (ServiceCallException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertThat(commandStarted.await(5, TimeUnit.SECONDS), is(true));
+
+        try {
+            // another project isn't blocked
+            commands.setCommandToExecute(new NoOpWorkflowCommand());
+            CompletableFuture.runAsync(() -> {
+                try {
+                    commands.execute(wfKey2, null, null, null, null, null);
+                    commands.undo(wfKey2);
+                } catch (ServiceCallException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }).get(5, TimeUnit.SECONDS);
+            assertThat(commands.canRedo(wfKey2), is(true));
+            assertThat(commands.getLockMetrics().contendedLockCount(), is(0L));
+
+            // the same project is blocked
+            var canUndo = CompletableFuture.supplyAsync(() -> commands.canUndo(wfKey1));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> commands.getLockMetrics().contendedLockCount() == 1);
+            assertThat(canUndo.isDone(), is(false));
+
+            releaseCommand.countDown();
+            assertThat(canUndo.get(5, TimeUnit.SECONDS), is(true));
+            longRunningCommand.get(5, TimeUnit.SECONDS);
+            assertThat(commands.getLockMetrics().lockCount(), is(5L));
+        } finally {
+            releaseCommand.countDown();
+        }
+    }
+
+    /**
+     * Tests that the oldest commands are removed from the undo- and redo-stacks of all workflows once the estimated
+     * memory retained by them exceeds the budget.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUndoMemoryBudget() throws Exception {
+        var commands = new WorkflowCommands(5, 100);
+        var wfKey1 = new WorkflowKey("project1", getRootID());
+        var wfKey2 = new WorkflowKey("project2", getRootID());
+
+        commands.setCommandToExecute(new NoOpWorkflowCommand(60));
+        commands.execute(wfKey1, null);
+        commands.setCommandToExecute(new NoOpWorkflowCommand(0));
+        commands.execute(wfKey1, null);
+        assertThat(commands.getUndoSize(), is(60L));
+        assertThat(commands.getUndoStackSize(wfKey1), is(2));
+
+        // exceeds the budget -> the oldest command retaining memory is removed
+        commands.setCommandToExecute(new NoOpWorkflowCommand(60));
+        commands.execute(wfKey2, null);
+        assertThat(commands.getUndoSize(), is(60L));
+        assertThat(commands.getUndoStackSize(wfKey1), is(1));
+        assertThat(commands.getUndoStackSize(wfKey2), is(1));
+
+        // moving commands between the undo- and redo-stack doesn't change the retained memory
+        commands.undo(wfKey2);
+        assertThat(commands.getUndoSize(), is(60L));
+        assertThat(commands.getRedoStackSize(wfKey2), is(1));
+
+        commands.disposeUndoAndRedoStacks(wfKey2.getProjectId());
+        assertThat(commands.getUndoSize(), is(0L));
+        assertThat(commands.getUndoStackSize(wfKey1), is(1));
+    }
+
+    /**
+     * Tests that the command that has just been executed is kept on the undo-stack even if it exceeds the memory budget
+     * on its own - e.g. the deletion of an executed node with a large output table.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testJustExecutedCommandIsKeptIfExceedingUndoMemoryBudget() throws Exception {
+        var wp = createEmptyWorkflowProject();
+        var wfm = wp.getFromCacheOrLoadWorkflowManager().orElseThrow();
+        var n1 = WorkflowManagerUtil.createAndAddNode(wfm, new SourceNodeTestFactory()).getID();
+        var n2 = WorkflowManagerUtil.createAndAddNode(wfm, new SourceNodeTestFactory()).getID();
+        wfm.executeAllAndWaitUntilDone();
+
+        var commands = new WorkflowCommands(5, 1);
+        var workflowMiddleware = new WorkflowMiddleware(ProjectManager.getInstance(), null);
+        var wfKey = new WorkflowKey(wp.getID(), NodeIDEnt.getRootID());
+
+        commands.execute(wfKey, buildDeleteCommandEnt(n1), workflowMiddleware, null, null, null);
+        assertThat(commands.getUndoSize(), is(Matchers.greaterThan(1L)));
+        assertThat(commands.getUndoStackSize(wfKey), is(1));
+
+        // the previous command is removed in favour of the one just executed
+        commands.execute(wfKey, buildDeleteCommandEnt(n2), workflowMiddleware, null, null, null);
+        assertThat(commands.getUndoStackSize(wfKey), is(1));
+
+        commands.undo(wfKey);
+        assertThat(wfm.containsNodeContainer(n2), is(true));
+        assertThat(wfm.getNodeContainer(n2).getNodeContainerState().isExecuted(), is(true));
+        assertThat(wfm.containsNodeContainer(n1), is(false));
+        assertThat(commands.canUndo(wfKey), is(false));
+
+        disposeWorkflowProject(wp);
+    }
+
+    private static class NoOpWorkflowCommand implements WorkflowCommand {
+
+        private final long m_undoSizeEstimate;
+
+        NoOpWorkflowCommand() {
+            this(0);
+        }
+
+        NoOpWorkflowCommand(final long undoSizeEstimate) {
+            m_undoSizeEstimate = undoSizeEstimate;
+        }
+
+        @Override
+        public boolean execute(final WorkflowKey wfKey) {
+            return true;
+        }
+
+        @Override
+        public long getUndoSizeEstimate() {
+            return m_undoSizeEstimate;
+        }
+
+        @Override
+        public boolean canUndo() {
+            return true;
+        }
+
+        @Override
+        public void undo() {
+            //
+        }
+
+        @Override
+        public boolean canRedo() {
+            return true;
+        }
+
+        @Override
+        public void redo() {
+            //
+        }
+
+    }
+
     static void disposeWorkflowProject(final Project wp) {
         ProjectManager.getInstance().removeProject(wp.getID());
     }
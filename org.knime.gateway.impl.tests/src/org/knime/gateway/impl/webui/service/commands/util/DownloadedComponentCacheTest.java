@@ -0,0 +1,111 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.commands.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.knime.gateway.api.util.VersionId;
+import org.knime.gateway.impl.webui.spaces.SpaceProvider;
+import org.knime.gateway.impl.webui.spaces.SpaceProvider.SpaceProviderConnection;
+
+/**
+ * Tests {@link DownloadedComponentCache}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class DownloadedComponentCacheTest {
+
+    /**
+     * Tests that cached components are only handed out to the very user (of the very space provider) that downloaded
+     * them, and that components downloaded without a known user aren't cached at all.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testComponentsAreCachedPerUser() throws Exception {
+        var cache = new DownloadedComponentCache(60_000, 10);
+        var sourceUri = URI.create("knime://hub/component");
+        var version = VersionId.currentState();
+        var localPath = Files.createTempFile("component", ".knwf");
+
+        var userA = createSpaceProvider("hub", "userA");
+        cache.put(userA, sourceUri, version, localPath);
+        assertThat(cache.get(userA, sourceUri, version), is(Optional.of(localPath)));
+        assertThat(cache.get(createSpaceProvider("hub", "userA"), sourceUri, version), is(Optional.of(localPath)));
+        assertThat(cache.get(createSpaceProvider("hub", "userB"), sourceUri, version), is(Optional.empty()));
+        assertThat(cache.get(createSpaceProvider("otherHub", "userA"), sourceUri, version), is(Optional.empty()));
+        assertThat(cache.get(createSpaceProvider("hub", null), sourceUri, version), is(Optional.empty()));
+
+        var notConnected = createSpaceProvider("hub", null);
+        cache.put(notConnected, sourceUri, version, localPath);
+        assertThat(cache.get(notConnected, sourceUri, version), is(Optional.empty()));
+
+        Files.delete(localPath);
+    }
+
+    private static SpaceProvider createSpaceProvider(final String providerId, final String user) {
+        var spaceProvider = mock(SpaceProvider.class);
+        when(spaceProvider.getId()).thenReturn(providerId);
+        if (user == null) {
+            when(spaceProvider.getConnection(false)).thenReturn(Optional.empty());
+        } else {
+            var connection = mock(SpaceProviderConnection.class);
+            when(connection.getUsername()).thenReturn(user);
+            when(spaceProvider.getConnection(false)).thenReturn(Optional.of(connection));
+        }
+        return spaceProvider;
+    }
+
+}
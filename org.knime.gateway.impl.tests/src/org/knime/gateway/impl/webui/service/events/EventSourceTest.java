@@ -0,0 +1,245 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.events;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests the asynchronous event delivery of {@link EventSource}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+public class EventSourceTest {
+
+    /**
+     * Tests that events are coalesced if the event consumer falls behind and that the delivery metrics are updated.
+     *
+     * @throws Exception -
+     */
+    @Test
+    public void testCoalesceEventsOfSlowConsumer() throws Exception {
+        var consumer = new BlockingEventConsumer();
+        var eventSource = new TestEventSource(consumer);
+        eventSource.setDeliveryQueueCapacity(2);
+
+        eventSource.send("1", "key");
+        assertThat(consumer.m_started.await(5, TimeUnit.SECONDS), is(true));
+        eventSource.send("2", "key");
+        eventSource.send("3", "key");
+        eventSource.send("4", "key");
+        eventSource.send("5", "other key");
+        assertThat(eventSource.getDeliveryMetrics().orElseThrow().queueDepth(), is(3));
+
+        consumer.m_release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> consumer.m_events.size() == 4);
+        assertThat(consumer.m_events, is(List.of("1", "2", "3,4", "5")));
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> eventSource.getDeliveryMetrics().orElseThrow().deliveredCount() == 4);
+        var metrics = eventSource.getDeliveryMetrics().orElseThrow();
+        assertThat(metrics.queueDepth(), is(0));
+        assertThat(metrics.coalescedCount(), is(1L));
+        assertThat(metrics.blockedCount(), is(0L));
+    }
+
+    /**
+     * Tests that the thread emitting events is blocked if the event consumer falls behind and the events can't be
+     * coalesced.
+     *
+     * @throws Exception -
+     */
+    @Test
+    public void testBackpressure() throws Exception {
+        var consumer = new BlockingEventConsumer();
+        var eventSource = new TestEventSource(consumer);
+        eventSource.setDeliveryQueueCapacity(1);
+
+        eventSource.send("a", null);
+        assertThat(consumer.m_started.await(5, TimeUnit.SECONDS), is(true));
+        eventSource.send("b", null);
+        var emitter = new Thread(() -> eventSource.send("c", null));
+        emitter.start();
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> eventSource.getDeliveryMetrics().orElseThrow().blockedCount() == 1);
+        assertThat(emitter.isAlive(), is(true));
+
+        consumer.m_release.countDown();
+        emitter.join(5000);
+        assertThat(emitter.isAlive(), is(false));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> consumer.m_events.size() == 3);
+        assertThat(consumer.m_events, is(List.of("a", "b", "c")));
+    }
+
+    /**
+     * Tests that a thread waiting for the event consumer doesn't block other operations of the event source (e.g. the
+     * registration of event listeners).
+     *
+     * @throws Exception -
+     */
+    @Test
+    public void testBackpressureDoesntBlockEventListenerRegistration() throws Exception {
+        var consumer = new BlockingEventConsumer();
+        var eventSource = new TestEventSource(consumer);
+        eventSource.setDeliveryQueueCapacity(1);
+
+        eventSource.send("a", null);
+        assertThat(consumer.m_started.await(5, TimeUnit.SECONDS), is(true));
+        eventSource.send("b", null);
+        var emitter = new Thread(() -> eventSource.send("c", null));
+        emitter.start();
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> eventSource.getDeliveryMetrics().orElseThrow().blockedCount() == 1);
+
+        var registration = new Thread(() -> eventSource.addEventListenerFor("type", null));
+        registration.start();
+        registration.join(5000);
+        assertThat(registration.isAlive(), is(false));
+        assertThat(emitter.isAlive(), is(true));
+
+        consumer.m_release.countDown();
+        emitter.join(5000);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> consumer.m_events.size() == 3);
+        assertThat(consumer.m_events, is(List.of("a", "b", "c")));
+    }
+
+    /**
+     * Tests that the initial event of a newly registered event listener is enqueued without waiting for the event
+     * consumer (i.e. without backpressure), even if the consumer fell behind.
+     *
+     * @throws Exception -
+     */
+    @Test
+    public void testInitialEventIsSentWithoutBackpressure() throws Exception {
+        var consumer = new BlockingEventConsumer();
+        var eventSource = new TestEventSource(consumer);
+        eventSource.setDeliveryQueueCapacity(1);
+
+        eventSource.send("a", null);
+        assertThat(consumer.m_started.await(5, TimeUnit.SECONDS), is(true));
+        eventSource.send("b", null);
+        eventSource.m_initialEvent = "initial";
+        var registration = new Thread(() -> eventSource.addEventListenerFor("type", null));
+        registration.start();
+        registration.join(5000);
+        assertThat(registration.isAlive(), is(false));
+        assertThat(eventSource.getDeliveryMetrics().orElseThrow().blockedCount(), is(0L));
+
+        consumer.m_release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> consumer.m_events.size() == 3);
+        assertThat(consumer.m_events, is(List.of("a", "b", "initial")));
+    }
+
+    private static final class BlockingEventConsumer implements EventConsumer {
+
+        private final List<String> m_events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch m_started = new CountDownLatch(1);
+
+        private final CountDownLatch m_release = new CountDownLatch(1);
+
+        @Override
+        public void accept(final String name, final Object event) {
+            m_started.countDown();
+            try {
+                m_release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) { // NOSONAR
+                //
+            }
+            m_events.add((String)event);
+        }
+
+    }
+
+    private static final class TestEventSource extends EventSource<String, String> {
+
+        private volatile String m_initialEvent;
+
+        TestEventSource(final EventConsumer eventConsumer) {
+            super(eventConsumer);
+        }
+
+        void send(final String event, final Object coalescingKey) {
+            sendEvent(event, null, coalescingKey);
+        }
+
+        @Override
+        public Optional<String> addEventListenerAndGetInitialEventFor(final String eventTypeEnt,
+            final String projectId) {
+            return Optional.ofNullable(m_initialEvent);
+        }
+
+        @Override
+        public void removeEventListener(final String eventTypeEnt, final String projectId) {
+            //
+        }
+
+        @Override
+        public void removeAllEventListeners() {
+            //
+        }
+
+        @Override
+        protected String getName() {
+            return "TestEvent";
+        }
+
+        @Override
+        protected String coalesce(final String pending, final String next) {
+            return pending + "," + next;
+        }
+
+    }
+
+}
@@ -49,25 +49,45 @@
 package org.knime.gateway.impl.service.util;
 
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.knime.core.node.util.CheckUtils;
+import org.knime.gateway.impl.util.EventDispatchScheduler;
 
 /**
  * Helps to throttle calls, e.g., to an event consumer in order to not overwhelm it. It makes sure there is a minimum
  * duration between consecutive calls but also guarantees that the 'latest' invocation is carried out.
  *
+ * The duration between consecutive calls adapts (within the bounds given by the {@link Settings}) to
+ * <ul>
+ * <li>the measured cost of the call itself (the more expensive the call, the longer the interval) and</li>
+ * <li>the rate of invocations (e.g. while a workflow is executing heavily and progress events flood in, the interval is
+ * raised; it drops back as soon as the invocations calm down or stop).</li>
+ * </ul>
+ *
+ * All call throttles share the same scheduler (see {@link EventDispatchScheduler}), i.e. there is no dedicated thread
+ * per call throttle. Calls of the same call throttle are still never executed concurrently.
+ *
  * @author Martin Horn, KNIME GmbH, Konstanz, Germany
  */
 public final class CallThrottle {
 
+    private static final String SYS_PROP_PREFIX = "org.knime.gateway.impl.service.util.CallThrottle.";
+
     /**
      * The minimum time interval between two consecutive calls in order to throttle the number of calls to not overwhelm
      * the consumer (i.e. the given {@code Runnable}). If a call takes longer than this amount, it won't be throttled
-     * any further.
+     * any further (unless the interval is raised adaptively).
      */
-    private static final int MINIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS = 100;
+    private static final int MINIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS =
+        Integer.getInteger(SYS_PROP_PREFIX + "minInterval", 100);
+
+    /**
+     * The upper bound for the adaptively raised time interval between two consecutive calls.
+     */
+    private static final int MAXIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS =
+        Integer.getInteger(SYS_PROP_PREFIX + "maxInterval", 1000);
 
     /**
      * The time to (optionally) delay an initial call arriving into IDLE state, i.e. when no other call is in progress.
@@ -76,19 +96,46 @@ public final class CallThrottle {
      */
     private static final int CALL_DELAY_WHEN_IDLE_IN_MS = 20;
 
-    private CallState m_callState = CallState.IDLE;
+    /**
+     * The interval is at least this factor times the (average) duration of a call, i.e. a call throttle keeps a
+     * thread busy for at most ~1/COST_FACTOR of the time.
+     */
+    private static final int COST_FACTOR = 2;
 
-    private final ExecutorService m_executorService;
+    /**
+     * If more invocations than this number arrive while a call is in progress (or during the subsequent waiting time),
+     * the interval is raised.
+     */
+    private static final int INVOCATIONS_THRESHOLD_TO_RAISE_INTERVAL = 5;
+
+    /* weight of the latest call duration in the moving average */
+    private static final double CALL_DURATION_SMOOTHING = 0.3;
+
+    private CallState m_callState = CallState.IDLE;
 
     private Runnable m_call;
 
+    private final String m_threadName;
+
     private final boolean m_delayWhenIdle;
 
+    private volatile Settings m_settings = Settings.DEFAULT;
+
+    private Future<?> m_scheduledCall;
+
+    /* number of invocations since the last call started */
+    private int m_numInvocations;
+
+    /* the current interval as determined by the invocation rate (the call cost is considered separately) */
+    private long m_intervalInMs = m_settings.minIntervalInMs();
+
+    private double m_avgCallDurationInMs;
+
     /**
      * -
      *
      * @param call the logic to be run on {@link #invoke()}
-     * @param threadName the name of the thread being used
+     * @param threadName the name given to the (shared) thread while the call is being executed
      */
     public CallThrottle(final Runnable call, final String threadName) {
         this(call, threadName, false);
@@ -98,25 +145,19 @@ public CallThrottle(final Runnable call, final String threadName) {
      * -
      *
      * @param call the logic to be run on {@link #invoke()}
-     * @param threadName the name of the thread being used
+     * @param threadName the name given to the (shared) thread while the call is being executed
      * @param delayWhenIdle whether to briefly delay a call while no other call is in progress - optimization to avoid
      *            too many calls in case of calls in very rapid succession. Can be disabled using a system property.
      */
     public CallThrottle(final Runnable call, final String threadName, final boolean delayWhenIdle) {
         CheckUtils.checkNotNull(call);
         m_call = call;
-        m_executorService = Executors.newSingleThreadExecutor(r -> {
-            var t = new Thread(r, threadName);
-            t.setDaemon(true);
-            return t;
-        });
-
+        m_threadName = threadName;
         m_delayWhenIdle = readSystemProperty(delayWhenIdle);
     }
 
     private static boolean readSystemProperty(final boolean delayWhenIdle) {
-        var sysprop =
-            Optional.ofNullable(System.getProperty("org.knime.gateway.impl.service.util.CallThrottle.delayWhenIdle"));
+        var sysprop = Optional.ofNullable(System.getProperty(SYS_PROP_PREFIX + "delayWhenIdle"));
         var notGivenOrTrue = sysprop.filter(Boolean::parseBoolean).isEmpty();
         if (notGivenOrTrue) {
             return delayWhenIdle;
@@ -124,6 +165,27 @@ private static boolean readSystemProperty(final boolean delayWhenIdle) {
         return false;
     }
 
+    /**
+     * Changes the bounds within which the interval between consecutive calls is adapted, e.g., to configure the
+     * throttling per workflow.
+     *
+     * @param settings the new settings
+     * @since 5.12
+     */
+    public synchronized void setSettings(final Settings settings) {
+        CheckUtils.checkNotNull(settings);
+        m_settings = settings;
+        m_intervalInMs = clamp(m_intervalInMs, settings);
+    }
+
+    /**
+     * @return the current settings
+     * @since 5.12
+     */
+    public Settings getSettings() {
+        return m_settings;
+    }
+
     /**
      * Tries to execute the given call. It's either
      * <ul>
@@ -136,6 +198,11 @@ private static boolean readSystemProperty(final boolean delayWhenIdle) {
      * </ul>
      */
     public synchronized void invoke() {
+        if (m_call == null) {
+            // disposed
+            return;
+        }
+        m_numInvocations++;
         if (m_callState == CallState.IN_PROGRESS) {
             m_callState = CallState.IN_PROGRESS_AND_AWAITING;
         }
@@ -146,65 +213,95 @@ public synchronized void invoke() {
             }
             if (m_callState == CallState.IDLE) {
                 m_callState = CallState.DELAYING;
-                m_executorService.execute(() -> {
-                    sleep(CALL_DELAY_WHEN_IDLE_IN_MS);
-                    m_callState = CallState.IN_PROGRESS;
-                    throttleAndExecuteInLoop();
-                });
+                m_scheduledCall = EventDispatchScheduler.getInstance().schedule(this::throttleAndExecute,
+                    m_settings.delayWhenIdleInMs(), TimeUnit.MILLISECONDS);
             }
         } else {
             if (m_callState == CallState.IDLE) {
                 m_callState = CallState.IN_PROGRESS;
-                m_executorService.execute(this::throttleAndExecuteInLoop);
+                m_scheduledCall = EventDispatchScheduler.getInstance().execute(this::throttleAndExecute);
             }
         }
     }
 
-    private void throttleAndExecuteInLoop() {
-        do {
-            throttleAndExecute(m_call);
-        } while (checkIsCallAwaitingAndChangeState());
+    /**
+     * Runs the call and schedules the check for awaiting calls such that there is always at least the current
+     * interval between the start of two consecutive calls.
+     */
+    private void throttleAndExecute() {
+        Runnable call;
+        synchronized (this) {
+            call = m_call;
+            if (call == null) {
+                // can happen when the call-throttle is disposed
+                m_callState = CallState.IDLE;
+                return;
+            }
+            m_callState = m_callState == CallState.DELAYING ? CallState.IN_PROGRESS : m_callState;
+            m_numInvocations = 0;
+        }
+
+        var start = System.currentTimeMillis();
+        var thread = Thread.currentThread();
+        var originalThreadName = thread.getName();
+        thread.setName(m_threadName);
+        try {
+            call.run();
+        } finally {
+            thread.setName(originalThreadName);
+            scheduleNextCall(System.currentTimeMillis() - start);
+        }
+    }
+
+    private void scheduleNextCall(final long duration) {
+        var waitTimeToThrottle = updateInterval(duration) - duration;
+        synchronized (this) {
+            if (m_call == null) {
+                m_callState = CallState.IDLE;
+            } else if (waitTimeToThrottle > 0) {
+                m_scheduledCall = EventDispatchScheduler.getInstance().schedule(this::executeIfCallAwaiting,
+                    waitTimeToThrottle, TimeUnit.MILLISECONDS);
+            } else {
+                m_scheduledCall = EventDispatchScheduler.getInstance().execute(this::executeIfCallAwaiting);
+            }
+        }
+    }
+
+    private void executeIfCallAwaiting() {
+        if (checkIsCallAwaitingAndChangeState()) {
+            throttleAndExecute();
+        }
     }
 
     private synchronized boolean checkIsCallAwaitingAndChangeState() {
         if (m_callState == CallState.IN_PROGRESS_AND_AWAITING) {
-            // An invocation came in in the meantime -- execute the task again by continuing the do-while.
+            // An invocation came in in the meantime -- execute the task again
             m_callState = CallState.IN_PROGRESS;
             return true;
         } else {
-            // Since this method is called right after `throttleAndExecute`, if no invocation came in in the meantime
-            // we are now done.
+            // no invocation came in in the meantime -- we are done and the interval drops back
             m_callState = CallState.IDLE;
+            m_intervalInMs = m_settings.minIntervalInMs();
             return false;
         }
     }
 
-    /**
-     * Run the given task, additionally "throttling" such that this method always takes at least
-     * {@code MINIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS} to return.
-     *
-     * @param run The task to run
+    /*
+     * Adapts the interval to the invocation rate and the call cost. Returns the effective interval.
      */
-    private static void throttleAndExecute(final Runnable run) {
-        if (run == null) {
-            // can happen when the call-throttle is disposed
-            return;
-        }
-        var start = System.currentTimeMillis();
-        run.run();
-        var duration = System.currentTimeMillis() - start;
-        var waitTimeToThrottle = MINIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS - duration;
-        if (waitTimeToThrottle > 0) {
-            sleep(waitTimeToThrottle);
+    private synchronized long updateInterval(final long callDuration) {
+        m_avgCallDurationInMs = m_avgCallDurationInMs == 0 ? callDuration
+            : (CALL_DURATION_SMOOTHING * callDuration + (1 - CALL_DURATION_SMOOTHING) * m_avgCallDurationInMs);
+        if (m_numInvocations > INVOCATIONS_THRESHOLD_TO_RAISE_INTERVAL) {
+            m_intervalInMs = clamp(m_intervalInMs * 2, m_settings);
+        } else if (m_numInvocations <= 1) {
+            m_intervalInMs = clamp(m_intervalInMs / 2, m_settings);
         }
+        return clamp(Math.max(m_intervalInMs, (long)(COST_FACTOR * m_avgCallDurationInMs)), m_settings);
     }
 
-    private static void sleep(final long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException ex) { // NOSONAR
-            // ignore
-        }
+    private static long clamp(final long interval, final Settings settings) {
+        return Math.min(Math.max(interval, settings.minIntervalInMs()), settings.maxIntervalInMs());
     }
 
     /**
@@ -216,12 +313,61 @@ public CallState getCallState() {
         return m_callState;
     }
 
+    /**
+     * For testing purposes only.
+     *
+     * @return the current interval as determined by the invocation rate
+     */
+    synchronized long getIntervalInMs() {
+        return m_intervalInMs;
+    }
+
     /**
      * Disposes the throttle.
      */
-    public void dispose() {
-        m_executorService.shutdown();
+    public synchronized void dispose() {
         m_call = null;
+        if (m_scheduledCall != null) {
+            // doesn't affect a call that is already running
+            m_scheduledCall.cancel(false);
+            m_scheduledCall = null;
+        }
+    }
+
+    /**
+     * The bounds within which the interval between two consecutive calls is adapted.
+     *
+     * @param minIntervalInMs the minimum time between the start of two consecutive calls
+     * @param maxIntervalInMs the maximum time between the start of two consecutive calls (the interval is only raised
+     *            up to this value in case of many invocations or expensive calls)
+     * @param delayWhenIdleInMs the time to delay a call arriving into IDLE state (only if the call throttle has been
+     *            created with {@code delayWhenIdle = true})
+     * @since 5.12
+     */
+    public record Settings(long minIntervalInMs, long maxIntervalInMs, long delayWhenIdleInMs) {
+
+        /**
+         * The default settings (can be changed via the system properties
+         * {@code org.knime.gateway.impl.service.util.CallThrottle.minInterval} and
+         * {@code org.knime.gateway.impl.service.util.CallThrottle.maxInterval}).
+         */
+        public static final Settings DEFAULT = new Settings(MINIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS,
+            Math.max(MINIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS,
+                MAXIMUM_DURATION_BETWEEN_CONSECUTIVE_CALLBACKS_IN_MS),
+            CALL_DELAY_WHEN_IDLE_IN_MS);
+
+        /**
+         * Creates a new instance.
+         *
+         * @param minIntervalInMs see above
+         * @param maxIntervalInMs see above
+         * @param delayWhenIdleInMs see above
+         */
+        public Settings {
+            CheckUtils.checkArgument(minIntervalInMs >= 0 && delayWhenIdleInMs >= 0, "Negative durations not allowed");
+            CheckUtils.checkArgument(maxIntervalInMs >= minIntervalInMs,
+                "Maximum interval must not be smaller than the minimum interval");
+        }
     }
 
     /**
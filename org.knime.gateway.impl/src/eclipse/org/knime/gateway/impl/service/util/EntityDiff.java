@@ -49,17 +49,33 @@
 package org.knime.gateway.impl.service.util;
 
 import org.knime.gateway.api.entity.GatewayEntity;
+import org.knime.gateway.api.webui.entity.ComponentPlaceholderEnt;
+import org.knime.gateway.api.webui.entity.WorkflowAnnotationEnt;
+import org.knime.gateway.api.webui.entity.WorkflowInfoEnt;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Utility class to compare two {@link GatewayEntity GatewayEntities} while providing the result as patch operations via
  * a {@link PatchCreator}.
  *
+ * The comparison is carried out in a single pass, i.e. objects are not checked for (deep) equality first before
+ * descending into them. Identical objects (i.e. same reference) are skipped right away which makes the comparison cheap
+ * for (sub-)entities that are shared between the entities compared (e.g. re-used node entities of an incrementally
+ * built workflow entity).
+ *
+ * Lists of identifiable entities (e.g. workflow annotations) are compared by key if the keys got shifted (e.g. because
+ * an element has been inserted or removed at the front). In that case a minimal edit script (based on the longest
+ * common subsequence of keys) is emitted as remove-, move- and add-operations instead of replacing every subsequent
+ * element. Ports are compared by position since they don't have an identity that is stable across the insertion of
+ * another port (their index is part of the entity).
+ *
  * @author Martin Horn, KNIME GmbH, Konstanz, Germany
  */
 final class EntityDiff {
@@ -83,80 +99,252 @@ private EntityDiff() {
      *         {@code false} otherwise
      */
     static <P> boolean compare(final GatewayEntity e1, final GatewayEntity e2, final PatchCreator<P> patchCreator) {
-        return compareEntities("", e1, e2, patchCreator);
+        return e1 == e2 || compareEntities(new StringBuilder(), e1, e2, patchCreator);
     }
 
-    private static <P> boolean compareEntities(final String path, final GatewayEntity e1, final GatewayEntity e2,
-        final PatchCreator<P> patchCreator) {
+    /*
+     * The path is modified while descending into the objects but is guaranteed to be restored when returning.
+     */
+    private static <P> boolean compareEntities(final StringBuilder path, final GatewayEntity e1,
+        final GatewayEntity e2, final PatchCreator<P> patchCreator) {
         if (!e1.getClass().equals(e2.getClass())) {
-            patchCreator.replaced(path, e2);
+            patchCreator.replaced(path.toString(), e2);
             return false;
         }
         var areEqual = new AtomicBoolean(true);
         e1.forEachPropertyValue(e2, (name, entities) -> {
             var first = entities.getFirst();
             var second = entities.getSecond();
-            if (!Objects.equals(first, second)) {
+            if (first != second && !compareObjects(path, encode(name), first, second, patchCreator)) {
                 areEqual.set(false);
-                compareObjects(path + "/" + encode(name), first, second, patchCreator);
             }
         });
         return areEqual.get();
     }
 
-    @SuppressWarnings({"java:S6201", "unchecked"})
-    private static <P> void compareObjects(final String path, final Object o1, final Object o2,
-        final PatchCreator<P> patchCreator) {
-        if (o1 == null) {
-            patchCreator.added(path, o2);
-        } else if (o2 == null) {
-            patchCreator.removed(path);
-        } else if (o1 instanceof GatewayEntity) {
-            compareEntities(path, (GatewayEntity)o1, (GatewayEntity)o2, patchCreator);
-        } else if (o1 instanceof List) {
-            compareLists(path, (List<?>)o1, (List<?>)o2, patchCreator);
-        } else if (o1 instanceof Map) {
-            compareMaps(path, (Map<String, ?>)o1, (Map<String, ?>)o2, patchCreator);
-        } else {
-            patchCreator.replaced(path, o2);
+    @SuppressWarnings("unchecked")
+    private static <P> boolean compareObjects(final StringBuilder path, final String pathSegment, final Object o1,
+        final Object o2, final PatchCreator<P> patchCreator) {
+        if (o1 == o2) {
+            return true;
+        }
+        var pathLength = path.length();
+        path.append('/').append(pathSegment);
+        try {
+            if (o1 == null) {
+                patchCreator.added(path.toString(), o2);
+                return false;
+            } else if (o2 == null) {
+                patchCreator.removed(path.toString());
+                return false;
+            } else if (o1 instanceof GatewayEntity ge1 && o2 instanceof GatewayEntity ge2) {
+                return compareEntities(path, ge1, ge2, patchCreator);
+            } else if (o1 instanceof List<?> l1 && o2 instanceof List<?> l2) {
+                return compareLists(path, l1, l2, patchCreator);
+            } else if (o1 instanceof Map && o2 instanceof Map) {
+                return compareMaps(path, (Map<String, ?>)o1, (Map<String, ?>)o2, patchCreator);
+            } else if (o1.equals(o2)) {
+                return true;
+            } else {
+                patchCreator.replaced(path.toString(), o2);
+                return false;
+            }
+        } finally {
+            path.setLength(pathLength);
         }
     }
 
-    private static <P> void compareLists(final String path, final List<?> l1, final List<?> l2,
+    private static <P> boolean compareLists(final StringBuilder path, final List<?> l1, final List<?> l2,
         final PatchCreator<P> patchCreator) {
+        var keys1 = getKeys(l1);
+        var keys2 = keys1 == null ? null : getKeys(l2);
+        if (keys2 != null && !keys1.equals(keys2)) {
+            var lcs = longestCommonSubsequence(keys1, keys2);
+            var numCommon = (int)keys1.stream().filter(new HashSet<>(keys2)::contains).count();
+            // removals + additions + moves
+            var numEditOps = (keys1.size() - numCommon) + (keys2.size() - numCommon) + (numCommon - lcs.size());
+            if (numEditOps < countPositionalMismatches(keys1, keys2)) {
+                compareListsByKey(path, l1, l2, keys1, keys2, lcs, patchCreator);
+                return false;
+            }
+        }
         var l1Size = l1.size();
         var l2Size = l2.size();
+        var areEqual = true;
         for (var i = 0; i < Math.max(l1Size, l2Size); i++) {
             var el1 = i < l1Size ? l1.get(i) : null;
             var el2 = i < l2Size ? l2.get(i) : null;
-            if (!Objects.equals(el1, el2)) {
-                var index = i;
-                if (i >= l2Size) {
-                    // If an element is removed from a list/array via a patch operation,
-                    // the other subsequent elements in the list are all moved one to the 'left'.
-                    // And since patch operations are applied one after another, we need to account for that
-                    // when determining the list index of the element to remove - thus the 'index - i'.
-                    // (e.g. when remove all elements from a list, the indices must be (0,0,0,...) instead
-                    // of (0,1,2,3,...)
-                    index = l2Size;
+            if (el1 == el2) {
+                continue;
+            }
+            var index = i;
+            if (i >= l2Size) {
+                // If an element is removed from a list/array via a patch operation,
+                // the other subsequent elements in the list are all moved one to the 'left'.
+                // And since patch operations are applied one after another, we need to account for that
+                // when determining the list index of the element to remove - thus the 'index - i'.
+                // (e.g. when remove all elements from a list, the indices must be (0,0,0,...) instead
+                // of (0,1,2,3,...)
+                index = l2Size;
+            }
+            areEqual &= compareObjects(path, Integer.toString(index), el1, el2, patchCreator);
+        }
+        return areEqual;
+    }
+
+    /*
+     * Applies the edit script to get from l1 to l2 in four steps: removals, moves (of elements not part of the longest
+     * common subsequence), additions and, finally, the comparison of the elements contained in both lists. The indices
+     * of the operations account for all previous operations (patch operations are applied one after another).
+     */
+    private static <P> void compareListsByKey(final StringBuilder path, final List<?> l1, final List<?> l2,
+        final List<Object> keys1, final List<Object> keys2, final Set<Object> lcs, final PatchCreator<P> patchCreator) {
+        var keySet1 = new HashSet<>(keys1);
+        var keySet2 = new HashSet<>(keys2);
+        var current = new ArrayList<>(keys1);
+
+        // removals - in descending order such that the indices of the elements still to be removed remain valid
+        for (var i = keys1.size() - 1; i >= 0; i--) {
+            if (!keySet2.contains(keys1.get(i))) {
+                current.remove(i);
+                patchCreator.removed(path + "/" + i);
+            }
+        }
+
+        // moves - in the order of the final positions such that every moved element can be placed right behind its
+        // (final) predecessor
+        Object predecessor = null;
+        for (var key : keys2) {
+            if (!keySet1.contains(key)) {
+                continue;
+            }
+            if (!lcs.contains(key)) {
+                var from = current.indexOf(key);
+                current.remove(from);
+                var to = predecessor == null ? 0 : (current.indexOf(predecessor) + 1);
+                current.add(to, key);
+                if (from != to) {
+                    patchCreator.moved(path + "/" + from, path + "/" + to);
                 }
-                compareObjects(path + "/" + index, el1, el2, patchCreator);
             }
+            predecessor = key;
+        }
+
+        // additions - in ascending order
+        for (var j = 0; j < keys2.size(); j++) {
+            if (!keySet1.contains(keys2.get(j))) {
+                patchCreator.added(path + "/" + j, l2.get(j));
+            }
+        }
+
+        // elements contained in both lists (now at their final positions)
+        var elementsByKey1 = new HashMap<Object, Object>();
+        for (var i = 0; i < keys1.size(); i++) {
+            elementsByKey1.put(keys1.get(i), l1.get(i));
+        }
+        for (var j = 0; j < keys2.size(); j++) {
+            var el1 = elementsByKey1.get(keys2.get(j));
+            var el2 = l2.get(j);
+            if (el1 != null && el1 != el2) {
+                compareObjects(path, Integer.toString(j), el1, el2, patchCreator);
+            }
+        }
+    }
+
+    /*
+     * Determines the keys of the longest common subsequence. Common prefixes and suffixes (e.g. in case of a single
+     * insertion or removal) are stripped first such that the dynamic programming part only covers the actual change.
+     */
+    private static Set<Object> longestCommonSubsequence(final List<Object> keys1, final List<Object> keys2) {
+        var res = new HashSet<>();
+        var start = 0;
+        var end1 = keys1.size();
+        var end2 = keys2.size();
+        while (start < end1 && start < end2 && keys1.get(start).equals(keys2.get(start))) {
+            res.add(keys1.get(start));
+            start++;
+        }
+        while (end1 > start && end2 > start && keys1.get(end1 - 1).equals(keys2.get(end2 - 1))) {
+            res.add(keys1.get(end1 - 1));
+            end1--;
+            end2--;
+        }
+        var n = end1 - start;
+        var m = end2 - start;
+        var lengths = new int[n + 1][m + 1];
+        for (var i = n - 1; i >= 0; i--) {
+            for (var j = m - 1; j >= 0; j--) {
+                lengths[i][j] = keys1.get(start + i).equals(keys2.get(start + j)) ? (lengths[i + 1][j + 1] + 1)
+                    : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+        var i = 0;
+        var j = 0;
+        while (i < n && j < m) {
+            if (keys1.get(start + i).equals(keys2.get(start + j))) {
+                res.add(keys1.get(start + i));
+                i++;
+                j++;
+            } else if (lengths[i + 1][j] >= lengths[i][j + 1]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return res;
+    }
+
+    private static int countPositionalMismatches(final List<Object> keys1, final List<Object> keys2) {
+        var res = Math.abs(keys1.size() - keys2.size());
+        for (var i = 0; i < Math.min(keys1.size(), keys2.size()); i++) {
+            if (!keys1.get(i).equals(keys2.get(i))) {
+                res++;
+            }
+        }
+        return res;
+    }
+
+    /*
+     * The keys of the list elements or null if not all of the elements are identifiable or the keys are not unique.
+     */
+    private static List<Object> getKeys(final List<?> l) {
+        var keys = new ArrayList<>(l.size());
+        var uniqueKeys = new HashSet<>(l.size() * 2);
+        for (var el : l) {
+            var key = getKey(el);
+            if (key == null || !uniqueKeys.add(key)) {
+                return null; // NOSONAR
+            }
+            keys.add(key);
         }
+        return keys;
     }
 
-    private static <P> void compareMaps(final String path, final Map<String, ?> m1, final Map<String, ?> m2,
+    /*
+     * The key identifying list elements of certain types or null if the element isn't identifiable.
+     */
+    private static Object getKey(final Object o) {
+        if (o instanceof WorkflowAnnotationEnt wa) {
+            return wa.getId();
+        } else if (o instanceof WorkflowInfoEnt info) {
+            return info.getContainerId();
+        } else if (o instanceof ComponentPlaceholderEnt placeholder) {
+            return placeholder.getId();
+        } else {
+            return null;
+        }
+    }
+
+    private static <P> boolean compareMaps(final StringBuilder path, final Map<String, ?> m1, final Map<String, ?> m2,
         final PatchCreator<P> patchCreator) {
         var keys = new HashSet<String>();
         keys.addAll(m1.keySet());
         keys.addAll(m2.keySet());
+        var areEqual = true;
         for (var key : keys) {
-            var o1 = m1.get(key);
-            var o2 = m2.get(key);
-            if (!Objects.equals(o1, o2)) {
-                compareObjects(path + "/" + encode(key), m1.get(key), m2.get(key), patchCreator);
-            }
+            areEqual &= compareObjects(path, encode(key), m1.get(key), m2.get(key), patchCreator);
         }
+        return areEqual;
     }
 
     /* JSON pointer encoding according to RFC 6901 */
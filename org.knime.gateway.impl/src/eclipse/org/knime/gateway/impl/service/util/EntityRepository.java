@@ -45,7 +45,11 @@
  */
 package org.knime.gateway.impl.service.util;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.knime.core.util.Pair;
@@ -88,10 +92,44 @@
      * @param entity the workflow entity to compare the requested snapshot to (and that will possibly be committed)
      * @param patchCreator the patch creator
      * @return the object representing the changes (e.g. a patch) or an empty optional if there are no changes
-     * @throws IllegalArgumentException if there is not change history for the given snapshotID combination
+     * @throws IllegalArgumentException if there is not change history for the given snapshotID combination (an
+     *             implementation might, however, also decide to return a patch that replaces the entire entity in case
+     *             the snapshot has been removed from the history, see {@link MemoryBoundedRepository})
      */
     <P> Optional<P> getChangesAndCommit(String snapshotID, E entity, PatchCreator<P> patchCreator);
 
+    /**
+     * Determines the changes of the provided entity to each of the entities once committed to the repository with the
+     * given snapshot ids, i.e. the entity is compared once per distinct snapshot id. The provided entity is committed
+     * (at most) once such that all the returned changes lead to the very same new snapshot.
+     *
+     * The default implementation simply calls {@link #getChangesAndCommit(String, GatewayEntity, PatchCreator)} for
+     * every snapshot id. Implementations are encouraged to determine all the changes before the entity is committed
+     * (such that no snapshot requested here is removed from the history by the very commit).
+     *
+     * @param <P>
+     *
+     * @param key the entity key
+     * @param snapshotIDs the ids of the snapshots requested from the repository to be compared
+     * @param entity the entity to compare the requested snapshots to (and that will possibly be committed)
+     * @param patchCreators provides a new patch creator per snapshot id
+     * @return the objects representing the changes (e.g. patches) per snapshot id; snapshot ids without changes are
+     *         not contained
+     * @throws IllegalArgumentException if there is not change history for any of the given snapshot ids (for
+     *             snapshots it dropped from the history itself, an implementation might, however, also decide to
+     *             return a patch that replaces the entire entity, see {@link MemoryBoundedRepository})
+     * @since 5.12
+     */
+    default <P> Map<String, P> getChangesAndCommit(final K key, final Collection<String> snapshotIDs, final E entity,
+        final Function<String, ? extends PatchCreator<P>> patchCreators) {
+        var res = new LinkedHashMap<String, P>();
+        for (var snapshotID : snapshotIDs) {
+            getChangesAndCommit(snapshotID, entity, patchCreators.apply(snapshotID))
+                .ifPresent(p -> res.put(snapshotID, p));
+        }
+        return res;
+    }
+
     /**
      * Gives access to the latest commit.
      *
@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.service.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.knime.gateway.api.entity.AnnotationIDEnt;
+import org.knime.gateway.api.entity.ConnectionIDEnt;
+import org.knime.gateway.api.entity.GatewayEntity;
+import org.knime.gateway.api.entity.NodeIDEnt;
+
+/**
+ * Estimates the heap memory occupied by a {@link GatewayEntity} itself (i.e. including its collections and values, but
+ * not the sub-entities it references). The numbers are based on the object layout of a 64-bit JVM with compressed
+ * oops. They are estimates only, but good enough to weigh entities against each other and against a memory budget.
+ *
+ * Sub-entities are estimated separately such that the size of sub-entities shared between entities (e.g. the unchanged
+ * parts of consecutive workflow snapshots) can be accounted for only once (see {@link MemoryBoundedRepository}).
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class EntitySizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+
+    private static final int REFERENCE = 4;
+
+    private static final int ARRAY_HEADER = 16;
+
+    /* String object including the reference to the (separately accounted) byte array */
+    private static final int STRING = 24;
+
+    private static final int BOXED_PRIMITIVE = 16;
+
+    private static final int ID_ENT = 48;
+
+    /* array list object (backing array accounted separately) */
+    private static final int LIST = 24;
+
+    /* hash map object (table accounted separately) */
+    private static final int MAP = 48;
+
+    /* hash map node: header + hash + key + value + next */
+    private static final int MAP_ENTRY = 32;
+
+    private EntitySizeEstimator() {
+        // utility
+    }
+
+    /**
+     * @param entity the entity to estimate the size for
+     * @param subEntities receives the sub-entities directly referenced by the entity (once per reference); their size
+     *            isn't included in the returned size
+     * @return the estimated size in bytes, excluding the sub-entities
+     */
+    static long estimateShallowSize(final GatewayEntity entity, final Consumer<GatewayEntity> subEntities) {
+        return new Visitor(subEntities).sizeOfEntity(entity);
+    }
+
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static final class Visitor {
+
+        /* collections referenced multiple times within the same entity are only counted once */
+        private final Set<Object> m_visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final Consumer<GatewayEntity> m_subEntities;
+
+        private Visitor(final Consumer<GatewayEntity> subEntities) {
+            m_subEntities = subEntities;
+        }
+
+        private long sizeOf(final Object o) { // NOSONAR
+            if (o == null || o instanceof Enum) {
+                // enum constants are shared
+                return 0;
+            } else if (o instanceof String s) {
+                return align(STRING) + align(ARRAY_HEADER + (long)s.length());
+            } else if (o instanceof Number || o instanceof Boolean || o instanceof Character) {
+                return BOXED_PRIMITIVE;
+            } else if (o instanceof NodeIDEnt || o instanceof ConnectionIDEnt || o instanceof AnnotationIDEnt) {
+                return ID_ENT;
+            } else if (o instanceof GatewayEntity e) {
+                m_subEntities.accept(e);
+                return 0;
+            } else if (!m_visited.add(o)) {
+                return 0;
+            } else if (o instanceof Collection<?> c) {
+                long size = align(LIST) + align(ARRAY_HEADER + (long)REFERENCE * c.size());
+                for (var el : c) {
+                    size += sizeOf(el);
+                }
+                return size;
+            } else if (o instanceof Map<?, ?> m) {
+                long size = align(MAP) + align(ARRAY_HEADER + (long)REFERENCE * 2 * m.size())
+                    + (long)MAP_ENTRY * m.size();
+                for (var entry : m.entrySet()) {
+                    size += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+                }
+                return size;
+            } else {
+                // unknown object, just account for a small object
+                return align(OBJECT_HEADER + 2L * REFERENCE);
+            }
+        }
+
+        private long sizeOfEntity(final GatewayEntity e) {
+            var numProperties = new int[1];
+            var size = new long[1];
+            e.forEachPropertyValue(e, (name, values) -> {
+                numProperties[0]++;
+                size[0] += sizeOf(values.getFirst());
+            });
+            return align(OBJECT_HEADER + (long)REFERENCE * numProperties[0]) + size[0];
+        }
+    }
+
+}
@@ -0,0 +1,472 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.service.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.Pair;
+import org.knime.gateway.api.entity.GatewayEntity;
+
+/**
+ * Repository implementation that keeps the snapshots in memory, but bounds the memory they occupy. A global byte budget
+ * is enforced across all keys by evicting the least recently used snapshots. Snapshots which are not the latest ones of their key
+ * are evicted first; the latest snapshot of a key is only evicted if that is still not sufficient (which essentially
+ * only happens for keys which haven't been accessed for a while).
+ *
+ * The size of the snapshots is estimated per (sub-)entity (see {@link EntitySizeEstimator}). Sub-entities shared by
+ * multiple snapshots (i.e. the very same instances, e.g. the unchanged parts of consecutive workflow snapshots) are
+ * only accounted for once. I.e. committing a snapshot only costs time proportional to the sub-entities that haven't been
+ * retained by any other snapshot, yet; the same applies to evicting a snapshot.
+ *
+ * Snapshots can be pinned (see {@link #pin(String)}), e.g. while subscribers still require the changes relative to
+ * them. Pinned snapshots are never evicted in order to meet the maximum number of snapshots per key (which can thus be
+ * exceeded) and only evicted if the memory budget can't be met otherwise.
+ *
+ * If changes are requested for a snapshot that has been evicted, a full-resync patch is returned (i.e. a patch that
+ * replaces the whole entity, see {@link #getChangesAndCommit(String, GatewayEntity, PatchCreator)}) instead of
+ * throwing an exception.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ * @param <K> the entity key
+ * @param <E> the entity type
+ * @since 5.12
+ */
+public final class MemoryBoundedRepository<K, E extends GatewayEntity> implements EntityRepository<K, E> {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(MemoryBoundedRepository.class);
+
+    /* The default memory budget in bytes */
+    private static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    /* The maximum number of ids of evicted snapshots remembered (in order to be able to do a full-resync) */
+    private static final int MAX_NUM_EVICTED_SNAPSHOT_IDS = 10_000;
+
+    /* maps snapshotID to the snapshot - ordered by access (least recently used first), across all keys */
+    private final LinkedHashMap<String, Snapshot<K, E>> m_snapshots = new LinkedHashMap<>(16, 0.75f, true);
+
+    /* all the (sub-)entities retained by the snapshots, by identity */
+    private final Map<GatewayEntity, RetainedEntity> m_retainedEntities = new IdentityHashMap<>();
+
+    /* maps key to <snapshotID, entity> */
+    private final Map<K, Pair<String, E>> m_latestSnapshotPerEntity = new HashMap<>();
+
+    /* maps key to the snapshot ids in the order they have been committed */
+    private final Map<K, Deque<String>> m_snapshotIdsPerEntity = new HashMap<>();
+
+    /* maps the id of evicted snapshots to their key */
+    private final Map<String, K> m_evictedSnapshots = new LinkedHashMap<>() {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, K> eldest) {
+            return size() > MAX_NUM_EVICTED_SNAPSHOT_IDS;
+        }
+    };
+
+    /* the number of pins per snapshot id */
+    private final Map<String, Integer> m_pinnedSnapshots = new HashMap<>();
+
+    private final Supplier<String> m_snapshotIdGenerator;
+
+    private final int m_maxNumSnapshotsPerEntity;
+
+    private final long m_maxBytes;
+
+    private long m_totalBytes;
+
+    private long m_hitCount;
+
+    private long m_missCount;
+
+    private long m_evictionCount;
+
+    /**
+     * Creates a new instance. The memory budget is initialized with the default value or the value given by the
+     * system property {@code org.knime.gateway.impl.service.util.MemoryBoundedRepository.maxBytes}.
+     *
+     * @param maxNumSnapshotsPerEntity the maximum number of snapshots kept per entity (in addition to the memory
+     *            budget)
+     * @param snapshotIdGenerator supplier that generates unique ids
+     */
+    public MemoryBoundedRepository(final int maxNumSnapshotsPerEntity, final Supplier<String> snapshotIdGenerator) {
+        this(maxNumSnapshotsPerEntity, Long.getLong(MemoryBoundedRepository.class.getName() + ".maxBytes",
+            DEFAULT_MAX_BYTES), snapshotIdGenerator);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxNumSnapshotsPerEntity the maximum number of snapshots kept per entity (in addition to the memory
+     *            budget)
+     * @param maxBytes the memory budget, i.e. the maximum (estimated) number of bytes occupied by all the snapshots
+     */
+    public MemoryBoundedRepository(final int maxNumSnapshotsPerEntity, final long maxBytes) {
+        this(maxNumSnapshotsPerEntity, maxBytes, () -> UUID.randomUUID().toString());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxNumSnapshotsPerEntity the maximum number of snapshots kept per entity (in addition to the memory
+     *            budget)
+     * @param maxBytes the memory budget, i.e. the maximum (estimated) number of bytes occupied by all the snapshots
+     * @param snapshotIdGenerator supplier that generates unique ids
+     */
+    public MemoryBoundedRepository(final int maxNumSnapshotsPerEntity, final long maxBytes,
+        final Supplier<String> snapshotIdGenerator) {
+        if (maxNumSnapshotsPerEntity < 1) {
+            throw new IllegalArgumentException("max history must be larger 0: " + maxNumSnapshotsPerEntity);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("max bytes must be larger 0: " + maxBytes);
+        }
+        m_maxNumSnapshotsPerEntity = maxNumSnapshotsPerEntity;
+        m_maxBytes = maxBytes;
+        m_snapshotIdGenerator = snapshotIdGenerator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String commit(final K key, final E entity) {
+        return commitInternal(key, entity, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the requested snapshot has been evicted from the repository (e.g. because the memory budget has been
+     * exceeded), the provided entity is committed and a patch returned that replaces the entire entity (i.e. a single
+     * 'replaced'-operation for the root path {@code ""}).
+     */
+    @Override
+    public synchronized <P> Optional<P> getChangesAndCommit(final String snapshotID, final E entity,
+        final PatchCreator<P> patchCreator) {
+        var snapshot = m_snapshots.get(snapshotID);
+        if (snapshot == null) {
+            var key = m_evictedSnapshots.get(snapshotID);
+            if (key == null) {
+                throw new IllegalArgumentException("No workflow found for snapshot with ID '" + snapshotID + "'");
+            }
+            m_missCount++;
+            LOGGER.debug("Snapshot with ID '" + snapshotID + "' has been evicted. Full re-sync.");
+            patchCreator.replaced("", entity);
+            return Optional.of(patchCreator.create(commitInternal(key, entity, true)));
+        }
+        m_hitCount++;
+
+        if (!EntityDiff.compare(snapshot.entity(), entity, patchCreator)) {
+            return Optional.of(patchCreator.create(commitInternal(snapshot.key(), entity, false)));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All the changes are determined before the provided entity is committed. Requested snapshots which have been
+     * evicted from the repository result in a patch that replaces the entire entity (i.e. a full re-sync).
+     *
+     * @throws IllegalArgumentException if any of the requested snapshots is unknown (and hasn't been evicted) or
+     *             belongs to another key - nothing is committed in that case
+     */
+    @Override
+    public synchronized <P> Map<String, P> getChangesAndCommit(final K key, final Collection<String> snapshotIDs,
+        final E entity, final Function<String, ? extends PatchCreator<P>> patchCreators) {
+        var changes = new LinkedHashMap<String, PatchCreator<P>>();
+        for (var snapshotID : snapshotIDs) {
+            var snapshot = m_snapshots.get(snapshotID);
+            var snapshotKey = snapshot == null ? m_evictedSnapshots.get(snapshotID) : snapshot.key();
+            if (!key.equals(snapshotKey)) {
+                throw new IllegalArgumentException(
+                    "No workflow found for snapshot with ID '" + snapshotID + "' and key '" + key + "'");
+            }
+            var patchCreator = patchCreators.apply(snapshotID);
+            if (snapshot == null) {
+                m_missCount++;
+                LOGGER.debug("Snapshot with ID '" + snapshotID + "' has been evicted. Full re-sync.");
+                patchCreator.replaced("", entity);
+                changes.put(snapshotID, patchCreator);
+            } else {
+                m_hitCount++;
+                if (!EntityDiff.compare(snapshot.entity(), entity, patchCreator)) {
+                    changes.put(snapshotID, patchCreator);
+                }
+            }
+        }
+        if (changes.isEmpty()) {
+            return Map.of();
+        }
+        var newSnapshotID = commitInternal(key, entity, false);
+        var res = new LinkedHashMap<String, P>();
+        changes.forEach((snapshotID, patchCreator) -> res.put(snapshotID, patchCreator.create(newSnapshotID)));
+        return res;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * An empty optional is also returned if the latest commit has been evicted from the repository.
+     */
+    @Override
+    public synchronized Optional<Pair<String, E>> getLastCommit(final K key) {
+        return Optional.ofNullable(m_latestSnapshotPerEntity.get(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void disposeHistory(final Predicate<K> keyFilter) {
+        m_snapshots.values().removeIf(s -> {
+            if (keyFilter.test(s.key())) {
+                m_totalBytes -= release(s.entity());
+                return true;
+            } else {
+                return false;
+            }
+        });
+        m_latestSnapshotPerEntity.keySet().removeIf(keyFilter);
+        m_snapshotIdsPerEntity.keySet().removeIf(keyFilter);
+        m_evictedSnapshots.values().removeIf(keyFilter);
+    }
+
+    /**
+     * Pins a snapshot, i.e. prevents it from being evicted in favour of newer snapshots of the same key. Pinned
+     * snapshots are only evicted if the memory budget can't be met otherwise. A snapshot pinned multiple times needs to
+     * be unpinned just as often. Pinning a snapshot that doesn't exist (anymore) has no effect.
+     *
+     * @param snapshotID the id of the snapshot to pin
+     */
+    public synchronized void pin(final String snapshotID) {
+        m_pinnedSnapshots.merge(snapshotID, 1, Integer::sum);
+    }
+
+    /**
+     * Reverts a previous {@link #pin(String)}.
+     *
+     * @param snapshotID the id of the snapshot to unpin
+     */
+    public synchronized void unpin(final String snapshotID) {
+        m_pinnedSnapshots.computeIfPresent(snapshotID, (id, numPins) -> numPins > 1 ? (numPins - 1) : null);
+    }
+
+    /**
+     * @return statistics about the snapshots currently kept and how often snapshots have been found or not
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(m_snapshots.size(), m_totalBytes, m_maxBytes, m_hitCount, m_missCount,
+            m_evictionCount);
+    }
+
+    /*
+     * The (deep) comparison with the latest snapshot can be skipped if the changes of the entity have already been
+     * determined (i.e. the entity is known to differ from some snapshot) -- committing an entity that happens to equal
+     * the latest snapshot is cheap since all its sub-entities are usually shared with the latest snapshot.
+     */
+    private String commitInternal(final K key, final E entity, final boolean compareWithLatest) {
+        var latestSnapshot = m_latestSnapshotPerEntity.get(key);
+        if (latestSnapshot != null && (latestSnapshot.getSecond() == entity
+            || (compareWithLatest && Objects.equals(latestSnapshot.getSecond(), entity)))) {
+            // no changes - no commit
+            var snapshotID = latestSnapshot.getFirst();
+            m_snapshots.get(snapshotID); // NOSONAR marks the snapshot as recently used
+            return snapshotID;
+        }
+
+        var snapshotID = m_snapshotIdGenerator.get();
+        var snapshot = new Snapshot<>(key, entity);
+        m_snapshots.put(snapshotID, snapshot);
+        m_totalBytes += retain(entity);
+        m_latestSnapshotPerEntity.put(key, Pair.create(snapshotID, entity));
+        var snapshotIds = m_snapshotIdsPerEntity.computeIfAbsent(key, k -> new ArrayDeque<>());
+        snapshotIds.addLast(snapshotID);
+        var numSnapshotsToEvict = snapshotIds.size() - m_maxNumSnapshotsPerEntity;
+        if (numSnapshotsToEvict > 0) {
+            // oldest first, but neither the new nor any pinned snapshot
+            snapshotIds.stream() //
+                .filter(id -> !id.equals(snapshotID) && !m_pinnedSnapshots.containsKey(id)) //
+                .limit(numSnapshotsToEvict) //
+                .toList() //
+                .forEach(this::evict);
+        }
+        if (m_totalBytes > m_maxBytes) {
+            evictLeastRecentlyUsed(snapshotID);
+        }
+        return snapshotID;
+    }
+
+    /*
+     * Evicts snapshots in the order they have been used till the memory budget is met again. Snapshots which are
+     * neither the latest of their key nor pinned are evicted first.
+     */
+    private void evictLeastRecentlyUsed(final String snapshotIdToKeep) {
+        for (var evictLatest : new boolean[]{false, true}) {
+            var it = m_snapshots.entrySet().iterator();
+            while (m_totalBytes > m_maxBytes && it.hasNext()) {
+                var entry = it.next();
+                var snapshotID = entry.getKey();
+                var key = entry.getValue().key();
+                var latest = m_latestSnapshotPerEntity.get(key);
+                var isLatest = latest != null && latest.getFirst().equals(snapshotID);
+                var isPinned = m_pinnedSnapshots.containsKey(snapshotID);
+                if (!snapshotID.equals(snapshotIdToKeep) && (evictLatest || !(isLatest || isPinned))) {
+                    it.remove();
+                    onEvicted(snapshotID, entry.getValue(), isLatest);
+                }
+            }
+        }
+        if (m_totalBytes > m_maxBytes) {
+            LOGGER.debug("Memory budget of " + m_maxBytes + " bytes exceeded by a single snapshot (" + m_totalBytes
+                + " bytes)");
+        }
+    }
+
+    private void evict(final String snapshotID) {
+        var snapshot = m_snapshots.remove(snapshotID);
+        if (snapshot != null) {
+            var latest = m_latestSnapshotPerEntity.get(snapshot.key());
+            onEvicted(snapshotID, snapshot, latest != null && latest.getFirst().equals(snapshotID));
+        }
+    }
+
+    private void onEvicted(final String snapshotID, final Snapshot<K, E> snapshot, final boolean isLatest) {
+        m_totalBytes -= release(snapshot.entity());
+        m_evictionCount++;
+        m_evictedSnapshots.put(snapshotID, snapshot.key());
+        var snapshotIds = m_snapshotIdsPerEntity.get(snapshot.key());
+        snapshotIds.remove(snapshotID);
+        if (isLatest) {
+            m_latestSnapshotPerEntity.remove(snapshot.key());
+        }
+        if (snapshotIds.isEmpty()) {
+            m_snapshotIdsPerEntity.remove(snapshot.key());
+        }
+    }
+
+    /*
+     * Retains the given entity and, if not retained already, all its sub-entities.
+     * Returns the estimated number of bytes newly retained.
+     */
+    private long retain(final GatewayEntity entity) {
+        var retained = m_retainedEntities.get(entity);
+        if (retained != null) {
+            retained.m_refCount++;
+            return 0;
+        }
+        var subEntities = new ArrayList<GatewayEntity>();
+        var shallowSize = EntitySizeEstimator.estimateShallowSize(entity, subEntities::add);
+        m_retainedEntities.put(entity, new RetainedEntity());
+        var size = shallowSize;
+        for (var subEntity : subEntities) {
+            size += retain(subEntity);
+        }
+        return size;
+    }
+
+    /*
+     * Releases the given entity and, if not retained anymore, all its sub-entities.
+     * Returns the estimated number of bytes released.
+     */
+    private long release(final GatewayEntity entity) {
+        var retained = m_retainedEntities.get(entity);
+        if (--retained.m_refCount > 0) {
+            return 0;
+        }
+        m_retainedEntities.remove(entity);
+        var subEntities = new ArrayList<GatewayEntity>();
+        var size = EntitySizeEstimator.estimateShallowSize(entity, subEntities::add);
+        for (var subEntity : subEntities) {
+            size += release(subEntity);
+        }
+        return size;
+    }
+
+    private record Snapshot<K, E>(K key, E entity) {
+        //
+    }
+
+    private static final class RetainedEntity {
+
+        /* the number of references from snapshots and retained entities */
+        private int m_refCount = 1;
+
+    }
+
+    /**
+     * Statistics of a {@link MemoryBoundedRepository}.
+     *
+     * @param numSnapshots the number of snapshots currently kept
+     * @param sizeInBytes the estimated number of bytes occupied by all the snapshots
+     * @param maxBytes the memory budget
+     * @param hitCount how often changes have been requested for a snapshot that was available
+     * @param missCount how often changes have been requested for a snapshot that has been evicted before (i.e. how
+     *            often a full-resync was necessary)
+     * @param evictionCount the number of snapshots evicted so far
+     */
+    public record Statistics(int numSnapshots, long sizeInBytes, long maxBytes, long hitCount, long missCount,
+        long evictionCount) {
+        //
+    }
+
+}
@@ -76,6 +76,14 @@
      */
     void added(String path, Object value);
 
+    /**
+     * Object has been moved (within a list)
+     *
+     * @param from path to the object's previous location
+     * @param path path to the object's new location
+     */
+    void moved(String from, String path);
+
     /**
      * @param newSnapshotId the new snapshot id of the target object if the resulting patch would be applied
      * @return the object representing the final patch
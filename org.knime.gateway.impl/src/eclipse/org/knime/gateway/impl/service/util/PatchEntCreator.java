@@ -95,6 +95,11 @@ public void added(final String path, final Object value) {
         }
     }
 
+    @Override
+    public void moved(final String from, final String path) {
+        m_ops.add(new DefaultPatchOpEntBuilder().setOp(OpEnum.MOVE).setFrom(from).setPath(path).build());
+    }
+
     /**
      * @return the snapshot id of the last patch that has been created via this patch creator
      */
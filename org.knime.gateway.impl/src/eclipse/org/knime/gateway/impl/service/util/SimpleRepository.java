@@ -122,7 +122,7 @@ public SimpleRepository(final int maxNumSnapshotsPerEntity, final Supplier<Strin
      */
     @Override
     public String commit(final K key, final E entity) {
-        return commitInternal(key, entity);
+        return commitInternal(key, entity, false);
     }
 
     /**
@@ -144,7 +144,10 @@ public <P> Optional<P> getChangesAndCommit(final String snapshotID, final E enti
         if (!EntityDiff.compare(snapshot, entity, patchCreator)) {
             //try committing the current vision since there might be changes
             //compared to the latest version in the repository (not necessarily)
-            String newSnapshotID = commitInternal(key, entity);
+            //- no need to compare again if the snapshot compared to is the latest one
+            var latestSnapshot = m_latestSnapshotPerEntity.get(key);
+            var isDiffToLatest = latestSnapshot != null && latestSnapshot.getSecond() == snapshot;
+            String newSnapshotID = commitInternal(key, entity, isDiffToLatest);
             return Optional.of(patchCreator.create(newSnapshotID));
         } else {
             return Optional.empty();
@@ -172,11 +175,15 @@ public synchronized void disposeHistory(final Predicate<K> keyFilter) {
         m_historyPerEntity.entrySet().removeIf(e -> keyFilter.test(e.getKey()));
     }
 
-    private String commitInternal(final K key, final E entity) {
+    /**
+     * @param differsFromLatest if {@code true}, the entity is known to differ from the latest commit and doesn't need
+     *            to be compared again
+     */
+    private String commitInternal(final K key, final E entity, final boolean differsFromLatest) {
         //look for the most recent commit for the given key
         Pair<String, E> latestSnapshot = m_latestSnapshotPerEntity.get(key); //NOSONAR
         String snapshotID = null;
-        if (latestSnapshot != null && Objects.equals(latestSnapshot.getSecond(), entity)) {
+        if (!differsFromLatest && latestSnapshot != null && Objects.equals(latestSnapshot.getSecond(), entity)) {
             //only commit if there is a difference to the latest commit
             //if there are no changes, use the last snapshot id and don't commit
             snapshotID = latestSnapshot.getFirst();
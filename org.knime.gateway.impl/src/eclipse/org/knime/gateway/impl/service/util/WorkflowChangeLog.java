@@ -0,0 +1,296 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.service.util;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.knime.core.node.workflow.ConnectionID;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowAnnotationID;
+import org.knime.gateway.impl.service.util.WorkflowChangesTracker.WorkflowChange;
+
+/**
+ * Typed log of the changes that occurred to a workflow within a certain period of time (e.g. between two consecutive
+ * callbacks of a {@link WorkflowChangesListener}). It allows consumers to react selectively to changes (e.g. to only
+ * re-compute what's affected by the changed nodes) instead of assuming that everything changed.
+ *
+ * Instances are immutable.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ * @since 5.12
+ */
+public final class WorkflowChangeLog {
+
+    /**
+     * An empty change log.
+     */
+    public static final WorkflowChangeLog EMPTY =
+        new WorkflowChangeLog(Map.of(), Map.of(), Set.of(), Set.of(), false);
+
+    /**
+     * The kind of changes to a node.
+     */
+    public enum NodeChange {
+            /** The node's state changed (potentially affects other nodes, too) */
+            STATE,
+            /** The node's progress changed */
+            PROGRESS,
+            /** The node's message changed */
+            MESSAGE,
+            /** The node's ui-info (e.g. position) or node annotation changed */
+            UI_INFO,
+            /** Some other property of the node changed (e.g. its name) */
+            PROPERTY,
+            /** The loop status of the node changed (e.g. a loop has been paused) */
+            LOOP_STATUS;
+    }
+
+    /**
+     * The kind of changes to a connection.
+     */
+    public enum ConnectionChange {
+            /** Bendpoints of the connection have been modified */
+            BENDPOINTS,
+            /** The (streaming) progress of the connection changed */
+            PROGRESS;
+    }
+
+    private final Map<NodeID, Set<NodeChange>> m_nodeChanges;
+
+    private final Map<ConnectionID, Set<ConnectionChange>> m_connectionChanges;
+
+    private final Set<WorkflowAnnotationID> m_changedAnnotations;
+
+    private final Set<WorkflowChange> m_workflowChanges;
+
+    private final boolean m_hasUnspecifiedChanges;
+
+    private WorkflowChangeLog(final Map<NodeID, Set<NodeChange>> nodeChanges,
+        final Map<ConnectionID, Set<ConnectionChange>> connectionChanges,
+        final Set<WorkflowAnnotationID> changedAnnotations, final Set<WorkflowChange> workflowChanges,
+        final boolean hasUnspecifiedChanges) {
+        m_nodeChanges = nodeChanges;
+        m_connectionChanges = connectionChanges;
+        m_changedAnnotations = changedAnnotations;
+        m_workflowChanges = workflowChanges;
+        m_hasUnspecifiedChanges = hasUnspecifiedChanges;
+    }
+
+    /**
+     * @return the changed nodes mapped to the kind of changes that occurred to them
+     */
+    public Map<NodeID, Set<NodeChange>> getNodeChanges() {
+        return m_nodeChanges;
+    }
+
+    /**
+     * @param changes the kind of changes to filter for; if none are given, all changed nodes are returned
+     * @return the ids of the nodes with at least one of the given kind of changes
+     */
+    public Set<NodeID> getChangedNodes(final NodeChange... changes) {
+        if (changes.length == 0) {
+            return m_nodeChanges.keySet();
+        }
+        var filter = Set.of(changes);
+        return m_nodeChanges.entrySet().stream()
+            .filter(e -> !Collections.disjoint(e.getValue(), filter)).map(Map.Entry::getKey)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @param changes the kind of changes to check for
+     * @return whether at least one node has at least one of the given kind of changes
+     */
+    public boolean hasNodeChanges(final NodeChange... changes) {
+        var filter = Set.of(changes);
+        return m_nodeChanges.values().stream().anyMatch(c -> !Collections.disjoint(c, filter));
+    }
+
+    /**
+     * @return the changed connections mapped to the kind of changes that occurred to them
+     */
+    public Map<ConnectionID, Set<ConnectionChange>> getConnectionChanges() {
+        return m_connectionChanges;
+    }
+
+    /**
+     * @return the ids of the workflow annotations that changed
+     */
+    public Set<WorkflowAnnotationID> getChangedAnnotations() {
+        return m_changedAnnotations;
+    }
+
+    /**
+     * @return the structural changes that occurred (e.g. nodes or connections added or removed)
+     */
+    public Set<WorkflowChange> getWorkflowChanges() {
+        return m_workflowChanges;
+    }
+
+    /**
+     * @param changes the structural changes to check for
+     * @return whether at least one of the given structural changes occurred
+     */
+    public boolean hasWorkflowChanges(final WorkflowChange... changes) {
+        return !Collections.disjoint(m_workflowChanges, Set.of(changes));
+    }
+
+    /**
+     * @return whether changes occurred that couldn't be specified any further - consumers should assume that
+     *         'anything' could have changed in that case
+     */
+    public boolean hasUnspecifiedChanges() {
+        return m_hasUnspecifiedChanges;
+    }
+
+    /**
+     * @return whether nothing but the (execution) progress of nodes and/or connections changed, e.g. while a workflow
+     *         is being executed
+     */
+    public boolean hasProgressChangesOnly() {
+        return !isEmpty() && !m_hasUnspecifiedChanges && m_changedAnnotations.isEmpty() && m_workflowChanges.isEmpty()
+            && m_nodeChanges.values().stream().allMatch(c -> c.size() == 1 && c.contains(NodeChange.PROGRESS))
+            && m_connectionChanges.values().stream()
+                .allMatch(c -> c.size() == 1 && c.contains(ConnectionChange.PROGRESS));
+    }
+
+    /**
+     * @return whether no change has been logged at all
+     */
+    public boolean isEmpty() {
+        return !m_hasUnspecifiedChanges && m_nodeChanges.isEmpty() && m_connectionChanges.isEmpty()
+            && m_changedAnnotations.isEmpty() && m_workflowChanges.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "WorkflowChangeLog[nodes=" + m_nodeChanges + ", connections=" + m_connectionChanges + ", annotations="
+            + m_changedAnnotations + ", workflow=" + m_workflowChanges + ", unspecified=" + m_hasUnspecifiedChanges
+            + "]";
+    }
+
+    /**
+     * Records changes in order to create {@link WorkflowChangeLog}-instances. Thread-safe.
+     */
+    static final class Recorder {
+
+        private final Map<NodeID, Set<NodeChange>> m_nodeChanges = new HashMap<>();
+
+        private final Map<ConnectionID, Set<ConnectionChange>> m_connectionChanges = new HashMap<>();
+
+        private final Set<WorkflowAnnotationID> m_changedAnnotations = new HashSet<>();
+
+        private final Set<WorkflowChange> m_workflowChanges = EnumSet.noneOf(WorkflowChange.class);
+
+        private boolean m_hasUnspecifiedChanges;
+
+        synchronized void nodeChanged(final NodeID nodeId, final NodeChange change) {
+            m_nodeChanges.computeIfAbsent(nodeId, id -> EnumSet.noneOf(NodeChange.class)).add(change);
+        }
+
+        synchronized void connectionChanged(final ConnectionID connectionId, final ConnectionChange change) {
+            m_connectionChanges.computeIfAbsent(connectionId, id -> EnumSet.noneOf(ConnectionChange.class))
+                .add(change);
+        }
+
+        synchronized void annotationChanged(final WorkflowAnnotationID annotationId) {
+            m_changedAnnotations.add(annotationId);
+        }
+
+        synchronized void workflowChanged(final WorkflowChange change) {
+            m_workflowChanges.add(change);
+        }
+
+        synchronized void unspecifiedChange() {
+            m_hasUnspecifiedChanges = true;
+        }
+
+        /**
+         * @return the changes recorded so far (without clearing them)
+         */
+        synchronized WorkflowChangeLog get() {
+            if (isEmpty()) {
+                return EMPTY;
+            }
+            return new WorkflowChangeLog(
+                m_nodeChanges.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Set.copyOf(e.getValue()))),
+                m_connectionChanges.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Set.copyOf(e.getValue()))),
+                Set.copyOf(m_changedAnnotations), Set.copyOf(m_workflowChanges), m_hasUnspecifiedChanges);
+        }
+
+        /**
+         * @return the changes recorded so far; the recorder is cleared
+         */
+        synchronized WorkflowChangeLog getAndClear() {
+            var res = get();
+            clear();
+            return res;
+        }
+
+        synchronized void clear() {
+            m_nodeChanges.clear();
+            m_connectionChanges.clear();
+            m_changedAnnotations.clear();
+            m_workflowChanges.clear();
+            m_hasUnspecifiedChanges = false;
+        }
+
+        private boolean isEmpty() {
+            return !m_hasUnspecifiedChanges && m_nodeChanges.isEmpty() && m_connectionChanges.isEmpty()
+                && m_changedAnnotations.isEmpty() && m_workflowChanges.isEmpty();
+        }
+
+    }
+
+}
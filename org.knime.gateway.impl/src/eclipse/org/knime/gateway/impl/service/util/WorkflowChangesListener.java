@@ -51,12 +51,17 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.ConnectionID;
 import org.knime.core.node.workflow.LoopStatusChangeListener;
 import org.knime.core.node.workflow.NativeNodeContainer;
 import org.knime.core.node.workflow.NodeContainer;
@@ -69,6 +74,8 @@
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.gateway.api.util.CoreUtil;
 import org.knime.gateway.impl.service.util.CallThrottle.CallState;
+import org.knime.gateway.impl.service.util.WorkflowChangeLog.ConnectionChange;
+import org.knime.gateway.impl.service.util.WorkflowChangeLog.NodeChange;
 import org.knime.gateway.impl.service.util.WorkflowChangesTracker.WorkflowChange;
 import org.knime.gateway.impl.webui.WorkflowKey;
 
@@ -85,6 +92,11 @@ public class WorkflowChangesListener implements Closeable, Runnable {
 
     private final Set<Runnable> m_workflowChangedCallbacks = new HashSet<>();
 
+    private final Set<Consumer<WorkflowChangeLog>> m_workflowChangeLogCallbacks = new HashSet<>();
+
+    /* the changes since the last callback */
+    private final WorkflowChangeLog.Recorder m_changeLog = new WorkflowChangeLog.Recorder();
+
     private final Set<WorkflowChangesTracker> m_workflowChangesTrackers = Collections.synchronizedSet(new HashSet<>());
 
     private final Set<Runnable> m_postProcessCallbacks = new HashSet<>();
@@ -168,11 +180,16 @@ public WorkflowChangesListener(final WorkflowManager wfm, final Set<Scope> scope
 
         var isInStreamingMode = CoreUtil.isInStreamingMode(m_wfm);
         if (isInStreamingMode) {
-            m_connectionProgressListener = new ListenerImpl<>(ConnectionContainer::addProgressListener,
-                ConnectionContainer::removeProgressListener, e -> callback());
+            m_connectionProgressListener = ListenerImpl.perTarget(ConnectionContainer::addProgressListener,
+                ConnectionContainer::removeProgressListener,
+                cc -> e -> connectionChanged(cc, ConnectionChange.PROGRESS));
         }
 
         m_callThrottle = new CallThrottle(() -> {
+            var changeLog = m_changeLog.getAndClear();
+            for (final var callback : m_workflowChangeLogCallbacks) {
+                callback.accept(changeLog);
+            }
             for (final var callback : m_workflowChangedCallbacks) {
                 callback.run();
             }
@@ -182,6 +199,7 @@ public WorkflowChangesListener(final WorkflowManager wfm, final Set<Scope> scope
         m_workflowListener = e -> {
             addOrRemoveListenersFromNodeOrWorkflowAnnotation(e);
             trackChange(e);
+            m_workflowChangesTrackers.forEach(WorkflowChangesTracker::trackOtherChange);
             var type = e.getType();
             if (scopes.contains(Scope.EVERYTHING) || //
                 (scopes.contains(Scope.NODE_MESSAGES) && (type == Type.NODE_ADDED || type == Type.NODE_REMOVED))) {
@@ -190,19 +208,21 @@ public WorkflowChangesListener(final WorkflowManager wfm, final Set<Scope> scope
         };
 
         if (scopes.contains(Scope.NODE_MESSAGES) || scopes.contains(Scope.EVERYTHING)) {
-            m_nodeListeners.add(new ListenerImpl<>(NodeContainer::addNodeMessageListener,
-                NodeContainer::removeNodeMessageListener, e -> callback()));
+            m_nodeListeners.add(ListenerImpl.perTarget(NodeContainer::addNodeMessageListener,
+                NodeContainer::removeNodeMessageListener, nc -> e -> nodeChanged(nc, NodeChange.MESSAGE)));
         }
         if (scopes.contains(Scope.EVERYTHING)) {
-            m_nodeListeners.add(new ListenerImpl<>(NodeContainer::addNodeStateChangeListener,
-                NodeContainer::removeNodeStateChangeListener, e -> {
+            m_nodeListeners.add(ListenerImpl.perTarget(NodeContainer::addNodeStateChangeListener,
+                NodeContainer::removeNodeStateChangeListener, nc -> e -> {
                     updateWorkflowChangesTrackers(WorkflowChangesTracker.WorkflowChange.NODE_STATE_UPDATED);
-                    callback();
+                    // node state changes potentially affect other nodes, too (e.g. their allowed actions)
+                    nodeChangedAffectingOthers(nc, NodeChange.STATE);
                 }));
-            m_nodeListeners.add(new ListenerImpl<NodeContainer, NodeProgressListener>(
+            m_nodeListeners.add(ListenerImpl.<NodeContainer, NodeProgressListener> perTarget(
                 (nc, l) -> nc.getProgressMonitor().addProgressListener(l),
-                (nc, l) -> nc.getProgressMonitor().removeProgressListener(l), e -> callback()));
-            m_nodeListeners.add(new ListenerImpl<NodeContainer, NodeUIInformationListener>( //
+                (nc, l) -> nc.getProgressMonitor().removeProgressListener(l),
+                nc -> e -> nodeChanged(nc, NodeChange.PROGRESS)));
+            m_nodeListeners.add(ListenerImpl.<NodeContainer, NodeUIInformationListener> perTarget( //
                 (nc, l) -> { //
                     nc.addUIInformationListener(l);
                     nc.getNodeAnnotation().addUIInformationListener(l);
@@ -210,22 +230,26 @@ public WorkflowChangesListener(final WorkflowManager wfm, final Set<Scope> scope
                 (nc, l) -> { //
                     nc.removeUIInformationListener(l);
                     nc.getNodeAnnotation().removeUIInformationListener(l);
-                }, e -> callback()));
-            m_nodeListeners.add(new ListenerImpl<>(NodeContainer::addNodePropertyChangedListener,
-                NodeContainer::removeNodePropertyChangedListener, e -> callback()));
-            m_nodeListeners.add(new ListenerImpl<NodeContainer, LoopStatusChangeListener>(
+                }, nc -> e -> nodeChanged(nc, NodeChange.UI_INFO)));
+            m_nodeListeners.add(ListenerImpl.perTarget(NodeContainer::addNodePropertyChangedListener,
+                NodeContainer::removeNodePropertyChangedListener, nc -> e -> nodeChanged(nc, NodeChange.PROPERTY)));
+            m_nodeListeners.add(ListenerImpl.<NodeContainer, LoopStatusChangeListener> perTarget(
                 (nc, l) -> getNNC(nc).flatMap(NativeNodeContainer::getLoopStatusChangeHandler)
                     .ifPresent(h -> h.addLoopPausedListener(l)),
                 (nc, l) -> getNNC(nc).flatMap(NativeNodeContainer::getLoopStatusChangeHandler)
                     .ifPresent(h -> h.removeLoopPausedListener(l)),
-                this::callback));
-            m_workflowAnnotationListener = new ListenerImpl<>(WorkflowAnnotation::addUIInformationListener,
-                WorkflowAnnotation::removeUIInformationListener, e -> callback());
-            m_connectionUIInformationListener = new ListenerImpl<>(ConnectionContainer::addUIInformationListener,
-                ConnectionContainer::removeUIInformationListener, e -> {
-                    updateWorkflowChangesTrackers(WorkflowChange.BENDPOINTS_MODIFIED);
+                nc -> () -> nodeChangedAffectingOthers(nc, NodeChange.LOOP_STATUS)));
+            m_workflowAnnotationListener = ListenerImpl.perTarget(WorkflowAnnotation::addUIInformationListener,
+                WorkflowAnnotation::removeUIInformationListener, wa -> e -> {
+                    var annotationId = wa.getID();
+                    recordChange(r -> r.annotationChanged(annotationId));
                     callback();
                 });
+            m_connectionUIInformationListener = ListenerImpl.perTarget(ConnectionContainer::addUIInformationListener,
+                ConnectionContainer::removeUIInformationListener, cc -> e -> {
+                    updateWorkflowChangesTrackers(WorkflowChange.BENDPOINTS_MODIFIED);
+                    connectionChanged(cc, ConnectionChange.BENDPOINTS);
+                });
         }
     }
 
@@ -236,12 +260,27 @@ public WorkflowChangesListener(final WorkflowManager wfm, final Set<Scope> scope
      * @since 5.6
      */
     public void addWorkflowChangeCallback(final Runnable callback) {
-        if (m_workflowChangedCallbacks.isEmpty()) {
+        if (!hasCallbacks()) {
             startListening();
         }
         m_workflowChangedCallbacks.add(callback);
     }
 
+    /**
+     * Adds a callback which is called as soon as the associated workflow changed. In contrast to
+     * {@link #addWorkflowChangeCallback(Runnable)}, the callback receives a {@link WorkflowChangeLog} describing the
+     * changes since the previous callback. The change-log callbacks are called before the other callbacks.
+     *
+     * @param callback the callback to call if a change occurs in the workflow manager(s)
+     * @since 5.12
+     */
+    public void addWorkflowChangeLogCallback(final Consumer<WorkflowChangeLog> callback) {
+        if (!hasCallbacks()) {
+            startListening();
+        }
+        m_workflowChangeLogCallbacks.add(callback);
+    }
+
     /**
      * Removes a registered callback.
      *
@@ -250,11 +289,28 @@ public void addWorkflowChangeCallback(final Runnable callback) {
      */
     public void removeCallback(final Runnable callback) {
         m_workflowChangedCallbacks.remove(callback);
-        if (m_workflowChangedCallbacks.isEmpty()) {
+        if (!hasCallbacks()) {
             stopListening();
         }
     }
 
+    /**
+     * Removes a registered change-log callback.
+     *
+     * @param callback
+     * @since 5.12
+     */
+    public void removeWorkflowChangeLogCallback(final Consumer<WorkflowChangeLog> callback) {
+        m_workflowChangeLogCallbacks.remove(callback);
+        if (!hasCallbacks()) {
+            stopListening();
+        }
+    }
+
+    private boolean hasCallbacks() {
+        return !m_workflowChangedCallbacks.isEmpty() || !m_workflowChangeLogCallbacks.isEmpty();
+    }
+
     /**
      * @param tracker The tracker to remove.
      */
@@ -267,6 +323,43 @@ public void removeWorkflowChangesTracker(final WorkflowChangesTracker tracker) {
 
     private void updateWorkflowChangesTrackers(final WorkflowChangesTracker.WorkflowChange workflowChange) {
         m_workflowChangesTrackers.forEach(t -> t.track(workflowChange));
+        recordChange(r -> r.workflowChanged(workflowChange));
+    }
+
+    /*
+     * Records the change in the change log passed to the callbacks and in the change logs of all trackers.
+     */
+    private void recordChange(final Consumer<WorkflowChangeLog.Recorder> change) {
+        change.accept(m_changeLog);
+        m_workflowChangesTrackers.forEach(t -> t.recordChange(change));
+    }
+
+    /*
+     * Change that only affects the given node itself (e.g. progress, message, position).
+     */
+    private void nodeChanged(final NodeContainer nc, final NodeChange change) {
+        var nodeId = nc.getID();
+        recordChange(r -> r.nodeChanged(nodeId, change));
+        callback();
+    }
+
+    /*
+     * Change of the given node that potentially affects other nodes, too (e.g. node state).
+     */
+    private void nodeChangedAffectingOthers(final NodeContainer nc, final NodeChange change) {
+        var nodeId = nc.getID();
+        recordChange(r -> r.nodeChanged(nodeId, change));
+        m_workflowChangesTrackers.forEach(WorkflowChangesTracker::trackOtherChange);
+        callback();
+    }
+
+    /*
+     * Change that only affects the given connection itself (e.g. bendpoints, streaming progress).
+     */
+    private void connectionChanged(final ConnectionContainer cc, final ConnectionChange change) {
+        var connectionId = new ConnectionID(cc.getDest(), cc.getDestPort());
+        recordChange(r -> r.connectionChanged(connectionId, change));
+        callback();
     }
 
     /**
@@ -342,6 +435,9 @@ private void startListening() {
             }
         }
 
+        // changes might have been missed while not listening
+        m_workflowChangesTrackers.forEach(WorkflowChangesTracker::trackOtherChange);
+        recordChange(WorkflowChangeLog.Recorder::unspecifiedChange);
         m_isListening = true;
     }
 
@@ -381,9 +477,7 @@ private void trackChange(final WorkflowEvent e) { // NOSONAR: Simple 1:1 matchin
             case NODE_PORTS_CHANGED ->
                 updateWorkflowChangesTrackers(WorkflowChange.NODE_PORTS_CHANGED);
             case PORTS_BAR_UI_INFO_CHANGED -> updateWorkflowChangesTrackers(WorkflowChange.PORTS_BAR_MOVED);
-            default -> {
-                //
-            }
+            default -> recordChange(WorkflowChangeLog.Recorder::unspecifiedChange);
         }
     }
 
@@ -438,6 +532,8 @@ private static Optional<NativeNodeContainer> getNNC(final NodeContainer nc) {
      */
     @Override
     public void run() {
+        m_workflowChangesTrackers.forEach(WorkflowChangesTracker::trackOtherChange);
+        recordChange(WorkflowChangeLog.Recorder::unspecifiedChange);
         callback();
     }
 
@@ -447,9 +543,12 @@ public void run() {
      * @param change the type of change that occurred
      */
     public void trigger(final WorkflowChange change) {
-        if (change != null) {
-            updateWorkflowChangesTrackers(change);
+        if (change == null) {
+            run();
+            return;
         }
+        updateWorkflowChangesTrackers(change);
+        m_workflowChangesTrackers.forEach(WorkflowChangesTracker::trackOtherChange);
         callback();
     }
 
@@ -488,11 +587,23 @@ private void stopListening(final WorkflowManager wfm) {
         m_connectionUIInformationListener.detachFrom(connectionContainers);
     }
 
+    /**
+     * Configures the throttling of the callbacks for this workflow (e.g. to throttle the callbacks more aggressively
+     * for a workflow that is known to emit lots of changes).
+     *
+     * @param settings the throttle settings
+     * @since 5.12
+     */
+    public void setThrottleSettings(final CallThrottle.Settings settings) {
+        m_callThrottle.setSettings(settings);
+    }
+
     @Override
     public void close() {
         stopListening();
         m_callThrottle.dispose();
         m_workflowChangedCallbacks.clear();
+        m_workflowChangeLogCallbacks.clear();
         m_workflowChangesTrackers.clear();
         m_postProcessCallbacks.clear();
     }
@@ -535,12 +646,36 @@ public CallState getCallState() {
 
         final BiConsumer<T, L> m_detacher;
 
-        final L m_listener;
+        final Function<T, L> m_listenerFactory;
+
+        /*
+         * The listeners per target - only used if there is a dedicated listener instance per target.
+         */
+        final Map<T, L> m_listenersPerTarget;
 
         private ListenerImpl(final BiConsumer<T, L> attacher, final BiConsumer<T, L> detacher, final L listener) {
             m_attacher = attacher;
             m_detacher = detacher;
-            m_listener = listener;
+            m_listenerFactory = t -> listener;
+            m_listenersPerTarget = null;
+        }
+
+        private ListenerImpl(final BiConsumer<T, L> attacher, final BiConsumer<T, L> detacher,
+            final Function<T, L> listenerFactory, final Map<T, L> listenersPerTarget) {
+            m_attacher = attacher;
+            m_detacher = detacher;
+            m_listenerFactory = listenerFactory;
+            m_listenersPerTarget = listenersPerTarget;
+        }
+
+        /**
+         * Creates a listener that attaches a dedicated listener instance to each target such that the listener 'knows'
+         * the target it has been attached to (e.g. to determine the node a change event belongs to).
+         */
+        static <T, L> ListenerImpl<T, L> perTarget(final BiConsumer<T, L> attacher, final BiConsumer<T, L> detacher,
+            final Function<T, L> listenerFactory) {
+            return new ListenerImpl<>(attacher, detacher, listenerFactory,
+                Collections.synchronizedMap(new IdentityHashMap<>()));
         }
 
         @Override
@@ -555,12 +690,18 @@ public void detachFrom(final Collection<T> targets) {
 
         @Override
         public void attachTo(final T target) {
-            m_attacher.accept(target, m_listener);
+            var listener = m_listenersPerTarget == null ? m_listenerFactory.apply(target)
+                : m_listenersPerTarget.computeIfAbsent(target, m_listenerFactory);
+            m_attacher.accept(target, listener);
         }
 
         @Override
         public void detachFrom(final T target) {
-            m_detacher.accept(target, m_listener);
+            var listener =
+                m_listenersPerTarget == null ? m_listenerFactory.apply(target) : m_listenersPerTarget.remove(target);
+            if (listener != null) {
+                m_detacher.accept(target, listener);
+            }
         }
 
     }
@@ -49,8 +49,14 @@
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import org.knime.core.node.workflow.ConnectionID;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowAnnotationID;
+import org.knime.gateway.impl.service.util.WorkflowChangeLog.NodeChange;
+
 /**
  * Instances remember specific changes until reset.
  *
@@ -107,6 +113,23 @@ synchronized void track(final WorkflowChange workflowChange) {
         m_trackerAccess.m_trackedChanges.add(workflowChange);
     }
 
+    /**
+     * Records a change in the tracker's {@link WorkflowChangeLog}.
+     *
+     * @param change the change to record
+     */
+    synchronized void recordChange(final Consumer<WorkflowChangeLog.Recorder> change) {
+        change.accept(m_trackerAccess.m_changeLog);
+    }
+
+    /**
+     * Remembers that a change occurred which can't be attributed to individual nodes, connections or annotations
+     * (e.g. node state changes which potentially affect other nodes, too, or structural changes).
+     */
+    synchronized void trackOtherChange() {
+        m_trackerAccess.m_hasOtherChanges = true;
+    }
+
     /**
      * Lets one invoke methods on the tracker. Also makes sure that no more changes are being tracked while the methods
      * are being invoked.
@@ -126,9 +149,14 @@ public static final class WorkflowChangesTrackerAccess {
 
         private final Set<WorkflowChange> m_trackedChanges = new HashSet<>();
 
+        private final WorkflowChangeLog.Recorder m_changeLog = new WorkflowChangeLog.Recorder();
+
+        private boolean m_hasOtherChanges;
+
         private WorkflowChangesTrackerAccess(final boolean setAllOccurred) {
             if (setAllOccurred) {
                 m_trackedChanges.addAll(Arrays.asList(WorkflowChange.values()));
+                m_hasOtherChanges = true;
             }
         }
 
@@ -145,11 +173,54 @@ public Boolean hasOccurredAtLeastOne(final WorkflowChange... workflowChanges) {
             return Boolean.FALSE;
         }
 
+        /**
+         * @return whether changes occurred that can't be attributed to individual nodes, connections or annotations
+         *         (i.e. which potentially affect the entire workflow)
+         * @since 5.12
+         */
+        public boolean hasOtherChanges() {
+            return m_hasOtherChanges;
+        }
+
+        /**
+         * @return the ids of the nodes that changed (see {@link WorkflowChangeLog#getChangedNodes(NodeChange...)})
+         * @since 5.12
+         */
+        public Set<NodeID> getChangedNodes() {
+            return m_changeLog.get().getChangedNodes();
+        }
+
+        /**
+         * @return the ids of the connections that changed (e.g. bendpoints or streaming progress)
+         * @since 5.12
+         */
+        public Set<ConnectionID> getChangedConnections() {
+            return m_changeLog.get().getConnectionChanges().keySet();
+        }
+
+        /**
+         * @return the ids of the workflow annotations that changed
+         * @since 5.12
+         */
+        public Set<WorkflowAnnotationID> getChangedAnnotations() {
+            return m_changeLog.get().getChangedAnnotations();
+        }
+
+        /**
+         * @return the typed log of all the changes tracked since the last reset
+         * @since 5.12
+         */
+        public WorkflowChangeLog getChangeLog() {
+            return m_changeLog.get();
+        }
+
         /**
          * Forget that any event has occurred
          */
         public void reset() {
             m_trackedChanges.clear();
+            m_changeLog.clear();
+            m_hasOtherChanges = false;
         }
 
     }
@@ -49,48 +49,35 @@
 package org.knime.gateway.impl.util;
 
 import java.time.Duration;
-import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+
+import org.knime.core.node.NodeLogger;
 
 /**
  * Can be used to wrap actions that should not be executed too frequently.
  *
+ * The action is executed on the shared {@link EventDispatchScheduler} (i.e. a debouncer is just a lightweight timer
+ * and doesn't own a thread). Executions of the same debouncer never overlap.
+ *
  * @author Kai Franze, KNIME GmbH, Germany
  * @author Martin Horn, KNIME GmbH, Konstanz, Germany
  * @since 5.10
  */
 public final class Debouncer {
 
-    /**
-     * It is vital for the debounce implementation that this is a single-thread executor.
-     */
-    private final ExecutorService m_executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+    private final Runnable m_userTask;
 
-    private final Runnable m_runnable;
+    private final long m_delayInNanos;
 
-    private final AtomicReference<State> m_state = new AtomicReference<>(State.IDLE);
+    private State m_state = State.IDLE;
 
-    private final Semaphore m_semaphore = new Semaphore(0);
+    /* the (System#nanoTime-)time the user task is due - moved further into the future by every call */
+    private long m_dueTime;
 
-    /**
-     * Daemon threads do not block JVM shutdown even if call to {@link #shutdown()} is missed.
-     */
-    private static final class DaemonThreadFactory implements ThreadFactory {
-
-        @Override
-        public Thread newThread(final Runnable r) {
-            final var t = new Thread(r);
-            t.setDaemon(true);
-            Optional.ofNullable(Debouncer.class.getCanonicalName()) //
-                .ifPresent(t::setName);
-            return t;
-        }
-    }
+    private Future<?> m_scheduled;
+
+    private boolean m_isShutdown;
 
     /**
      * Creates a new Debouncer.
@@ -99,25 +86,8 @@ public Thread newThread(final Runnable r) {
      * @param userTask -
      */
     public Debouncer(final Duration delay, final Runnable userTask) {
-        m_runnable = () -> {
-            // each call during the delay restarts the delay, multiple calls collapse to a single follow-up run
-            do {
-                try {
-                    // block until delay has elapsed or permit becomes available
-                    m_semaphore.tryAcquire(delay.toMillis(), TimeUnit.MILLISECONDS);
-                } catch (InterruptedException ex) { // formality
-                    Thread.currentThread().interrupt();
-                    return;
-                }
-            } while (m_state.updateAndGet( //
-                state -> state == State.QUEUED //
-                    ? State.SCHEDULED //
-                    : State.IDLE //
-            ) == State.SCHEDULED);
-            // go again if we've had an incoming call during tryAcquire
-            // the do-while "drains" the QUEUED state by delaying again and invoking a follow-up userTask run
-            userTask.run();
-        };
+        m_delayInNanos = delay.toNanos();
+        m_userTask = userTask;
     }
 
     /**
@@ -127,41 +97,85 @@ public Debouncer(final Duration delay, final Runnable userTask) {
      *
      * Won't do anything if {@link #shutdown()} has been called.
      */
-    public void call() {
-        if (m_executor.isShutdown()) {
+    public synchronized void call() {
+        if (m_isShutdown) {
             return;
         }
+        switch (m_state) {
+            case IDLE -> scheduleAfterDelay();
+            case SCHEDULED ->
+                // each call during the delay restarts the delay - the timer itself is only re-scheduled once it fires
+                m_dueTime = System.nanoTime() + m_delayInNanos;
+            case RUNNING -> m_state = State.RUNNING_AND_QUEUED;
+            case RUNNING_AND_QUEUED -> {
+                // multiple calls collapse to a single follow-up run
+            }
+        }
+    }
 
-        if (m_state.compareAndSet(State.IDLE, State.SCHEDULED)) {
-            // if IDLE: transition to SCHEDULED and enqueue runnable on thread executor
-            m_executor.execute(m_runnable);
-        } else if (m_state.compareAndSet(State.SCHEDULED, State.QUEUED)) {
-            // if SCHEDULED: transition to QUEUED and unblock any runnable currently at tryAcquire,
-            // drop this #call
-            m_semaphore.release();
+    private void scheduleAfterDelay() {
+        m_state = State.SCHEDULED;
+        m_dueTime = System.nanoTime() + m_delayInNanos;
+        m_scheduled = EventDispatchScheduler.getInstance().schedule(this::run, m_delayInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void run() {
+        synchronized (this) {
+            if (m_isShutdown) {
+                return;
+            }
+            var remaining = m_dueTime - System.nanoTime();
+            if (remaining > 0) {
+                // the delay has been restarted in the meantime
+                m_scheduled = EventDispatchScheduler.getInstance().schedule(this::run, remaining, TimeUnit.NANOSECONDS);
+                return;
+            }
+            m_state = State.RUNNING;
+        }
+        try {
+            m_userTask.run();
+        } catch (RuntimeException e) { // NOSONAR
+            NodeLogger.getLogger(Debouncer.class).error("Problem executing debounced task", e);
+        } finally {
+            synchronized (this) {
+                if (m_state == State.RUNNING_AND_QUEUED && !m_isShutdown) {
+                    // the delay for the follow-up run only starts once the task is done
+                    scheduleAfterDelay();
+                } else {
+                    m_state = State.IDLE;
+                }
+            }
         }
     }
 
     /**
-     * Shuts down the internal scheduler.
+     * Cancels a pending execution. Subsequent calls won't have any effect.
      */
-    public void shutdown() {
-        m_executor.shutdown();
+    public synchronized void shutdown() {
+        m_isShutdown = true;
+        if (m_scheduled != null) {
+            m_scheduled.cancel(false);
+            m_scheduled = null;
+        }
     }
 
     private enum State {
             /**
-             * No worker queued
+             * No execution scheduled
              */
             IDLE,
             /**
-             * Worker waiting a delay
+             * Execution waiting for the delay to elapse
              */
             SCHEDULED,
             /**
-             * "Delay has been reset"-signal is pending
+             * Task is running
+             */
+            RUNNING,
+            /**
+             * Task is running and another execution has been requested in the meantime
              */
-            QUEUED,
+            RUNNING_AND_QUEUED,
     }
 
 }
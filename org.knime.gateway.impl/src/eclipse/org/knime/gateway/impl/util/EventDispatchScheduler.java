@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.gateway.impl.util;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Gateway-wide scheduler to dispatch events (e.g. throttled or debounced callbacks, see
+ * {@link org.knime.gateway.impl.service.util.CallThrottle} and {@link Debouncer}). Throttles and debouncers are just
+ * lightweight timers on this scheduler instead of owning a thread each. Ordering guarantees (e.g. that calls of the
+ * same throttle are never executed concurrently) are the responsibility of the throttles and debouncers.
+ *
+ * The timers are run by a single daemon thread which only hands the due tasks over to a separate pool of daemon
+ * threads. The tasks may block (e.g. while waiting for a workflow lock or while saving and uploading a project), hence
+ * the pool grows with the number of concurrently running tasks and idle threads are discarded after a while. I.e. a few
+ * slow tasks can't hold up the dispatch of all the others. The pool is bounded, though (see system property
+ * {@code org.knime.gateway.impl.util.EventDispatchScheduler.maxThreads}); once all its threads are busy, due tasks are
+ * queued.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ * @since 5.12
+ */
+public final class EventDispatchScheduler {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(EventDispatchScheduler.class);
+
+    /* weight of the latest lag in the moving average */
+    private static final double LAG_SMOOTHING = 0.1;
+
+    private static final long IDLE_THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+
+    private static final int MAX_THREADS = Math.max(1, Integer.getInteger(EventDispatchScheduler.class.getName()
+        + ".maxThreads", Math.max(32, 4 * Runtime.getRuntime().availableProcessors())));
+
+    private static final EventDispatchScheduler INSTANCE = new EventDispatchScheduler();
+
+    private final ScheduledThreadPoolExecutor m_timer;
+
+    private final ThreadPoolExecutor m_executor;
+
+    private double m_averageLagInMs;
+
+    private long m_maxLagInMs;
+
+    private long m_dispatchedTaskCount;
+
+    private EventDispatchScheduler() {
+        m_timer = new ScheduledThreadPoolExecutor(1, r -> {
+            var t = new Thread(r, "KNIME-Event-Dispatch-Timer");
+            t.setDaemon(true);
+            return t;
+        });
+        m_timer.setRemoveOnCancelPolicy(true);
+        var count = new AtomicInteger();
+        // core = max pool size: new threads are started (up to the maximum) before tasks are queued
+        m_executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, IDLE_THREAD_KEEP_ALIVE_IN_SECONDS,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                var t = new Thread(r, "KNIME-Event-Dispatch-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        m_executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return the singleton instance
+     */
+    public static EventDispatchScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Executes the given task as soon as possible.
+     *
+     * @param task the task to run
+     * @return the future representing the pending task
+     */
+    public Future<?> execute(final Runnable task) {
+        return schedule(task, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Executes the given task after the given delay. Exceptions thrown by the task are logged.
+     *
+     * @param task the task to run
+     * @param delay the delay
+     * @param unit the unit of the delay
+     * @return the future representing the pending task (e.g. to cancel it); cancelling it once the task has been
+     *         handed over for execution won't have an effect anymore
+     */
+    public Future<?> schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        var dueTime = System.nanoTime() + unit.toNanos(delay);
+        return m_timer.schedule(() -> m_executor.execute(() -> {
+            recordLag(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - dueTime));
+            try {
+                task.run();
+            } catch (RuntimeException e) { // NOSONAR
+                LOGGER.error("Problem executing a scheduled event-dispatch task", e);
+            }
+        }), delay, unit);
+    }
+
+    private synchronized void recordLag(final long lagInMs) {
+        m_averageLagInMs = LAG_SMOOTHING * lagInMs + (1 - LAG_SMOOTHING) * m_averageLagInMs;
+        m_maxLagInMs = Math.max(m_maxLagInMs, lagInMs);
+        m_dispatchedTaskCount++;
+    }
+
+    /**
+     * @return a snapshot of the scheduler's metrics
+     */
+    public synchronized Metrics getMetrics() {
+        return new Metrics(m_timer.getQueue().size() + m_executor.getQueue().size(), m_executor.getActiveCount(),
+            m_dispatchedTaskCount, m_executor.getCompletedTaskCount(), m_averageLagInMs, m_maxLagInMs);
+    }
+
+    /**
+     * Metrics of the {@link EventDispatchScheduler}.
+     *
+     * @param queueDepth the number of pending tasks (including the ones whose delay hasn't elapsed, yet)
+     * @param activeThreadCount the number of threads currently executing a task
+     * @param dispatchedTaskCount the number of tasks started so far (i.e. whose lag has been recorded)
+     * @param completedTaskCount the number of tasks executed so far
+     * @param averageLagInMs the (moving) average of the time between the moment a task was due and the moment it was
+     *            actually started
+     * @param maxLagInMs the maximum lag observed so far
+     */
+    public record Metrics(int queueDepth, int activeThreadCount, long dispatchedTaskCount, long completedTaskCount,
+        double averageLagInMs, long maxLagInMs) {
+        //
+    }
+
+}
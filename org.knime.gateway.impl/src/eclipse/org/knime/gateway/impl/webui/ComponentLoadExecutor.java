@@ -0,0 +1,178 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Gateway-wide executor for component loads (see {@link ComponentLoadJobManager}). It's backed by a small, bounded
+ * pool of daemon threads such that component loads don't compete with the tasks of the common fork-join-pool.
+ *
+ * Pending loads are queued per project and the projects are served in a round-robin fashion, i.e. a project with many
+ * pending loads can't starve the loads of other projects. The number of pending loads is limited per project and in
+ * total; loads exceeding these limits are rejected with a {@link RejectedExecutionException}.
+ *
+ * The number of threads and the limits can be configured via the system properties
+ * {@code org.knime.gateway.impl.webui.ComponentLoadExecutor.numThreads},
+ * {@code org.knime.gateway.impl.webui.ComponentLoadExecutor.maxPendingLoadsPerProject} and
+ * {@code org.knime.gateway.impl.webui.ComponentLoadExecutor.maxPendingLoads}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class ComponentLoadExecutor {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ComponentLoadExecutor.class);
+
+    private static final ComponentLoadExecutor INSTANCE = new ComponentLoadExecutor( //
+        Integer.getInteger(ComponentLoadExecutor.class.getName() + ".numThreads",
+            Math.min(4, Runtime.getRuntime().availableProcessors())), //
+        Integer.getInteger(ComponentLoadExecutor.class.getName() + ".maxPendingLoadsPerProject", 32), //
+        Integer.getInteger(ComponentLoadExecutor.class.getName() + ".maxPendingLoads", 256) //
+    );
+
+    private final ThreadPoolExecutor m_executor;
+
+    private final int m_maxPendingLoadsPerProject;
+
+    private final int m_maxPendingLoads;
+
+    /* project key -> pending loads; the iteration order of the map is the order in which the projects are served */
+    private final Map<Object, ArrayDeque<Runnable>> m_pendingLoads = new LinkedHashMap<>();
+
+    private int m_numPendingLoads;
+
+    ComponentLoadExecutor(final int numThreads, final int maxPendingLoadsPerProject, final int maxPendingLoads) {
+        var count = new AtomicInteger();
+        m_executor = new ThreadPoolExecutor(numThreads, numThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            r -> {
+                var t = new Thread(r, "KNIME-Component-Loader-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        m_executor.allowCoreThreadTimeOut(true);
+        m_maxPendingLoadsPerProject = maxPendingLoadsPerProject;
+        m_maxPendingLoads = maxPendingLoads;
+    }
+
+    /**
+     * @return the singleton instance
+     */
+    static ComponentLoadExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param projectKey identifies the project the loads are scheduled for (compared by {@link Object#equals(Object)})
+     * @return an executor that schedules the given tasks as loads of the given project
+     */
+    Executor forProject(final Object projectKey) {
+        return task -> execute(projectKey, task);
+    }
+
+    /**
+     * Schedules a load for the given project.
+     *
+     * @param projectKey identifies the project the load is scheduled for
+     * @param task the load to run
+     * @throws RejectedExecutionException if the maximum number of pending loads (for the project) is reached
+     */
+    synchronized void execute(final Object projectKey, final Runnable task) {
+        if (m_numPendingLoads >= m_maxPendingLoads) {
+            throw new RejectedExecutionException(
+                "Too many components being loaded (" + m_numPendingLoads + "). Please try again later.");
+        }
+        var projectLoads = m_pendingLoads.get(projectKey);
+        if (projectLoads == null) {
+            projectLoads = new ArrayDeque<>();
+            m_pendingLoads.put(projectKey, projectLoads);
+        } else if (projectLoads.size() >= m_maxPendingLoadsPerProject) {
+            throw new RejectedExecutionException("Too many components being loaded into the same workflow ("
+                + projectLoads.size() + "). Please try again later.");
+        }
+        projectLoads.add(task);
+        m_numPendingLoads++;
+        // one 'run-next' per pending load -- which load is actually run is only decided once a thread is available
+        m_executor.execute(this::runNext);
+    }
+
+    private void runNext() {
+        Runnable task;
+        synchronized (this) {
+            var it = m_pendingLoads.entrySet().iterator();
+            var next = it.next();
+            it.remove();
+            task = next.getValue().poll();
+            if (!next.getValue().isEmpty()) {
+                // re-insert to move the project to the end of the line
+                m_pendingLoads.put(next.getKey(), next.getValue());
+            }
+            m_numPendingLoads--;
+        }
+        try {
+            task.run();
+        } catch (RuntimeException e) { // NOSONAR
+            LOGGER.error("Problem executing a component load", e);
+        }
+    }
+
+    /**
+     * @return the number of loads that are scheduled but haven't been started, yet
+     */
+    synchronized int getNumPendingLoads() {
+        return m_numPendingLoads;
+    }
+
+}
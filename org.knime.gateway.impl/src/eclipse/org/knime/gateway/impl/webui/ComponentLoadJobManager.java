@@ -60,11 +60,14 @@
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.workflow.NodeID;
 import org.knime.core.node.workflow.NodeProgressListener;
@@ -104,12 +107,16 @@ public final class ComponentLoadJobManager {
 
     private final IComponentLoader m_componentLoader;
 
+    private final Executor m_executor;
+
     ComponentLoadJobManager(final WorkflowManager wfm, final WorkflowChangesListener workflowChangesListener,
         final SpaceProviders spaceProviders, final IComponentLoader componentLoader) {
         m_wfm = wfm;
         m_workflowChangesListener = workflowChangesListener;
         m_spaceProviders = spaceProviders;
         m_componentLoader = componentLoader;
+        // loads of all the (sub-)workflows of a project share the project's 'fair share' of the executor
+        m_executor = ComponentLoadExecutor.getInstance().forProject(wfm.getProjectWFM());
     }
 
     ComponentLoadJobManager(final WorkflowManager wfm, final WorkflowChangesListener workflowChangesListener,
@@ -370,7 +377,9 @@ void run() {
 
             // Keep the original future so we can attach listener cleanup without mixing in the handled
             // error-mapping below.
-            var rawLoadFuture = CompletableFuture.supplyAsync(() -> {
+            var rawLoadFuture = supplyAsync(() -> {
+                // the load might have been cancelled while waiting for the executor
+                checkCanceled(monitor);
                 monitor.setProgress(0.0); // emit a first progress event to make placeholder appear
                 return m_loadComponent.apply(monitor);
             });
@@ -384,6 +393,22 @@ void run() {
             m_currentPostLoadFuture = postLoadFuture;
         }
 
+        private CompletableFuture<NodeID> supplyAsync(final Supplier<NodeID> load) {
+            try {
+                return CompletableFuture.supplyAsync(load, m_executor);
+            } catch (RejectedExecutionException e) { // NOSONAR
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private static void checkCanceled(final ExecutionMonitor monitor) {
+            try {
+                monitor.checkCanceled();
+            } catch (CanceledExecutionException e) {
+                throw new CancellationException(e.getMessage());
+            }
+        }
+
         private NodeID delegateComponentLoadResult(final NodeID result, final Throwable exception) {
             if (result != null) { // previous stage completed successfully
                 m_onLoadSuccess.accept(result);
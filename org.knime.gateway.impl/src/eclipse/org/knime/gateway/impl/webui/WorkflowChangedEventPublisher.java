@@ -0,0 +1,217 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.gateway.api.webui.entity.WorkflowChangedEventEnt;
+import org.knime.gateway.impl.service.util.WorkflowChangesListener;
+
+/**
+ * Emits {@link WorkflowChangedEventEnt workflow-changed-events} for a single workflow to an arbitrary number of
+ * subscribers (e.g. multiple clients showing the same workflow).
+ *
+ * On every workflow change (as notified by the {@link WorkflowChangesListener}) the workflow entity is built only once
+ * and a patch is determined only once per distinct snapshot the subscribers are at. The very same event is then
+ * shared among all the subscribers at the same snapshot. Subscribers lagging behind (i.e. at an older snapshot) receive
+ * a patch collapsing all the changes since that snapshot - or a patch replacing the entire workflow if the snapshot
+ * isn't available anymore (full re-sync). The snapshots the subscribers are at are pinned while they are subscribed
+ * such that they aren't evicted by snapshots committed in the meantime (e.g. for another client joining).
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ * @since 5.12
+ */
+public final class WorkflowChangedEventPublisher {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(WorkflowChangedEventPublisher.class);
+
+    private final WorkflowChangesListener m_workflowChangesListener;
+
+    private final Function<Set<String>, Map<String, WorkflowChangedEventEnt>> m_eventsBuilder;
+
+    private final Consumer<String> m_pinSnapshot;
+
+    private final Consumer<String> m_unpinSnapshot;
+
+    private final Runnable m_callback = this::publish;
+
+    private final List<Subscription> m_subscriptions = new ArrayList<>();
+
+    /**
+     * @param workflowChangesListener notifies about workflow changes
+     * @param eventsBuilder builds the workflow-changed-events for the given snapshot ids (events are only returned for
+     *            snapshot ids with changes)
+     * @param pinSnapshot pins a snapshot, i.e. keeps it from being evicted, while a subscriber is at it
+     * @param unpinSnapshot reverts a pin
+     */
+    WorkflowChangedEventPublisher(final WorkflowChangesListener workflowChangesListener,
+        final Function<Set<String>, Map<String, WorkflowChangedEventEnt>> eventsBuilder,
+        final Consumer<String> pinSnapshot, final Consumer<String> unpinSnapshot) {
+        m_workflowChangesListener = workflowChangesListener;
+        m_eventsBuilder = eventsBuilder;
+        m_pinSnapshot = pinSnapshot;
+        m_unpinSnapshot = unpinSnapshot;
+    }
+
+    /**
+     * Adds a new subscriber.
+     *
+     * @param snapshotId the snapshot the subscriber is currently at, i.e. the first event will be relative to this
+     *            snapshot
+     * @param subscriber receives the events
+     * @return a runnable to be called to remove the subscriber again
+     */
+    public synchronized Runnable subscribe(final String snapshotId, final Subscriber subscriber) {
+        var subscription = new Subscription(snapshotId, subscriber);
+        if (m_subscriptions.isEmpty()) {
+            m_workflowChangesListener.addWorkflowChangeCallback(m_callback);
+        }
+        m_subscriptions.add(subscription);
+        m_pinSnapshot.accept(snapshotId);
+        return () -> unsubscribe(subscription);
+    }
+
+    private synchronized void unsubscribe(final Subscription subscription) {
+        if (m_subscriptions.remove(subscription)) {
+            m_unpinSnapshot.accept(subscription.m_snapshotId);
+            if (m_subscriptions.isEmpty()) {
+                m_workflowChangesListener.removeCallback(m_callback);
+            }
+        }
+    }
+
+    private synchronized void moveToSnapshot(final Subscription subscription, final String snapshotId) {
+        if (m_subscriptions.contains(subscription)) {
+            m_pinSnapshot.accept(snapshotId);
+            m_unpinSnapshot.accept(subscription.m_snapshotId);
+        }
+        subscription.m_snapshotId = snapshotId;
+    }
+
+    /**
+     * @return the number of current subscribers
+     */
+    public synchronized int getNumSubscribers() {
+        return m_subscriptions.size();
+    }
+
+    synchronized void dispose() {
+        m_subscriptions.forEach(s -> m_unpinSnapshot.accept(s.m_snapshotId));
+        m_subscriptions.clear();
+        m_workflowChangesListener.removeCallback(m_callback);
+    }
+
+    /*
+     * Called by the workflow changes listener - never concurrently.
+     */
+    private void publish() {
+        List<Subscription> subscriptions;
+        synchronized (this) {
+            subscriptions = List.copyOf(m_subscriptions);
+        }
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        subscriptions.forEach(s -> s.m_subscriber.beforeEventCreation());
+        var snapshotIds = new LinkedHashSet<String>();
+        subscriptions.forEach(s -> snapshotIds.add(s.m_snapshotId));
+        var events = m_eventsBuilder.apply(snapshotIds);
+        for (var subscription : subscriptions) {
+            var event = events.get(subscription.m_snapshotId);
+            if (event != null) {
+                moveToSnapshot(subscription, event.getSnapshotId());
+                try {
+                    subscription.m_subscriber.accept(event);
+                } catch (RuntimeException e) { // NOSONAR
+                    // a failing subscriber must not prevent the others from receiving the event
+                    LOGGER.error("Workflow changed event couldn't be delivered to a subscriber", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives the workflow-changed-events.
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+
+        /**
+         * @param event the event to be delivered to the subscriber; the very same instance is possibly delivered to
+         *            other subscribers, too
+         */
+        void accept(WorkflowChangedEventEnt event);
+
+        /**
+         * Called before the events are created. For testing purposes only!
+         */
+        default void beforeEventCreation() {
+            //
+        }
+
+    }
+
+    private static final class Subscription {
+
+        private final Subscriber m_subscriber;
+
+        private volatile String m_snapshotId;
+
+        private Subscription(final String snapshotId, final Subscriber subscriber) {
+            m_snapshotId = snapshotId;
+            m_subscriber = subscriber;
+        }
+
+    }
+
+}
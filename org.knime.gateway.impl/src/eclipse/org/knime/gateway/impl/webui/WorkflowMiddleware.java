@@ -50,6 +50,7 @@
 
 import static org.knime.gateway.api.entity.EntityBuilderManager.builder;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -82,11 +83,15 @@
 import org.knime.gateway.api.webui.util.EntityFactory;
 import org.knime.gateway.api.webui.util.WorkflowBuildContext;
 import org.knime.gateway.api.webui.util.WorkflowBuildContext.WorkflowBuildContextBuilder;
+import org.knime.gateway.api.webui.util.WorkflowEntityFactory;
 import org.knime.gateway.impl.project.ProjectManager;
 import org.knime.gateway.impl.service.util.EntityRepository;
+import org.knime.gateway.impl.service.util.MemoryBoundedRepository;
 import org.knime.gateway.impl.service.util.PatchCreator;
 import org.knime.gateway.impl.service.util.PatchEntCreator;
 import org.knime.gateway.impl.service.util.SimpleRepository;
+import org.knime.gateway.impl.service.util.WorkflowChangeLog;
+import org.knime.gateway.impl.service.util.WorkflowChangeLog.NodeChange;
 import org.knime.gateway.impl.service.util.WorkflowChangesListener;
 import org.knime.gateway.impl.service.util.WorkflowChangesListener.Scope;
 import org.knime.gateway.impl.service.util.WorkflowChangesTracker;
@@ -119,8 +124,33 @@ public final class WorkflowMiddleware {
      */
     private static final int UNDO_AND_REDO_STACK_SIZE_PER_WORKFLOW = 50;
 
-    private final EntityRepository<WorkflowKey, WorkflowEnt> m_workflowEntRepo =
-        new SimpleRepository<>(1, new SnapshotIdGenerator());
+    /**
+     * Whether workflow entities for workflow-changed-events are built incrementally, i.e. only the changed nodes,
+     * connections and annotations are re-built (see {@link IncrementalWorkflowEntBuilder}). Can be disabled using a
+     * system property.
+     */
+    private static final boolean BUILD_WORKFLOW_ENT_INCREMENTALLY = !"false"
+        .equalsIgnoreCase(System.getProperty("org.knime.gateway.impl.webui.WorkflowMiddleware.incrementalBuild"));
+
+    /**
+     * Whether the {@link DependentNodeProperties} are updated incrementally on node state changes, i.e. only for the
+     * nodes up- and downstream of the changed nodes (see {@link DependentNodeProperties#update(Set)}). Can be disabled
+     * using a system property.
+     */
+    private static final boolean UPDATE_DEPENDENT_NODE_PROPERTIES_INCREMENTALLY = !"false".equalsIgnoreCase(
+        System.getProperty("org.knime.gateway.impl.webui.WorkflowMiddleware.incrementalDependentNodeProperties"));
+
+    /**
+     * The number of workflow entity snapshots kept per workflow. The more snapshots are kept, the more likely a
+     * subscriber lagging behind (see {@link WorkflowChangedEventPublisher}) receives a patch collapsing the changes
+     * since its snapshot instead of a full re-sync. The snapshots the subscribers are currently at are kept in addition
+     * (i.e. pinned). Can be configured using a system property.
+     */
+    private static final int SNAPSHOT_HISTORY_SIZE_PER_WORKFLOW =
+        Math.max(1, Integer.getInteger("org.knime.gateway.impl.webui.WorkflowMiddleware.snapshotHistorySize", 1));
+
+    private final MemoryBoundedRepository<WorkflowKey, WorkflowEnt> m_workflowEntRepo =
+        new MemoryBoundedRepository<>(SNAPSHOT_HISTORY_SIZE_PER_WORKFLOW, new SnapshotIdGenerator());
 
     private final EntityRepository<WorkflowKey, WorkflowMonitorStateEnt> m_workflowMonitorStateEntRepo =
         new SimpleRepository<>(1, new SnapshotIdGenerator());
@@ -298,6 +328,72 @@ public WorkflowChangesListener getWorkflowChangesListenerForWorkflowMonitor(fina
      */
     public WorkflowChangedEventEnt buildWorkflowChangedEvent(final WorkflowKey wfKey,
         final PatchEntCreator patchEntCreator, final String snapshotId, final boolean includeInteractionInfo) {
+        final var wfEnt = buildWorkflowEntIfChanged(wfKey, includeInteractionInfo);
+        if (wfEnt == null) {
+            // no change
+            return null;
+        } else {
+            var patch = m_workflowEntRepo.getChangesAndCommit(snapshotId, wfEnt, patchEntCreator).orElse(null);
+            return patch == null ? null : builder(WorkflowChangedEventEntBuilder.class).setPatch(patch)
+                .setSnapshotId(patchEntCreator.getLastSnapshotId()).build();
+        }
+    }
+
+    /**
+     * Helper to create {@link WorkflowChangedEventEnt}-instances relative to multiple snapshots at once. In contrast to
+     * calling {@link #buildWorkflowChangedEvent(WorkflowKey, PatchEntCreator, String, boolean)} multiple times, the
+     * workflow entity is only built once, compared once per distinct snapshot id and committed at most once (i.e. all
+     * the returned events lead to the very same snapshot).
+     *
+     * @param wfKey the workflow to create the changed events for
+     * @param snapshotIds the snapshot ids to create the events relative to
+     * @param includeInteractionInfo see {@link WorkflowBuildContextBuilder#includeInteractionInfo(boolean)}
+     * @return the events per snapshot id; snapshot ids without changes are not contained
+     * @since 5.12
+     */
+    public Map<String, WorkflowChangedEventEnt> buildWorkflowChangedEvents(final WorkflowKey wfKey,
+        final Set<String> snapshotIds, final boolean includeInteractionInfo) {
+        final var wfEnt = buildWorkflowEntIfChanged(wfKey, includeInteractionInfo);
+        if (wfEnt == null) {
+            return Map.of();
+        }
+        var patchEntCreators = new HashMap<String, PatchEntCreator>();
+        var patches = m_workflowEntRepo.getChangesAndCommit(wfKey, snapshotIds, wfEnt,
+            id -> patchEntCreators.computeIfAbsent(id, k -> new PatchEntCreator(null)));
+        var events = new HashMap<String, WorkflowChangedEventEnt>();
+        patches.forEach((snapshotId, patch) -> events.put(snapshotId, builder(WorkflowChangedEventEntBuilder.class)
+            .setPatch(patch).setSnapshotId(patchEntCreators.get(snapshotId).getLastSnapshotId()).build()));
+        return events;
+    }
+
+    /**
+     * Returns the {@link WorkflowChangedEventPublisher} associated with the workflow represented by the given
+     * {@link WorkflowKey}. It emits the events as created by
+     * {@link #buildWorkflowChangedEvents(WorkflowKey, Set, boolean)} (including interaction info).
+     *
+     * If called for the first time, the publisher will be created. Subsequent calls will always return the very same
+     * instance (per workflow).
+     *
+     * @param wfKey -
+     * @return the publisher instance
+     * @since 5.12
+     */
+    public WorkflowChangedEventPublisher getWorkflowChangedEventPublisher(final WorkflowKey wfKey) {
+        var ws = getWorkflowState(wfKey);
+        synchronized (ws) {
+            if (ws.m_workflowChangedEventPublisher == null) {
+                ws.m_workflowChangedEventPublisher = new WorkflowChangedEventPublisher(ws.changesListener(),
+                    snapshotIds -> buildWorkflowChangedEvents(wfKey, snapshotIds, true), m_workflowEntRepo::pin,
+                    m_workflowEntRepo::unpin);
+            }
+            return ws.m_workflowChangedEventPublisher;
+        }
+    }
+
+    /*
+     * Returns null if the workflow didn't change since the last build.
+     */
+    private WorkflowEnt buildWorkflowEntIfChanged(final WorkflowKey wfKey, final boolean includeInteractionInfo) {
         var buildContextBuilder = WorkflowBuildContext.builder()//
             .includeInteractionInfo(includeInteractionInfo);
         final var ws = getWorkflowState(wfKey);
@@ -313,15 +409,7 @@ public WorkflowChangedEventEnt buildWorkflowChangedEvent(final WorkflowKey wfKey
             buildContextBuilder.setSpaceProviderTypes(
                 m_spaceProvidersManager.getSpaceProviders(Key.of(wfKey.getProjectId())).getProviderTypes());
         }
-        final var wfEnt = EntityFactory.Workflow.buildWorkflowEnt(ws.m_wfm, buildContextBuilder);
-        if (wfEnt == null) {
-            // no change
-            return null;
-        } else {
-            var patch = m_workflowEntRepo.getChangesAndCommit(snapshotId, wfEnt, patchEntCreator).orElse(null);
-            return patch == null ? null : builder(WorkflowChangedEventEntBuilder.class).setPatch(patch)
-                .setSnapshotId(patchEntCreator.getLastSnapshotId()).build();
-        }
+        return ws.incrementalWorkflowEntBuilder().build(buildContextBuilder, includeInteractionInfo);
     }
 
     /**
@@ -473,6 +561,10 @@ private static final class WorkflowState {
 
         private ComponentLoadJobManager m_componentLoadJobManager;
 
+        private IncrementalWorkflowEntBuilder m_incrementalWorkflowEntBuilder;
+
+        private WorkflowChangedEventPublisher m_workflowChangedEventPublisher;
+
         private WorkflowState(final SpaceProviders spaceProviders, final WorkflowManager wfm) {
             m_spaceProviders = spaceProviders;
             m_wfm = wfm;
@@ -504,6 +596,13 @@ WorkflowChangesListener changesListenerForWorkflowMonitor() {
             return m_changesListenerForWorkflowMonitor;
         }
 
+        synchronized IncrementalWorkflowEntBuilder incrementalWorkflowEntBuilder() {
+            if (m_incrementalWorkflowEntBuilder == null) {
+                m_incrementalWorkflowEntBuilder = new IncrementalWorkflowEntBuilder(m_wfm, changesListener());
+            }
+            return m_incrementalWorkflowEntBuilder;
+        }
+
         ComponentLoadJobManager componentLoadJobManager() {
             if (m_componentLoadJobManager == null) {
                 m_componentLoadJobManager = new ComponentLoadJobManager(m_wfm, changesListener(), m_spaceProviders);
@@ -539,6 +638,9 @@ private static WorkflowSyncer createWorkflowSyncer(final WorkflowManager wfm,
         }
 
         void dispose() {
+            if (m_workflowChangedEventPublisher != null) {
+                m_workflowChangedEventPublisher.dispose();
+            }
             if (m_depNodeProperties != null) {
                 m_depNodeProperties.dispose();
             }
@@ -551,6 +653,9 @@ void dispose() {
             if (m_componentLoadJobManager != null) {
                 m_componentLoadJobManager.cancelAndRemoveAllLoadJobs();
             }
+            if (m_incrementalWorkflowEntBuilder != null) {
+                m_incrementalWorkflowEntBuilder.dispose();
+            }
         }
 
     }
@@ -577,15 +682,22 @@ private static final class CachedDependentNodeProperties {
 
         @SuppressWarnings("java:S1176") // javadoc
         public DependentNodeProperties get() {
-            var recompute = m_dependentNodeProperties == null || m_tracker.invoke(t -> {
-                var nodeStateChanges = t.hasOccurredAtLeastOne(WorkflowChange.NODE_STATE_UPDATED);
+            // the nodes whose state changed or 'null' if the workflow structure changed
+            var nodesWithChangedState = m_tracker.invoke(t -> {
+                // progress, message or ui-info changes don't affect the dependent node properties
+                var changeLog = t.getChangeLog();
                 var nodeOrConnectionAddedOrRemoved = t.hasOccurredAtLeastOne(WorkflowChange.NODE_ADDED,
                     WorkflowChange.NODE_REMOVED, WorkflowChange.CONNECTION_ADDED, WorkflowChange.CONNECTION_REMOVED);
                 t.reset();
-                return nodeStateChanges || nodeOrConnectionAddedOrRemoved;
+                return Boolean.TRUE.equals(nodeOrConnectionAddedOrRemoved) ? null
+                    : changeLog.getChangedNodes(NodeChange.STATE, NodeChange.LOOP_STATUS);
             });
-            if (Boolean.TRUE.equals(recompute)) {
+            if (m_dependentNodeProperties == null || nodesWithChangedState == null
+                || (!UPDATE_DEPENDENT_NODE_PROPERTIES_INCREMENTALLY && !nodesWithChangedState.isEmpty())) {
                 m_dependentNodeProperties = DependentNodeProperties.determineDependentNodeProperties(m_wfm);
+            } else if (!nodesWithChangedState.isEmpty()) {
+                // only re-determine the properties up- and downstream of the nodes whose state changed
+                m_dependentNodeProperties = m_dependentNodeProperties.update(nodesWithChangedState);
             }
             return m_dependentNodeProperties;
         }
@@ -600,6 +712,87 @@ void dispose() {
 
     }
 
+    /**
+     * Builds workflow entities and keeps the most recent one together with a {@link WorkflowChangesTracker} which
+     * records the nodes, connections and annotations that changed since. As long as nothing but those 'local' changes
+     * occurred (e.g. node progress, node messages, positions or bendpoints), the next workflow entity is built
+     * incrementally, i.e. only the changed sub-entities are re-built and all others are re-used by reference. Any other
+     * change (e.g. node state changes, which affect the allowed actions of other nodes, or structural changes) results
+     * in a full re-build.
+     *
+     * If nothing but the execution progress of nodes or connections changed (the most frequent kind of change while a
+     * workflow is being executed), the previous workflow entity is merely patched, i.e. only the affected node and
+     * connection entities are re-built without visiting any other node container or re-building workflow-level
+     * properties (see {@link WorkflowEntityFactory#updateWorkflowEntProgress}).
+     */
+    private static final class IncrementalWorkflowEntBuilder {
+
+        private final WorkflowManager m_wfm;
+
+        private final WorkflowChangesListener m_wfChangesListener;
+
+        private final WorkflowChangesTracker m_tracker;
+
+        private WorkflowEnt m_lastWorkflowEnt;
+
+        private boolean m_lastIncludeInteractionInfo;
+
+        IncrementalWorkflowEntBuilder(final WorkflowManager wfm, final WorkflowChangesListener wfChangesListener) {
+            m_wfm = wfm;
+            m_wfChangesListener = wfChangesListener;
+            m_tracker = wfChangesListener.createWorkflowChangeTracker(true);
+        }
+
+        WorkflowEnt build(final WorkflowBuildContextBuilder buildContextBuilder, final boolean includeInteractionInfo) {
+            if (!BUILD_WORKFLOW_ENT_INCREMENTALLY) {
+                return EntityFactory.Workflow.buildWorkflowEnt(m_wfm, buildContextBuilder);
+            }
+            // acquire the workflow lock first (also acquired when the entity is built) to avoid deadlocks
+            try (var lock = m_wfm.lock()) {
+                synchronized (this) {
+                    var previous = m_lastIncludeInteractionInfo == includeInteractionInfo ? m_lastWorkflowEnt : null;
+                    var progressChanges = m_tracker.invoke(t -> {
+                        WorkflowChangeLog progress = null;
+                        if (previous != null && !t.hasOtherChanges()) {
+                            var changeLog = t.getChangeLog();
+                            if (changeLog.hasProgressChangesOnly()) {
+                                progress = changeLog;
+                            } else {
+                                buildContextBuilder.reuseUnchangedEntities(previous, t.getChangedNodes(),
+                                    t.getChangedConnections(), t.getChangedAnnotations());
+                            }
+                        }
+                        t.reset();
+                        return progress;
+                    });
+                    WorkflowEnt wfEnt = null;
+                    if (progressChanges != null) {
+                        // fast path: only patch the progress of the affected nodes and connections
+                        var changedNodes = progressChanges.getChangedNodes();
+                        var changedConnections = progressChanges.getConnectionChanges().keySet();
+                        wfEnt = EntityFactory.Workflow.updateWorkflowEntProgress(m_wfm, previous, changedNodes,
+                            changedConnections, buildContextBuilder);
+                        if (wfEnt == null) {
+                            buildContextBuilder.reuseUnchangedEntities(previous, changedNodes, changedConnections,
+                                Set.of());
+                        }
+                    }
+                    if (wfEnt == null) {
+                        wfEnt = EntityFactory.Workflow.buildWorkflowEnt(m_wfm, buildContextBuilder);
+                    }
+                    m_lastWorkflowEnt = wfEnt;
+                    m_lastIncludeInteractionInfo = includeInteractionInfo;
+                    return wfEnt;
+                }
+            }
+        }
+
+        void dispose() {
+            m_wfChangesListener.removeWorkflowChangesTracker(m_tracker);
+        }
+
+    }
+
     /**
      * A workflow listener that clears the workflow state of a removed sub-workflow (component or metanode) within the
      * workflow it is attached to. It listens for the 'node_removed' event of this particular node (i.e. component or
@@ -51,6 +51,7 @@
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -67,6 +68,7 @@
 import org.knime.gateway.api.webui.service.util.ServiceExceptions.OperationNotAllowedException;
 import org.knime.gateway.impl.service.util.DefaultServiceUtil;
 import org.knime.gateway.impl.webui.NodeRelation;
+import org.knime.gateway.impl.webui.repo.NodeRepository.Node;
 
 /**
  * Logic to retrieve node recommendations, we might need the {@link NodeRepository} for it.
@@ -207,11 +209,12 @@ private static Stream<NodeRecommendation[]> getMostFrequentlyUsed() {
 
     private List<NodeTemplateEnt> getNodeTemplatesAndFilter(final Stream<NodeRecommendation> recommendations,
         final PortType portType, final boolean isSourcePort, final int limit, final boolean fullInfo) {
+        final Predicate<Node> portFilter =
+            portType == null ? n -> true : m_nodeRepo.getPortCompatibilityFilter(portType, isSourcePort);
         return recommendations //
             .map(r -> m_nodeRepo.getNode(r.getFactoryId())) //
             .filter(Objects::nonNull) //
-            .filter(n -> portType == null //
-                || (isSourcePort ? n.isInputCompatibleWith(portType) : n.isOutputCompatibleWith(portType)))
+            .filter(portFilter)
             .limit(limit) // Limit the number of results after filtering by port type compatibility
             .map(n -> m_nodeRepo.getNodeTemplate(n.templateId(), fullInfo)) //
             .filter(Objects::nonNull) // `EntityBuilderUtil.buildNodeTemplateEnt(...)` could return null
@@ -49,22 +49,25 @@
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.concurrent.ConcurrentException;
 import org.apache.commons.lang3.concurrent.LazyInitializer;
 import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.extension.NodeSpec;
 import org.knime.core.node.extension.NodeSpecCollectionProvider;
 import org.knime.core.node.port.PortType;
@@ -85,8 +88,17 @@
  */
 public final class NodeRepository {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeRepository.class);
+
     private static final String NODE_USAGE_FILE = "/files/node_usage/node_usage.csv";
 
+    /**
+     * System property to configure the maximum number of cached node templates with full info (e.g. including the
+     * icon). The least recently used ones are evicted first.
+     */
+    static final String FULL_INFO_NODE_TEMPLATE_CACHE_SIZE_PROPERTY =
+        NodeRepository.class.getName() + ".fullInfoNodeTemplateCacheSize";
+
     /**
      * Determines whether a given {@link NodeFactory#getFactoryId() FactoryId} is available through this node
      * repository.
@@ -112,14 +124,32 @@ public final class NodeRepository {
     /**
      * Nodes available in the installation that are marked as hidden in their definition.
      */
-    private Map<String, Node> m_hiddenNodes;
+    private volatile Map<String, Node> m_hiddenNodes;
 
     /**
      * Nodes available in the installation that are marked as deprecated in their definition.
      */
-    private Map<String, Node> m_deprecatedNodes;
+    private volatile Map<String, Node> m_deprecatedNodes;
+
+    /*
+     * Hidden and deprecated nodes are loaded under their own locks such that they can be loaded in parallel to the
+     * other nodes (see #preload()).
+     */
+    private final Object m_hiddenNodesLock = new Object();
+
+    private final Object m_deprecatedNodesLock = new Object();
+
+    /**
+     * Index of the port compatibility of the included nodes ({@link #m_nodes}), lazily built.
+     */
+    private volatile PortCompatibilityIndex m_portCompatibilityIndex;
 
-    private final Map<String, NodeTemplateEnt> m_fullInfoNodeTemplateEntCache = new ConcurrentHashMap<>(2000);
+    /*
+     * Node templates with full info. The icons referenced by the templates are de-duplicated by the shared icon cache
+     * of the entity factory, the number of templates is bounded here.
+     */
+    private final Map<String, NodeTemplateEnt> m_fullInfoNodeTemplateEntCache = Collections
+        .synchronizedMap(new LRUMap<>(Integer.getInteger(FULL_INFO_NODE_TEMPLATE_CACHE_SIZE_PROPERTY, 2000)));
 
     /**
      * Does not apply to {@link this#m_hiddenNodes} or {@link this#m_deprecatedNodes}, these are assumed to be static
@@ -127,6 +157,11 @@ public final class NodeRepository {
      */
     private final Set<Runnable> m_contentChangedListeners = new HashSet<>();
 
+    /**
+     * Incremented whenever the content changes (see {@link #getContentVersion()}).
+     */
+    private volatile long m_contentVersion;
+
     /**
      * Determine whether a node is forbidden to be used as per {@link org.knime.core.customization.APCustomization}.
      *
@@ -212,12 +247,30 @@ public NodeTemplateEnt getNodeTemplate(final String templateId, final boolean fu
      *            node. Can be <code>null</code>, which means all nodes are included.
      */
     public void resetFilter(final Predicate<String> filter) {
-        m_filter = filter;
-        m_nodes = null;
-        m_filteredNodes = null;
+        synchronized (this) {
+            // waits for the nodes being (pre-)loaded, if so, such that they aren't loaded with the outdated filter
+            m_filter = filter;
+            m_nodes = null;
+            m_filteredNodes = null;
+            m_portCompatibilityIndex = null;
+            m_contentVersion++; // NOSONAR only modified while holding the lock
+        }
+        // not while holding the lock: listeners might in turn wait for the node search which requires the lock
         notifyContentChanged();
     }
 
+    /**
+     * The version of the content, i.e. of the included and filtered nodes. Changes whenever the content changes (see
+     * {@link #onContentChange(Runnable)}). Data derived from the content (e.g. search indices) can be associated with
+     * the version to detect that it's outdated. The version needs to be determined before the nodes it's associated
+     * with are requested.
+     *
+     * @return the current content version
+     */
+    long getContentVersion() {
+        return m_contentVersion;
+    }
+
     void onContentChange(final Runnable onContentChanged) {
         m_contentChangedListeners.add(onContentChanged);
     }
@@ -228,8 +281,15 @@ private void notifyContentChanged() {
 
     private NodeTemplateEnt getNodeTemplate(final Node n, final boolean fullTemplateInfo) {
         if (fullTemplateInfo) {
-            return m_fullInfoNodeTemplateEntCache.computeIfAbsent(n.templateId(),
-                k -> EntityFactory.NodeTemplateAndDescription.buildNodeTemplateEnt(n.nodeSpec()));
+            var template = m_fullInfoNodeTemplateEntCache.get(n.templateId());
+            if (template == null) {
+                // built outside of the cache's lock - in the worst case a template is built twice concurrently
+                template = EntityFactory.NodeTemplateAndDescription.buildNodeTemplateEnt(n.nodeSpec());
+                if (template != null) {
+                    m_fullInfoNodeTemplateEntCache.put(n.templateId(), template);
+                }
+            }
+            return template;
         } else {
             return EntityFactory.NodeTemplateAndDescription.buildMinimalNodeTemplateEnt(n.nodeSpec());
         }
@@ -277,6 +337,26 @@ Collection<Node> getNodes() {
         return m_nodes.values();
     }
 
+    /**
+     * @param portType the port type to check the compatibility with
+     * @param inputSide {@code true} to check for compatible input ports, {@code false} for compatible output ports
+     * @return a predicate which determines whether a node has a compatible port; backed by an index for the nodes
+     *         included in this node repository
+     */
+    Predicate<Node> getPortCompatibilityFilter(final PortType portType, final boolean inputSide) {
+        var index = m_portCompatibilityIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = m_portCompatibilityIndex;
+                if (index == null) {
+                    index = new PortCompatibilityIndex(getNodes());
+                    m_portCompatibilityIndex = index;
+                }
+            }
+        }
+        return index.getCompatibilityFilter(portType, inputSide);
+    }
+
     /**
      * @return all nodes not included in this node repository.
      */
@@ -288,22 +368,58 @@ Collection<Node> getFilteredNodes() {
     /**
      * @return all hidden nodes included in the node repository
      */
-    synchronized Collection<Node> getHiddenNodes() {
-        if (m_hiddenNodes == null) {
-            m_hiddenNodes = mapFromNodeSpecToNodeAndFilter(m_nodeSpecProvider.getHiddenNodes());
+    Collection<Node> getHiddenNodes() {
+        var hiddenNodes = m_hiddenNodes;
+        if (hiddenNodes == null) {
+            synchronized (m_hiddenNodesLock) {
+                if (m_hiddenNodes == null) {
+                    m_hiddenNodes = mapFromNodeSpecToNodeAndFilter(m_nodeSpecProvider.getHiddenNodes());
+                }
+                hiddenNodes = m_hiddenNodes;
+            }
         }
-        return m_hiddenNodes.values();
+        return hiddenNodes.values();
     }
 
     /**
      * @return all deprecated nodes included in the node repository
      */
-    synchronized Collection<Node> getDeprecatedNodes() {
-        if (m_deprecatedNodes == null) {
-            m_deprecatedNodes = mapFromNodeSpecToNodeAndFilter(m_nodeSpecProvider.getDeprecatedNodes());
-            addNodeWeights(m_deprecatedNodes);
+    Collection<Node> getDeprecatedNodes() {
+        var deprecatedNodes = m_deprecatedNodes;
+        if (deprecatedNodes == null) {
+            synchronized (m_deprecatedNodesLock) {
+                if (m_deprecatedNodes == null) {
+                    var nodes = mapFromNodeSpecToNodeAndFilter(m_nodeSpecProvider.getDeprecatedNodes());
+                    addNodeWeights(nodes);
+                    m_deprecatedNodes = nodes;
+                }
+                deprecatedNodes = m_deprecatedNodes;
+            }
         }
-        return m_deprecatedNodes.values();
+        return deprecatedNodes.values();
+    }
+
+    /**
+     * Loads all the nodes (i.e. the included, filtered, hidden and deprecated nodes) in parallel in the background,
+     * e.g. to warm up the node repository at startup. Any other method requiring nodes blocks until the respective
+     * nodes are loaded (but not until all nodes are loaded). Not done automatically - it's up to the owner of the node
+     * repository (e.g. the application creating it at startup) to decide whether it's worth it.
+     *
+     * Failures are logged (and the nodes are attempted to be loaded again once they are requested).
+     *
+     * @return a future that completes once all the nodes are loaded (or exceptionally if that failed)
+     * @since 5.12
+     */
+    public CompletableFuture<Void> preload() {
+        return CompletableFuture.allOf( //
+            CompletableFuture.runAsync(this::loadAllNodesAndNodeSets), //
+            CompletableFuture.runAsync(this::getHiddenNodes), //
+            CompletableFuture.runAsync(this::getDeprecatedNodes) //
+        ).whenComplete((v, e) -> {
+            if (e != null) {
+                LOGGER.error("Problem pre-loading the nodes of the node repository", e);
+            }
+        });
     }
 
     private synchronized void loadAllNodesAndNodeSets() {
@@ -336,34 +452,47 @@ private static Map<String, Node> filterNodes(final Map<String, Node> nodes, fina
     }
 
     private static void addNodeWeights(final Map<String, Node> nodes) {
-        Map<Integer, Node> templateIdsToNodes = nodes.values().stream() //
-            .collect(Collectors.toMap(n -> (n.templateId()).hashCode(), n -> n));
-        try (Stream<int[]> lines = readNodeUsageFile()) {
-            lines.forEach(line -> {
-                var node = templateIdsToNodes.get(line[0]);
-                if (node != null) {
-                    node.setWeight(line[1]);
-                }
-            });
+        var weights = NodeUsage.WEIGHTS;
+        for (var node : nodes.values()) {
+            var weight = weights.get(node.templateId().hashCode());
+            if (weight != null) {
+                node.setWeight(weight);
+            }
         }
     }
 
-    @SuppressWarnings("java:S1943")
-    private static Stream<int[]> readNodeUsageFile() {
-        var br = new BufferedReader(
-            new InputStreamReader(DefaultNodeRepositoryService.class.getResourceAsStream(NODE_USAGE_FILE)));
-        return br.lines().map(s -> s.split(",")).map(ar -> {
-            var res = new int[ar.length];
-            res[0] = Integer.valueOf(ar[0]);
-            res[1] = Integer.valueOf(ar[1]);
-            return res;
-        }).onClose(() -> {
-            try {
-                br.close();
+    /**
+     * The node weights as read from the node usage file, i.e. the file is only read once (on first access) and shared
+     * by all node repository instances.
+     */
+    private static final class NodeUsage {
+
+        /* maps the hash code of a template id to the node's weight */
+        private static final Map<Integer, Integer> WEIGHTS = readNodeUsageFile();
+
+        private NodeUsage() {
+            // utility
+        }
+
+        private static Map<Integer, Integer> readNodeUsageFile() {
+            var weights = new HashMap<Integer, Integer>();
+            try (var br = new BufferedReader(new InputStreamReader(
+                DefaultNodeRepositoryService.class.getResourceAsStream(NODE_USAGE_FILE), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    var comma = line.indexOf(',');
+                    if (comma > 0) {
+                        var end = line.indexOf(',', comma + 1);
+                        weights.put(Integer.parseInt(line, 0, comma, 10),
+                            Integer.parseInt(line, comma + 1, end < 0 ? line.length() : end, 10));
+                    }
+                }
             } catch (IOException ex) {
                 throw new UncheckedIOException(ex);
             }
-        });
+            return weights;
+        }
+
     }
 
     public List<NodeTemplateEnt> mapNodeTemplateEnts(final Collection<Node> nodes,
@@ -50,6 +50,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -94,6 +95,21 @@ public class NodeSearch {
      */
     private static final double KEYWORD_SCORE_WEIGHT = 0.8;
 
+    /**
+     * Whether the nodes to be scored for a search term are narrowed down via a {@link NodeSearchIndex} first (instead
+     * of scoring all the nodes). Can be disabled using a system property.
+     */
+    private static final boolean USE_SEARCH_INDEX =
+        !"false".equalsIgnoreCase(System.getProperty("org.knime.gateway.impl.webui.repo.NodeSearch.useIndex"));
+
+    /**
+     * The fraction of the search term's n-grams a node needs to share in order to be scored at all (see
+     * {@link NodeSearchIndex}). Derived from the {@link #SIMILARITY_THRESHOLD}: an n-gram similarity (Jaccard or Dice
+     * coefficient) of at least the threshold requires at least half the threshold of the search term's n-grams to be
+     * shared. Keyword similarities are weighted down, i.e. need to be even higher to reach the threshold.
+     */
+    private static final double MIN_SHARED_NGRAM_RATIO = SIMILARITY_THRESHOLD / 2;
+
     /**
      * Score a candidate result. Keywords contribute slightly lower similarity values since their influence on the
      * search result is less obvious to the user
@@ -112,15 +128,33 @@ private static double score(final FuzzySearchable candidate, final String query)
     private final Map<SearchQuery, SearchResult> m_nodeSearchResultCache =
         Collections.synchronizedMap(new LRUMap<>(100));
 
+    /*
+     * The search index per node collection, each along with the content version of the backing node repository it's
+     * been built for (see NodeRepository#getContentVersion()). Outdated indices are replaced on the next search.
+     */
+    private final Map<NodeCollection, VersionedSearchIndex> m_searchIndices =
+        Collections.synchronizedMap(new EnumMap<>(NodeCollection.class));
+
     private final NodeRepository m_nodeRepo;
 
+    private final boolean m_useSearchIndex;
+
     /**
      * Creates a new instance.
      *
      * @param nodeRepo the node repository to search in
      */
     public NodeSearch(final NodeRepository nodeRepo) {
+        this(nodeRepo, USE_SEARCH_INDEX);
+    }
+
+    /**
+     * @param nodeRepo the node repository to search in
+     * @param useSearchIndex whether to narrow down the nodes to be scored via a {@link NodeSearchIndex}
+     */
+    NodeSearch(final NodeRepository nodeRepo, final boolean useSearchIndex) {
         m_nodeRepo = nodeRepo;
+        m_useSearchIndex = useSearchIndex;
         m_nodeRepo.onContentChange(m_nodeSearchResultCache::clear);
     }
 
@@ -157,8 +191,11 @@ public NodeSearchResultEnt searchNodes(final String queryString, final List<Stri
         final var query = new SearchQuery(queryString, tags, allTagsMatch, portTypeId, searchForSuccesors);
         // the partition is kept separate from the query to allow equals-checks for queries, which makes it simple
         // to cache them in a map.
+        // the content version is determined before the nodes such that the nodes are never newer than the version
+        final var contentVersion = m_nodeRepo.getContentVersion();
         final var partition = partitionNodesOf(m_nodeRepo, query);
-        final var searchResult = m_nodeSearchResultCache.computeIfAbsent(query, q -> searchNodes(partition, q));
+        final var searchResult =
+            m_nodeSearchResultCache.computeIfAbsent(query, q -> searchNodes(partition, q, contentVersion));
 
         // map templates
         List<NodeTemplateEnt> foundTemplates =
@@ -184,15 +221,17 @@ public NodeSearchResultEnt searchNodes(final String queryString, final List<Stri
             .build();
     }
 
-    private static SearchResult searchNodes(final NodePartition partition, final SearchQuery query) {
-        final var foundNodes = searchNodes(partition.primary(), query);
+    private SearchResult searchNodes(final NodePartition partition, final SearchQuery query,
+        final long contentVersion) {
+        final var foundNodes = searchNodes(partition.primary(), query, contentVersion);
         Integer numSecondaryNodesFound = partition.secondary() != null ? //
-            searchNodes(partition.secondary(), query).size() //
+            searchNodes(partition.secondary(), query, contentVersion).size() //
             : null;
         return new SearchResult(foundNodes, numSecondaryNodesFound);
     }
 
-    private static List<Node> searchNodes(final Collection<Node> nodes, final SearchQuery query) {
+    private List<Node> searchNodes(final NodeSet nodeSet, final SearchQuery query, final long contentVersion) {
+        final var nodes = nodeSet.nodes();
         final Predicate<Node> tagFilter = node -> filterByTags(node, query.tags(), query.allTagsMustMatch());
         if (query.searchTerm() == null) {
             assert query.portType() == null;
@@ -208,14 +247,15 @@ Comparator.<Node> comparingInt(n -> -n.weight())//
                         .thenComparing(Node::name, ALPHANUMERIC_COMPARATOR))//
                 .toList();
         }
-        // Case 3: filter by tags, rank by similarity to search term
-        return nodes.stream() //
+        // Case 3: filter by tags and compatible port, rank by similarity to search term
+        return getCandidates(nodeSet, query.searchTerm(), contentVersion).stream() //
             .filter(tagFilter)//
+            // filter by port before scoring - it's a cheap look-up in the port compatibility index
+            .filter(getCompatiblePortFilter(query))//
             .map(n -> new FoundNode(n, //
                 StringUtils.containsIgnoreCase(n.name(), query.searchTerm()), //
                 score(n.getFuzzySearchable(), query.searchTerm()))) //
             .filter(n -> n.isSubstringMatch || n.score >= SIMILARITY_THRESHOLD)//
-            .filter(n -> filterByCompatiblePort(n, query))
             .sorted(//
                 // 1) exact substring matches (only based on names)
                 Comparator.<FoundNode> comparingInt(n -> n.isSubstringMatch ? 0 : 1)//
@@ -229,6 +269,20 @@ Comparator.<FoundNode> comparingInt(n -> n.isSubstringMatch ? 0 : 1)//
             .toList();
     }
 
+    /*
+     * Narrows down the nodes to those that possibly match the search term (see NodeSearchIndex).
+     */
+    private Collection<Node> getCandidates(final NodeSet nodeSet, final String searchTerm,
+        final long contentVersion) {
+        if (!m_useSearchIndex) {
+            return nodeSet.nodes();
+        }
+        var index = m_searchIndices.compute(nodeSet.collection(),
+            (c, i) -> i == null || i.contentVersion() != contentVersion
+                ? new VersionedSearchIndex(contentVersion, new NodeSearchIndex(nodeSet.nodes())) : i);
+        return index.index().getCandidates(searchTerm, MIN_SHARED_NGRAM_RATIO);
+    }
+
     private static boolean filterByTags(final Node node, final List<String> tags, final boolean allTagsMatch) {
         if (tags == null || tags.isEmpty()) {
             return true;
@@ -239,14 +293,11 @@ private static boolean filterByTags(final Node node, final List<String> tags, fi
         return tags.stream().anyMatch(node.nodeSpec().metadata().tags()::contains);
     }
 
-    private static boolean filterByCompatiblePort(final FoundNode n, final SearchQuery query) {
+    private Predicate<Node> getCompatiblePortFilter(final SearchQuery query) {
         if (query.portType() == null) {
-            return true;
-        } else if (query.isSearchForSuccesors()) {
-            return n.node.isInputCompatibleWith(query.portType());
-        } else {
-            return n.node.isOutputCompatibleWith(query.portType());
+            return n -> true;
         }
+        return m_nodeRepo.getPortCompatibilityFilter(query.portType(), query.isSearchForSuccesors());
     }
 
     /**
@@ -258,9 +309,12 @@ private static boolean filterByCompatiblePort(final FoundNode n, final SearchQue
      */
     private static NodeSearch.NodePartition partitionNodesOf(final NodeRepository nodeRepo, final SearchQuery query) {
         return switch (query.nodeFilter()) {
-            case HIDDEN -> new NodeSearch.NodePartition(nodeRepo.getHiddenNodes(), null);
-            case DEPRECATED -> new NodeSearch.NodePartition(nodeRepo.getDeprecatedNodes(), null);
-            case NONE -> new NodeSearch.NodePartition(nodeRepo.getNodes(), nodeRepo.getFilteredNodes());
+            case HIDDEN -> new NodeSearch.NodePartition(
+                new NodeSet(NodeCollection.HIDDEN, nodeRepo.getHiddenNodes()), null);
+            case DEPRECATED -> new NodeSearch.NodePartition(
+                new NodeSet(NodeCollection.DEPRECATED, nodeRepo.getDeprecatedNodes()), null);
+            case NONE -> new NodeSearch.NodePartition(new NodeSet(NodeCollection.INCLUDED, nodeRepo.getNodes()),
+                new NodeSet(NodeCollection.FILTERED, nodeRepo.getFilteredNodes()));
         };
     }
 
@@ -272,8 +326,32 @@ private record FoundNode(Node node, boolean isSubstringMatch, double score) {
      * @param primary
      * @param secondary
      */
-    static record NodePartition(Collection<Node> primary, Collection<Node> secondary) {
+    static record NodePartition(NodeSet primary, NodeSet secondary) {
+
+    }
+
+    /**
+     * @param collection which of the node repository's node collections the nodes are
+     * @param nodes the nodes
+     */
+    private record NodeSet(NodeCollection collection, Collection<Node> nodes) {
+    }
+
+    /**
+     * The node collections of a {@link NodeRepository}.
+     */
+    private enum NodeCollection {
+            /** The nodes included by the node repository's filter. */
+            INCLUDED,
+            /** The nodes not included by the node repository's filter. */
+            FILTERED,
+            /** The hidden nodes. */
+            HIDDEN,
+            /** The deprecated nodes. */
+            DEPRECATED
+    }
 
+    private record VersionedSearchIndex(long contentVersion, NodeSearchIndex index) {
     }
 
     /**
@@ -0,0 +1,210 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.repo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections4.map.LRUMap;
+import org.knime.gateway.impl.webui.repo.NodeRepository.Node;
+
+/**
+ * An inverted index from n-grams (trigrams) of node names and keywords to the nodes containing them. It's used to
+ * narrow down the nodes to be scored (fuzzy) for a search term to those sharing at least a certain fraction of the
+ * search term's n-grams. In particular, all nodes whose name contains the search term are among the candidates.
+ *
+ * The n-grams include the word boundaries (i.e. the strings are padded with a blank), such that misspelled words
+ * (e.g. 'Fitler' instead of 'Filter') still share the n-grams at their start and end.
+ *
+ * While the user is typing (i.e. the search term is refined by appending characters at the end), the candidates are
+ * determined incrementally, i.e. only the postings of the n-grams added to the search term are visited. The n-gram
+ * counts of the most recent search terms are cached for that purpose - the cache is shared by all the callers, but the
+ * cached counts are never modified, i.e. concurrent searches for unrelated search terms don't interfere.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class NodeSearchIndex {
+
+    private static final int N = 3;
+
+    private final Node[] m_nodes;
+
+    /* maps an n-gram to the (ascending) indices of the nodes containing it */
+    private final Map<String, int[]> m_postings;
+
+    /* the number of search terms whose n-gram counts are cached */
+    private static final int RECENT_COUNTS_CACHE_SIZE = 32;
+
+    /* the n-gram counts of the most recent search terms, to be refined by the next searches */
+    private final Map<String, SharedNGramCounts> m_recentCounts =
+        Collections.synchronizedMap(new LRUMap<>(RECENT_COUNTS_CACHE_SIZE));
+
+    /**
+     * Builds the index for the given nodes.
+     *
+     * @param nodes the nodes to index
+     */
+    NodeSearchIndex(final Collection<Node> nodes) {
+        m_nodes = nodes.toArray(Node[]::new);
+        var postings = new HashMap<String, List<Integer>>();
+        for (var i = 0; i < m_nodes.length; i++) {
+            var nGrams = nGrams(m_nodes[i].name());
+            for (var keyword : m_nodes[i].nodeSpec().metadata().keywords()) {
+                nGrams.addAll(nGrams(keyword));
+            }
+            for (var nGram : nGrams) {
+                postings.computeIfAbsent(nGram, k -> new ArrayList<>()).add(i);
+            }
+        }
+        m_postings = new HashMap<>(postings.size() * 2);
+        postings.forEach((nGram, indices) -> m_postings.put(nGram,
+            indices.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Determines the candidate nodes for a search term.
+     *
+     * @param searchTerm the search term
+     * @param minSharedNGramRatio the minimum fraction of the search term's n-grams a node needs to share to be a
+     *            candidate (at least one n-gram, though)
+     * @return the candidates in the order the nodes have been indexed; all nodes if the search term is shorter than an
+     *         n-gram
+     */
+    List<Node> getCandidates(final String searchTerm, final double minSharedNGramRatio) {
+        var term = normalize(searchTerm);
+        if (term.length() < N) {
+            return Arrays.asList(m_nodes);
+        }
+        var nGrams = nGrams(term);
+        var counts = countSharedNGrams(term, nGrams);
+        var minShared = Math.max(1, (int)Math.ceil(nGrams.size() * minSharedNGramRatio));
+        var candidates = new ArrayList<Node>();
+        for (var i = 0; i < counts.length; i++) {
+            if (counts[i] >= minShared) {
+                candidates.add(m_nodes[i]);
+            }
+        }
+        return candidates;
+    }
+
+    /*
+     * Counts the n-grams shared by each node with the given n-grams - incrementally if the counts of a prefix of the
+     * search term are cached (e.g. of the search term before the last character has been typed).
+     */
+    private int[] countSharedNGrams(final String term, final Set<String> nGrams) {
+        var cached = m_recentCounts.get(term);
+        if (cached != null) {
+            return cached.counts();
+        }
+        int[] counts;
+        Collection<String> addedNGrams;
+        Collection<String> removedNGrams;
+        var prefixCounts = findCountsOfLongestPrefix(term);
+        if (prefixCounts != null) {
+            counts = prefixCounts.counts().clone();
+            addedNGrams = new ArrayList<>(nGrams);
+            addedNGrams.removeAll(prefixCounts.nGrams());
+            // the n-gram at the end of the prefix (including the word boundary) isn't part of the term anymore
+            removedNGrams = new ArrayList<>(prefixCounts.nGrams());
+            removedNGrams.removeAll(nGrams);
+        } else {
+            counts = new int[m_nodes.length];
+            addedNGrams = nGrams;
+            removedNGrams = List.of();
+        }
+        updateCounts(counts, addedNGrams, 1);
+        updateCounts(counts, removedNGrams, -1);
+        m_recentCounts.put(term, new SharedNGramCounts(nGrams, counts)); // counts never modified once cached
+        return counts;
+    }
+
+    private SharedNGramCounts findCountsOfLongestPrefix(final String term) {
+        for (var length = term.length() - 1; length >= N; length--) {
+            var counts = m_recentCounts.get(term.substring(0, length));
+            if (counts != null) {
+                return counts;
+            }
+        }
+        return null;
+    }
+
+    private void updateCounts(final int[] counts, final Collection<String> nGrams, final int delta) {
+        for (var nGram : nGrams) {
+            var postings = m_postings.get(nGram);
+            if (postings != null) {
+                for (var i : postings) {
+                    counts[i] += delta;
+                }
+            }
+        }
+    }
+
+    private static Set<String> nGrams(final String s) {
+        var padded = ' ' + normalize(s) + ' ';
+        var res = new LinkedHashSet<String>();
+        for (var i = 0; i + N <= padded.length(); i++) {
+            res.add(padded.substring(i, i + N));
+        }
+        return res;
+    }
+
+    private static String normalize(final String s) {
+        return s.toUpperCase(Locale.ROOT);
+    }
+
+    /* the n-grams of a search term and the number of them shared by each node */
+    private record SharedNGramCounts(Set<String> nGrams, int[] counts) {
+    }
+
+}
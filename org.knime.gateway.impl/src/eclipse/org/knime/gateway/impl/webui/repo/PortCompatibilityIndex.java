@@ -0,0 +1,133 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.repo;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.gateway.api.util.CoreUtil;
+import org.knime.gateway.impl.webui.repo.NodeRepository.Node;
+
+/**
+ * Index from port types to the nodes that have a compatible (existing or addable) input or output port, respectively.
+ * For each distinct port type supported by the indexed nodes, the nodes are kept as a bit set. The nodes compatible
+ * with a queried port type are then the union of the bit sets of all the port types compatible with it - which is
+ * determined once per queried port type and then cached.
+ *
+ * Nodes that are not part of the index are checked directly (see {@link Node#isInputCompatibleWith(PortType)} and
+ * {@link Node#isOutputCompatibleWith(PortType)}).
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class PortCompatibilityIndex {
+
+    private final Map<Node, Integer> m_ordinals;
+
+    private final Map<PortType, BitSet> m_nodesByInputPortType = new HashMap<>();
+
+    private final Map<PortType, BitSet> m_nodesByOutputPortType = new HashMap<>();
+
+    private final Map<PortType, BitSet> m_inputCompatibleNodes = new ConcurrentHashMap<>();
+
+    private final Map<PortType, BitSet> m_outputCompatibleNodes = new ConcurrentHashMap<>();
+
+    PortCompatibilityIndex(final Collection<Node> nodes) {
+        m_ordinals = new IdentityHashMap<>(nodes.size());
+        var ordinal = 0;
+        for (var node : nodes) {
+            m_ordinals.put(node, ordinal);
+            addToIndex(m_nodesByInputPortType, node.nodeSpec().ports().getSupportedInputPortTypes(), ordinal);
+            addToIndex(m_nodesByOutputPortType, node.nodeSpec().ports().getSupportedOutputPortTypes(), ordinal);
+            ordinal++;
+        }
+    }
+
+    private static void addToIndex(final Map<PortType, BitSet> index, final Stream<PortType> portTypes,
+        final int ordinal) {
+        portTypes.forEach(pt -> index.computeIfAbsent(pt, k -> new BitSet()).set(ordinal));
+    }
+
+    /**
+     * @param portType the port type to check the nodes' compatibility with
+     * @param inputSide whether to check the input ports (i.e. whether the nodes can be successors of a port of the
+     *            given type) or the output ports (i.e. whether the nodes can be predecessors)
+     * @return a predicate which is {@code true} for the nodes that have a compatible port on the respective side
+     */
+    Predicate<Node> getCompatibilityFilter(final PortType portType, final boolean inputSide) {
+        if (FlowVariablePortObject.TYPE.equals(portType)) {
+            return n -> true;
+        }
+        var compatibleNodes = inputSide //
+            ? m_inputCompatibleNodes.computeIfAbsent(portType, pt -> unionOfCompatible(m_nodesByInputPortType, pt)) //
+            : m_outputCompatibleNodes.computeIfAbsent(portType, pt -> unionOfCompatible(m_nodesByOutputPortType, pt));
+        return n -> {
+            var ordinal = m_ordinals.get(n);
+            if (ordinal == null) {
+                return inputSide ? n.isInputCompatibleWith(portType) : n.isOutputCompatibleWith(portType);
+            }
+            return compatibleNodes.get(ordinal);
+        };
+    }
+
+    private static BitSet unionOfCompatible(final Map<PortType, BitSet> index, final PortType portType) {
+        var res = new BitSet();
+        index.forEach((pt, nodes) -> {
+            if (CoreUtil.arePortTypesCompatible(portType, pt)) {
+                res.or(nodes);
+            }
+        });
+        return res;
+    }
+
+}
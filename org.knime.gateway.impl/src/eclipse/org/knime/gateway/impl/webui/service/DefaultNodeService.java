@@ -49,6 +49,7 @@
 import static org.knime.gateway.impl.service.util.DefaultServiceUtil.getNodeContainer;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -99,7 +100,9 @@
  */
 public final class DefaultNodeService implements NodeService {
 
-    static final LRUMap<NodeFactoryKeyEnt, NativeNodeDescriptionEnt> m_nodeDescriptionCache = new LRUMap<>(100);
+    // synchronized since the node descriptions are also requested concurrently (see DefaultJsonRpcRequestHandler)
+    static final Map<NodeFactoryKeyEnt, NativeNodeDescriptionEnt> m_nodeDescriptionCache =
+        Collections.synchronizedMap(new LRUMap<>(100));
 
     private final SelectionEventBus m_selectionEventBus =
         ServiceDependencies.getServiceDependency(SelectionEventBus.class, false);
@@ -405,7 +408,8 @@ public void updateDataPointSelection(final String projectId, final NodeIDEnt wor
     @Override
     public NativeNodeDescriptionEnt getNodeDescription(final NodeFactoryKeyEnt factoryKey)
         throws NodeNotFoundException, NodeDescriptionNotAvailableException {
-        if (!m_nodeDescriptionCache.containsKey(factoryKey)) {
+        var cachedDescription = m_nodeDescriptionCache.get(factoryKey);
+        if (cachedDescription == null) {
             NodeFactory<NodeModel> fac;
             try {
                 fac = CoreUtil.getNodeFactory(factoryKey.getClassName(), factoryKey.getSettings());
@@ -430,7 +434,7 @@ public NativeNodeDescriptionEnt getNodeDescription(final NodeFactoryKeyEnt facto
             m_nodeDescriptionCache.put(factoryKey, description);
             return description;
         }
-        return m_nodeDescriptionCache.get(factoryKey);
+        return cachedDescription;
     }
 
     @Override
@@ -50,6 +50,7 @@
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.knime.core.node.workflow.NodeID;
@@ -81,6 +82,8 @@ class AbstractExpand extends AbstractWorkflowCommand implements WithResult {
 
     private WorkflowPersistor m_expandedNodePersistor;
 
+    private long m_undoSizeEstimate;
+
     AbstractExpand(final ExpandCommandEnt commandEnt) {
         m_commandEnt = commandEnt;
     }
@@ -100,6 +103,7 @@ protected boolean executeWithWorkflowLockAndContext() throws ServiceExceptions.S
             .setIncludeInOutConnections(true) //
             .build();
         m_expandedNodePersistor = wfm.copy(true, copyContent);
+        m_undoSizeEstimate = UndoSizeEstimates.ofNodes(wfm, List.of(nodeToExpand));
 
         m_subNodeExpandResult = wfm.expandSubWorkflow(nodeToExpand);
         return true;
@@ -140,6 +144,11 @@ public void undo() throws ServiceExceptions.ServiceCallException {
         wfm.paste(m_expandedNodePersistor);
     }
 
+    @Override
+    public long getUndoSizeEstimate() {
+        return m_undoSizeEstimate;
+    }
+
     @Override
     public boolean canUndo() {
         var wfm = getWorkflowManager();
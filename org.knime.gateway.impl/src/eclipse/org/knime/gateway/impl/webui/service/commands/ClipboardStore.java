@@ -0,0 +1,284 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.commands;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Keeps large clipboard contents (as produced by {@link Copy}) server-side, compressed, and behind a handle such that
+ * only the (small) handle needs to be sent to the client and back again (for {@link Paste}).
+ *
+ * Contents are only kept behind a handle if they exceed a certain size (disabled by default since pasting a handle
+ * only works within the same application instance, but not, e.g., into another application instance via the system
+ * clipboard). The store is bounded by the total size of the compressed contents; the least recently used contents are
+ * evicted first. Independent of that, there is a hard limit on the size of the clipboard contents, copied or pasted.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class ClipboardStore {
+
+    /**
+     * System property to configure the size (in characters) from which on clipboard contents are kept server-side
+     * behind a handle. Disabled by default.
+     */
+    static final String HANDLE_THRESHOLD_PROPERTY = ClipboardStore.class.getName() + ".handleThreshold";
+
+    /**
+     * System property to configure the maximum size (in characters) of clipboard contents.
+     */
+    static final String MAX_CONTENT_SIZE_PROPERTY = ClipboardStore.class.getName() + ".maxContentSize";
+
+    /**
+     * System property to configure the maximum number of bytes of all the (compressed) contents kept together.
+     */
+    static final String MAX_STORE_SIZE_PROPERTY = ClipboardStore.class.getName() + ".maxStoreSize";
+
+    private static final String HANDLE_PREFIX = "knime-clipboard-handle:";
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ClipboardStore.class);
+
+    private static final ClipboardStore INSTANCE = new ClipboardStore( //
+        Integer.getInteger(HANDLE_THRESHOLD_PROPERTY, Integer.MAX_VALUE), //
+        Integer.getInteger(MAX_CONTENT_SIZE_PROPERTY, 256 * 1024 * 1024), //
+        Long.getLong(MAX_STORE_SIZE_PROPERTY, 256L * 1024 * 1024));
+
+    private final int m_handleThreshold;
+
+    private final int m_maxContentSize;
+
+    private final long m_maxStoreSize;
+
+    /*
+     * Handle -> compressed content; in access order to evict the least recently used contents first.
+     */
+    private final LinkedHashMap<String, byte[]> m_contents = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long m_storeSize;
+
+    private long m_numStored;
+
+    private long m_numEvicted;
+
+    private long m_numRejected;
+
+    ClipboardStore(final int handleThreshold, final int maxContentSize, final long maxStoreSize) {
+        m_handleThreshold = handleThreshold;
+        m_maxContentSize = maxContentSize;
+        m_maxStoreSize = maxStoreSize;
+    }
+
+    static ClipboardStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param content the clipboard content
+     * @return the content itself or a handle to it if it has been stored
+     * @throws ClipboardContentTooLargeException if the content exceeds the maximum size
+     */
+    String putIfLarge(final String content) throws ClipboardContentTooLargeException {
+        checkSize(content);
+        if (content.length() < m_handleThreshold) {
+            return content;
+        }
+        var compressed = compress(content);
+        var handle = HANDLE_PREFIX + UUID.randomUUID();
+        synchronized (this) {
+            m_contents.put(handle, compressed);
+            m_storeSize += compressed.length;
+            m_numStored++;
+            var it = m_contents.entrySet().iterator();
+            // always keep the most recently added content, even if it exceeds the budget on its own
+            while (m_storeSize > m_maxStoreSize && m_contents.size() > 1) {
+                m_storeSize -= it.next().getValue().length;
+                it.remove();
+                m_numEvicted++;
+            }
+        }
+        LOGGER.debugWithFormat("Clipboard content of %d characters stored as %d compressed bytes", content.length(),
+            compressed.length);
+        return handle;
+    }
+
+    /**
+     * @param contentOrHandle a clipboard content or a handle as returned by {@link #putIfLarge(String)}
+     * @return the content itself, the content referenced by the handle, or an empty optional if the handle doesn't
+     *         reference a content (anymore)
+     * @throws ClipboardContentTooLargeException if the content exceeds the maximum size
+     */
+    Optional<String> get(final String contentOrHandle) throws ClipboardContentTooLargeException {
+        return pin(contentOrHandle).map(PinnedContent::get);
+    }
+
+    /**
+     * Same as {@link #get(String)}, but the content stays available through the returned object even if it's evicted
+     * from the store in the meantime (e.g. to be able to redo a paste).
+     *
+     * @param contentOrHandle a clipboard content or a handle as returned by {@link #putIfLarge(String)}
+     * @return the pinned content, or an empty optional if the handle doesn't reference a content (anymore)
+     * @throws ClipboardContentTooLargeException if the content exceeds the maximum size
+     */
+    Optional<PinnedContent> pin(final String contentOrHandle) throws ClipboardContentTooLargeException {
+        if (!contentOrHandle.startsWith(HANDLE_PREFIX)) {
+            checkSize(contentOrHandle);
+            return Optional.of(new PinnedContent(contentOrHandle, null));
+        }
+        byte[] compressed;
+        synchronized (this) {
+            compressed = m_contents.get(contentOrHandle);
+        }
+        return Optional.ofNullable(compressed).map(c -> new PinnedContent(null, c));
+    }
+
+    private void checkSize(final String content) throws ClipboardContentTooLargeException {
+        if (content.length() > m_maxContentSize) {
+            synchronized (this) {
+                m_numRejected++;
+            }
+            throw new ClipboardContentTooLargeException(
+                "The clipboard content exceeds the maximum size of " + m_maxContentSize + " characters.");
+        }
+    }
+
+    private static byte[] compress(final String content) {
+        var out = new ByteArrayOutputStream();
+        // encodes the characters while compressing, i.e. without an intermediate copy of all the bytes
+        try (var writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+            writer.write(content);
+        } catch (IOException ex) {
+            // can't happen for in-memory streams
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static String decompress(final byte[] compressed) {
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            // can't happen for in-memory streams
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @return metrics about the clipboard contents kept
+     */
+    synchronized Metrics getMetrics() {
+        return new Metrics(m_contents.size(), m_storeSize, m_numStored, m_numEvicted, m_numRejected);
+    }
+
+    /**
+     * Metrics of the {@link ClipboardStore}.
+     *
+     * @param numContents the number of contents currently kept
+     * @param storeSizeInBytes the number of bytes of all the (compressed) contents currently kept
+     * @param numStored the number of contents stored so far
+     * @param numEvicted the number of contents evicted so far (in order to stay within the maximum store size)
+     * @param numRejected the number of contents rejected so far because they exceeded the maximum content size
+     */
+    record Metrics(int numContents, long storeSizeInBytes, long numStored, long numEvicted, long numRejected) {
+        //
+    }
+
+    /**
+     * A clipboard content as returned by {@link ClipboardStore#pin(String)}. Keeps the content compressed if it was
+     * referenced by a handle.
+     */
+    static final class PinnedContent {
+
+        private final String m_content;
+
+        private final byte[] m_compressed;
+
+        private PinnedContent(final String content, final byte[] compressed) {
+            m_content = content;
+            m_compressed = compressed;
+        }
+
+        /**
+         * @return the (decompressed) content
+         */
+        String get() {
+            return m_compressed == null ? m_content : decompress(m_compressed);
+        }
+
+        /**
+         * @return the number of bytes retained in addition to the content or handle itself, i.e. the size of the
+         *         compressed content if it was referenced by a handle, 0 otherwise
+         */
+        long getRetainedSize() {
+            return m_compressed == null ? 0 : m_compressed.length;
+        }
+
+    }
+
+    /**
+     * Thrown if a clipboard content exceeds the maximum size.
+     */
+    static final class ClipboardContentTooLargeException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        ClipboardContentTooLargeException(final String message) {
+            super(message);
+        }
+
+    }
+
+}
@@ -130,4 +130,9 @@ public boolean canUndo() {
     public boolean canRedo() {
         return m_activeCommand.canRedo();
     }
+
+    @Override
+    public long getUndoSizeEstimate() {
+        return m_activeCommand.getUndoSizeEstimate();
+    }
 }
@@ -151,4 +151,9 @@ public boolean canRedo()  {
         }
         return true;
     }
+
+    @Override
+    public long getUndoSizeEstimate() {
+        return m_commands.stream().mapToLong(WorkflowCommand::getUndoSizeEstimate).sum();
+    }
 }
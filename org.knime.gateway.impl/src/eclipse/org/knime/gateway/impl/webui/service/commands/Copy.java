@@ -63,6 +63,9 @@
 import org.knime.gateway.api.webui.service.util.ServiceExceptions.ServiceCallException;
 import org.knime.gateway.impl.service.util.DefaultServiceUtil;
 import org.knime.gateway.impl.service.util.WorkflowChangesTracker.WorkflowChange;
+import org.knime.gateway.impl.webui.WorkflowKey;
+import org.knime.gateway.impl.webui.service.commands.ClipboardStore.ClipboardContentTooLargeException;
+import org.knime.shared.workflow.storage.clipboard.DefClipboardContent;
 import org.knime.shared.workflow.storage.clipboard.SystemClipboardFormat;
 import org.knime.shared.workflow.storage.clipboard.SystemClipboardFormat.ObfuscatorException;
 import org.knime.shared.workflow.storage.text.util.ObjectMapperUtil;
@@ -81,6 +84,8 @@ class Copy extends AbstractPartBasedWorkflowCommand implements WithResult {
 
     private String m_content;
 
+    private DefClipboardContent m_defClipboardContent;
+
     private static final NodeLogger LOGGER = NodeLogger.getLogger(Copy.class);
 
     Copy(final CopyCommandEnt commandEnt) {
@@ -88,6 +93,30 @@ class Copy extends AbstractPartBasedWorkflowCommand implements WithResult {
         m_commandEnt = commandEnt;
     }
 
+    @Override
+    public boolean execute(final WorkflowKey wfKey) throws ServiceCallException {
+        var workflowModified = super.execute(wfKey);
+        // serialize (and possibly compress) the copied content after the workflow lock has been released
+        try {
+            var mapper = ObjectMapperUtil.getInstance().getObjectMapper();
+            var systemClipboardContent = SystemClipboardFormat.serialize(m_defClipboardContent);
+            // large contents are possibly kept server-side and only a handle is returned
+            m_content = mapper.writeValueAsString(ClipboardStore.getInstance().putIfLarge(systemClipboardContent));
+        } catch (JsonProcessingException | ObfuscatorException e) {
+            LOGGER.error("Cannot copy to system clipboard: ", e);
+        } catch (ClipboardContentTooLargeException e) {
+            throw ServiceCallException.builder() //
+                .withTitle("Copy request failed") //
+                .withDetails(e.getMessage()) //
+                .canCopy(false) //
+                .withCause(e) //
+                .build();
+        } finally {
+            m_defClipboardContent = null;
+        }
+        return workflowModified;
+    }
+
     /** Set true so it also works as a command sequence for {@link Cut} */
     @Override
     public boolean canUndo() {
@@ -143,15 +172,7 @@ protected boolean executeWithWorkflowLockAndContext() throws ServiceCallExceptio
                 .setNodeIDs(nodeIds)//
                 .setAnnotationIDs(annotationIDs)//
                 .build();
-        // TODO: NXT-1168 Put a limit on the clipboard content size
-        var defClipboardContent = wfm.copyToDef(workflowCopyContent, PasswordRedactor.asNull());
-        var mapper = ObjectMapperUtil.getInstance().getObjectMapper();
-        try {
-            var systemClipboardContent = SystemClipboardFormat.serialize(defClipboardContent);
-            m_content = mapper.writeValueAsString(systemClipboardContent);
-        } catch (JsonProcessingException | ObfuscatorException e) {
-            LOGGER.error("Cannot copy to system clipboard: ", e);
-        }
+        m_defClipboardContent = wfm.copyToDef(workflowCopyContent, PasswordRedactor.asNull());
         return false; // The workflow didn't change
     }
 
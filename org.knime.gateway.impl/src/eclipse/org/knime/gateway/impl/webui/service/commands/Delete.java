@@ -91,6 +91,8 @@ final class Delete extends AbstractWorkflowCommand {
 
     private WorkflowPersistor m_copy;
 
+    private long m_undoSizeEstimate;
+
     /*
      * Set of the connection that have been deleted. Both explicitly selected ones and those that are not part of the
      * persistor (persistor only covers connections whose source and destination are part of the persistor too).
@@ -129,6 +131,11 @@ public void undo() throws ServiceCallException {
         wfm.setDirty();
     }
 
+    @Override
+    public long getUndoSizeEstimate() {
+        return m_undoSizeEstimate;
+    }
+
     @Override
     public boolean canRedo() {
         var wfm = getWorkflowManager();
@@ -195,6 +202,7 @@ protected boolean executeWithWorkflowLockAndContext() throws ServiceCallExceptio
         }
 
         m_copy = wfm.copy(true, content);
+        m_undoSizeEstimate = UndoSizeEstimates.ofNodes(wfm, nodesToDelete);
         WorkflowAnnotationID[] annoIds = content.getAnnotationIDs();
 
         final Map<ConnectionID, int[]> bendpointsToDelete = new LinkedHashMap<>();
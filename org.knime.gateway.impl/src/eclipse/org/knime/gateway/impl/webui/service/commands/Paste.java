@@ -68,8 +68,12 @@
 import org.knime.gateway.api.webui.entity.PasteResultEnt.PasteResultEntBuilder;
 import org.knime.gateway.api.webui.service.util.ServiceExceptions.ServiceCallException;
 import org.knime.gateway.impl.service.util.WorkflowChangesTracker.WorkflowChange;
+import org.knime.gateway.impl.webui.WorkflowKey;
+import org.knime.gateway.impl.webui.service.commands.ClipboardStore.ClipboardContentTooLargeException;
+import org.knime.gateway.impl.webui.service.commands.ClipboardStore.PinnedContent;
 import org.knime.gateway.impl.webui.service.commands.util.Geometry.Delta;
 import org.knime.gateway.impl.webui.service.commands.util.Geometry.Point;
+import org.knime.shared.workflow.storage.clipboard.DefClipboardContent;
 import org.knime.shared.workflow.storage.clipboard.InvalidDefClipboardContentVersionException;
 import org.knime.shared.workflow.storage.clipboard.SystemClipboardFormat;
 import org.knime.shared.workflow.storage.clipboard.SystemClipboardFormat.ObfuscatorException;
@@ -90,10 +94,79 @@ class Paste extends AbstractWorkflowCommand implements WithResult {
 
     private WorkflowCopyContent m_workflowCopyContent;
 
+    private DefClipboardContent m_defClipboardContent;
+
+    /*
+     * The clipboard content resolved on execute; kept for redo since a handle might not reference a content anymore
+     * by then.
+     */
+    private PinnedContent m_clipboardContent;
+
     Paste(final PasteCommandEnt commandEnt) {
         m_commandEnt = commandEnt;
     }
 
+    @Override
+    public boolean execute(final WorkflowKey wfKey) throws ServiceCallException {
+        // resolve and parse the clipboard content before the workflow is locked
+        m_clipboardContent = pinClipboardContent(m_commandEnt.getContent());
+        m_defClipboardContent = parseClipboardContent(m_clipboardContent);
+        try {
+            return super.execute(wfKey);
+        } finally {
+            // don't keep the parsed content alive on the undo/redo stack - it's re-parsed on redo
+            m_defClipboardContent = null;
+        }
+    }
+
+    @Override
+    public void redo() throws ServiceCallException {
+        m_defClipboardContent = parseClipboardContent(m_clipboardContent);
+        try {
+            super.redo();
+        } finally {
+            m_defClipboardContent = null;
+        }
+    }
+
+    @Override
+    public long getUndoSizeEstimate() {
+        return m_clipboardContent == null ? 0 : m_clipboardContent.getRetainedSize();
+    }
+
+    private static PinnedContent pinClipboardContent(final String content) throws ServiceCallException {
+        try {
+            var mapper = ObjectMapperUtil.getInstance().getObjectMapper();
+            var contentOrHandle = mapper.readValue(content, String.class);
+            return ClipboardStore.getInstance().pin(contentOrHandle)
+                .orElseThrow(() -> ServiceCallException.builder() //
+                    .withTitle("Paste request failed") //
+                    .withDetails("The clipboard content is not available anymore. Please copy it again.") //
+                    .canCopy(false) //
+                    .build());
+        } catch (JsonProcessingException | ClipboardContentTooLargeException e) {
+            throw pasteFailed(e);
+        }
+    }
+
+    private static DefClipboardContent parseClipboardContent(final PinnedContent content)
+        throws ServiceCallException {
+        try {
+            return SystemClipboardFormat.deserialize(content.get());
+        } catch (IllegalArgumentException | InvalidDefClipboardContentVersionException | ObfuscatorException e) {
+            throw pasteFailed(e);
+        }
+    }
+
+    private static ServiceCallException pasteFailed(final Exception e) {
+        return ServiceCallException.builder() //
+            .withTitle("Paste request failed") //
+            .withDetails(e.getClass().getSimpleName() + ": " + e.getMessage()) //
+            .canCopy(true) //
+            .withCause(e) //
+            .build();
+    }
+
     @Override
     public void undo() throws ServiceCallException {
         var wfm = getWorkflowManager();
@@ -105,21 +178,7 @@ public void undo() throws ServiceCallException {
     protected boolean executeWithWorkflowLockAndContext() throws ServiceCallException {
         var wfm = getWorkflowManager();
         // Paste at original position
-        try {
-            var mapper = ObjectMapperUtil.getInstance().getObjectMapper();
-            // TODO: NXT-1168 Put a limit on the clipboard content size
-            var systemClipboardContent = mapper.readValue(m_commandEnt.getContent(), String.class);
-            var defClipboardContent = SystemClipboardFormat.deserialize(systemClipboardContent);
-            m_workflowCopyContent = getWorkflowManager().paste(defClipboardContent);
-        } catch (JsonProcessingException | IllegalArgumentException | InvalidDefClipboardContentVersionException
-                | ObfuscatorException e) {
-            throw ServiceCallException.builder() //
-                .withTitle("Paste request failed") //
-                .withDetails(e.getClass().getSimpleName() + ": " + e.getMessage()) //
-                .canCopy(true) //
-                .withCause(e) //
-                .build();
-        }
+        m_workflowCopyContent = wfm.paste(m_defClipboardContent);
         // Get nodes and annotations
         var nodes = Arrays.stream(m_workflowCopyContent.getNodeIDs())//
             .map(id -> CoreUtil.getNodeContainer(id, wfm).orElseThrow())//
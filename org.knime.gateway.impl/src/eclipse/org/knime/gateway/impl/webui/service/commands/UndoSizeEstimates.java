@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.commands;
+
+import java.util.Collection;
+
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.SubNodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+
+/**
+ * Rough estimates of the memory retained by workflow commands in order to be able to undo (or redo) them (see
+ * {@link WorkflowCommand#getUndoSizeEstimate()}).
+ *
+ * The memory retained by a copy of nodes (see
+ * {@link WorkflowManager#copy(boolean, org.knime.core.node.workflow.WorkflowCopyContent)}) can't be determined exactly
+ * without walking the entire object graph. It's hence estimated by the number of nodes copied (including the nodes
+ * contained in metanodes and components) times a fixed size per node plus, for executed nodes, the size of their output
+ * data (which is retained by the copy, too). Every output port object is accounted for with a fixed size. That includes
+ * data tables: their data is managed by the buffer management of the core (i.e. swapped to disk if memory runs low),
+ * such that the copy merely retains a handle to it - charging the number of cells would make large tables impossible
+ * to undo.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class UndoSizeEstimates {
+
+    /**
+     * System property to configure the estimated number of bytes retained per copied node.
+     */
+    static final String NODE_SIZE_PROPERTY = UndoSizeEstimates.class.getName() + ".nodeSize";
+
+    /**
+     * System property to configure the estimated number of bytes retained per output port object of an executed node.
+     */
+    static final String PORT_OBJECT_SIZE_PROPERTY = UndoSizeEstimates.class.getName() + ".portObjectSize";
+
+    private static final long NODE_SIZE = Long.getLong(NODE_SIZE_PROPERTY, 64L * 1024);
+
+    private static final long PORT_OBJECT_SIZE = Long.getLong(PORT_OBJECT_SIZE_PROPERTY, 16L * 1024);
+
+    private UndoSizeEstimates() {
+        // utility
+    }
+
+    /**
+     * @param wfm the workflow containing the nodes
+     * @param nodeIds the nodes to be copied (must still be part of the workflow)
+     * @return the estimated number of bytes retained by a copy of the given nodes
+     */
+    static long ofNodes(final WorkflowManager wfm, final Collection<NodeID> nodeIds) {
+        var size = 0L;
+        for (var id : nodeIds) {
+            size += ofNode(wfm.getNodeContainer(id));
+        }
+        return size;
+    }
+
+    private static long ofNode(final NodeContainer nc) {
+        WorkflowManager containedWfm = null;
+        if (nc instanceof WorkflowManager metanode) {
+            containedWfm = metanode;
+        } else if (nc instanceof SubNodeContainer component) {
+            containedWfm = component.getWorkflowManager();
+        }
+        var size = NODE_SIZE;
+        if (containedWfm != null) {
+            // the output data of metanodes and components is the output data of the contained nodes
+            for (var child : containedWfm.getNodeContainers()) {
+                size += ofNode(child);
+            }
+        } else if (nc instanceof NativeNodeContainer nnc && nnc.getNodeContainerState().isExecuted()) {
+            for (var i = 0; i < nnc.getNrOutPorts(); i++) {
+                size += ofPortObject(nnc.getOutPort(i).getPortObject());
+            }
+        }
+        return size;
+    }
+
+    private static long ofPortObject(final PortObject po) {
+        return po == null || po instanceof FlowVariablePortObject ? 0 : PORT_OBJECT_SIZE;
+    }
+
+}
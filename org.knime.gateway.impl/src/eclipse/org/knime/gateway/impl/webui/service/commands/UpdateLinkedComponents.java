@@ -55,7 +55,9 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -71,6 +73,7 @@
 import org.knime.core.node.workflow.WorkflowLoadHelper;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.node.workflow.WorkflowPersistor;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResult;
 import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
 import org.knime.core.node.workflow.WorkflowPersistor.NodeContainerTemplateLinkUpdateResult;
 import org.knime.core.util.Pair;
@@ -136,9 +139,16 @@ protected boolean executeWithWorkflowLockAndContext()
                 .build();
         }
 
-        m_updateLogs = components.stream()//
-            .map(UpdateLinkedComponents::updateLinkedComponent)//
-            .toList();
+        // templates loaded (from their source uri) while checking for or applying updates - shared among all the
+        // components such that instances of the same template are updated from a single load
+        final Map<URI, NodeContainerTemplate> loadedTemplates = new HashMap<>();
+        try {
+            m_updateLogs = components.stream()//
+                .map(component -> updateLinkedComponent(component, loadedTemplates))//
+                .toList();
+        } finally {
+            disposeLoadedTemplates(loadedTemplates);
+        }
         m_status = determineAggregateStatus(m_updateLogs);
         m_details = getDetails(m_status, m_updateLogs);
 
@@ -236,7 +246,18 @@ private static List<String> getDetails(final StatusEnum status, final List<Updat
             .toList();
     }
 
-    private static UpdateLog updateLinkedComponent(final SubNodeContainer component) {
+    static void disposeLoadedTemplates(final Map<URI, NodeContainerTemplate> loadedTemplates) {
+        for (var template : loadedTemplates.values()) {
+            try {
+                template.getParent().removeNode(template.getID());
+            } catch (IllegalArgumentException e) { // NOSONAR
+                LOGGER.debug("Loaded template <%s> couldn't be disposed".formatted(template.getNameWithID()), e);
+            }
+        }
+    }
+
+    static UpdateLog updateLinkedComponent(final SubNodeContainer component,
+        final Map<URI, NodeContainerTemplate> loadedTemplates) {
         final var oldComponentId = component.getID();
         final var wfm = component.getParent();
         final var nct = (NodeContainerTemplate)wfm.findNodeContainer(oldComponentId);
@@ -249,7 +270,7 @@ private static UpdateLog updateLinkedComponent(final SubNodeContainer component)
             if (!wfm.canUpdateMetaNodeLink(oldComponentId)) {
                 return logErrorAndReturnUpdateLog(component, "Execution is in progress.", null);
             }
-            if (!needsUpdate(oldComponentId, wfm)) {
+            if (!needsUpdate(oldComponentId, wfm, loadedTemplates)) {
                 return new UpdateLog(component, wfm, null, StatusEnum.UNCHANGED, null);
             }
         } catch (IOException e) {
@@ -257,12 +278,15 @@ private static UpdateLog updateLinkedComponent(final SubNodeContainer component)
             return logErrorAndReturnUpdateLog(nct, "Error while checking for update availability.", e);
         }
 
-        final NodeContainerTemplateLinkUpdateResult updateResult;
+        final var updateResult =
+            new NodeContainerTemplateLinkUpdateResult("Update node link \"" + nct.getNameWithID() + "\"");
+        final NodeContainerTemplate newComponent;
         try {
             final var exec = new ExecutionMonitor();
             final var loadHelper = new WorkflowLoadHelper(true, wfm.getContextV2());
-            // This will return an update result even if no update was necessary or possible
-            updateResult = nct.getParent().updateMetaNodeLink(oldComponentId, exec, loadHelper);
+            // This will fill the update result even if no update was necessary or possible
+            newComponent = nct.getParent().updateMetaNodeLinkWithCache(oldComponentId, exec, loadHelper,
+                loadedTemplates, updateResult);
         } catch (Throwable e) {
             return logErrorAndReturnUpdateLog(nct, null, e); // If f.e. the network is unreachable
         }
@@ -272,13 +296,14 @@ private static UpdateLog updateLinkedComponent(final SubNodeContainer component)
             return logErrorAndReturnUpdateLog(nct, null, null); // If f.e. the linked component could not be found
         }
 
-        final var newComponent = updateResult.getNCTemplate();
         var status = updateResult.getType() == LoadResultEntryType.Ok ? StatusEnum.SUCCESS : StatusEnum.ERROR;
         return new UpdateLog(newComponent, wfm, persistor, status, null);
     }
 
-    private static boolean needsUpdate(final NodeID componentId, final WorkflowManager parent) throws IOException {
-        return parent.checkUpdateMetaNodeLink(componentId, new WorkflowLoadHelper(true, parent.getContextV2()));
+    static boolean needsUpdate(final NodeID componentId, final WorkflowManager parent,
+        final Map<URI, NodeContainerTemplate> loadedTemplates) throws IOException {
+        return parent.checkUpdateMetaNodeLinkWithCache(componentId,
+            new WorkflowLoadHelper(true, parent.getContextV2()), new LoadResult("ignored"), loadedTemplates, true);
     }
 
     private static UpdateLog logErrorAndReturnUpdateLog(final NodeContainerTemplate nct, final String reason,
@@ -289,7 +314,7 @@ private static UpdateLog logErrorAndReturnUpdateLog(final NodeContainerTemplate
         return log;
     }
 
-    private static record UpdateLog(NodeContainerTemplate nct, WorkflowManager wfm, WorkflowPersistor persistor,
+    record UpdateLog(NodeContainerTemplate nct, WorkflowManager wfm, WorkflowPersistor persistor,
         StatusEnum status, String reason) {
 
         String message() {
@@ -110,4 +110,16 @@ public interface WorkflowCommand {
      */
     void redo() throws ServiceCallException;
 
+    /**
+     * An estimate of the memory retained by this command in order to be able to undo or redo it (e.g. a copy of deleted
+     * nodes). Used to keep the undo- and redo-history of all workflows within a memory budget. Only called after
+     * {@link #execute(WorkflowKey)}.
+     *
+     * @return the estimated number of bytes; 0 by default
+     * @since 5.12
+     */
+    default long getUndoSizeEstimate() {
+        return 0;
+    }
+
 }
@@ -49,14 +49,21 @@
 package org.knime.gateway.impl.webui.service.commands;
 
 import java.util.Deque;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.knime.core.node.NodeLogger;
 import org.knime.gateway.api.webui.entity.AddBendpointCommandEnt;
 import org.knime.gateway.api.webui.entity.AddComponentCommandEnt;
 import org.knime.gateway.api.webui.entity.AddNodeCommandEnt;
@@ -106,12 +113,27 @@
  * types of workflow commands are represented by the implementations of {@link WorkflowCommandEnt}, i.e. different kind
  * of entities of workflow commands.
  *
+ * Commands (and the undo- and redo-stack operations) are serialized per workflow project, i.e. commands of different
+ * projects can be executed concurrently. All the workflows of a project share one lock because a command can change
+ * workflows other than the one it's executed on (e.g. collapse or expand).
+ *
+ * The memory retained by the commands on all the undo- and redo-stacks (see
+ * {@link WorkflowCommand#getUndoSizeEstimate()}) is kept within a budget. If the budget is exceeded, the oldest
+ * commands are removed from the stacks (i.e. can't be undone or redone anymore).
+ *
  * This is API that might/should be moved closer to the core eventually.
  *
  * @author Martin Horn, KNIME GmbH, Konstanz, Germany
  */
 public final class WorkflowCommands {
 
+    /**
+     * System property to configure the memory budget (in bytes) of the undo- and redo-stacks of all workflows together.
+     */
+    static final String UNDO_MEMORY_BUDGET_PROPERTY = WorkflowCommands.class.getName() + ".undoMemoryBudget";
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(WorkflowCommands.class);
+
     private final Map<WorkflowKey, CommandStack> m_redoStacks;
 
     private final Map<WorkflowKey, CommandStack> m_undoStacks;
@@ -120,15 +142,54 @@ public final class WorkflowCommands {
 
     private WorkflowCommand m_workflowCommandToExecute;
 
+    /*
+     * Project-id -> lock. The locks are never removed (not even if the project's command stacks are disposed) - a
+     * thread could be about to acquire a removed lock while another thread creates a new one for the same project.
+     */
+    private final Map<String, ReentrantLock> m_projectLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder m_lockCount = new LongAdder();
+
+    private final LongAdder m_contendedLockCount = new LongAdder();
+
+    private final LongAdder m_lockWaitTimeInNanos = new LongAdder();
+
+    private final AtomicLong m_maxLockWaitTimeInNanos = new AtomicLong();
+
+    private final long m_undoMemoryBudget;
+
+    /*
+     * The estimated memory retained by the commands on all undo- and redo-stacks.
+     */
+    private final AtomicLong m_undoSize = new AtomicLong();
+
+    /*
+     * To order the commands on all the stacks by the time they've been executed.
+     */
+    private final AtomicLong m_commandSequence = new AtomicLong();
+
     /**
      * Creates a new instance with initially empty undo- and redo-stacks.
      *
      * @param maxNumUndoAndRedoCommandsPerWorkflow the maximum size of undo- and redo-stack for each workflow
      */
     public WorkflowCommands(final int maxNumUndoAndRedoCommandsPerWorkflow) {
+        this(maxNumUndoAndRedoCommandsPerWorkflow,
+            Long.getLong(UNDO_MEMORY_BUDGET_PROPERTY, Runtime.getRuntime().maxMemory() / 8));
+    }
+
+    /**
+     * Creates a new instance with initially empty undo- and redo-stacks.
+     *
+     * @param maxNumUndoAndRedoCommandsPerWorkflow the maximum size of undo- and redo-stack for each workflow
+     * @param undoMemoryBudget the maximum estimated memory (in bytes) retained by the commands on the undo- and
+     *            redo-stacks of all workflows together
+     */
+    WorkflowCommands(final int maxNumUndoAndRedoCommandsPerWorkflow, final long undoMemoryBudget) {
         m_maxNumUndoAndRedoCommandsPerWorkflow = maxNumUndoAndRedoCommandsPerWorkflow;
-        m_redoStacks = new HashMap<>();
-        m_undoStacks = new HashMap<>();
+        m_undoMemoryBudget = undoMemoryBudget;
+        m_redoStacks = new ConcurrentHashMap<>();
+        m_undoStacks = new ConcurrentHashMap<>();
     }
 
     /**
@@ -283,11 +344,19 @@ private static Optional<WorkflowChangeWaiter> prepareCommandResult(final Workflo
         return Optional.empty();
     }
 
-    private synchronized void executeCommandAndModifyCommandStacks(final WorkflowKey wfKey,
-        final WorkflowCommand command) throws ServiceCallException {
-        var undoStack = getOrCreateCommandStackFor(wfKey, m_undoStacks);
-        var redoStack = getOrCreateCommandStackFor(wfKey, m_redoStacks);
+    private void executeCommandAndModifyCommandStacks(final WorkflowKey wfKey, final WorkflowCommand command)
+        throws ServiceCallException {
+        try (var projectLock = lockProject(wfKey)) {
+            var undoStack = getOrCreateCommandStackFor(wfKey, m_undoStacks);
+            var redoStack = getOrCreateCommandStackFor(wfKey, m_redoStacks);
+            executeCommandAndModifyCommandStacks(wfKey, command, undoStack, redoStack);
+        }
+        // outside of the project lock since the stacks of other projects might need to be trimmed
+        enforceUndoMemoryBudget(command);
+    }
 
+    private static void executeCommandAndModifyCommandStacks(final WorkflowKey wfKey, final WorkflowCommand command,
+        final CommandStack undoStack, final CommandStack redoStack) throws ServiceCallException {
         try (var lock1 = undoStack.lock(); var lock2 = redoStack.lock()) {
             // The undo- and redo-stacks need to be updated before the command is being executed.
             // That's because during the command-execution events are fired which in turn access the
@@ -310,6 +379,58 @@ private CommandStack getOrCreateCommandStackFor(final WorkflowKey wfKey,
         return stacks.computeIfAbsent(wfKey, k -> new CommandStack(m_maxNumUndoAndRedoCommandsPerWorkflow));
     }
 
+    /*
+     * Removes the oldest commands from the stacks until the memory retained by all the commands is within the budget.
+     * Only stacks that retain memory at all are trimmed. Commands are only ever removed from the bottom of a stack
+     * such that the remaining commands can still be undone (or redone) in order. The command that has just been
+     * executed is never removed, even if it exceeds the budget on its own - it's the one most likely to be undone.
+     */
+    private void enforceUndoMemoryBudget(final WorkflowCommand justExecuted) {
+        while (m_undoSize.get() > m_undoMemoryBudget) {
+            WorkflowKey oldestKey = null;
+            CommandStack oldestStack = null;
+            StackEntry oldestEntry = null;
+            for (var stacks : List.of(m_undoStacks, m_redoStacks)) {
+                for (var e : stacks.entrySet()) {
+                    var last = e.getValue().peekLastIfRetainingMemory();
+                    if (last != null && last.command() != justExecuted
+                        && (oldestEntry == null || last.sequenceNumber() < oldestEntry.sequenceNumber())) {
+                        oldestKey = e.getKey();
+                        oldestStack = e.getValue();
+                        oldestEntry = last;
+                    }
+                }
+            }
+            if (oldestEntry == null) {
+                return;
+            }
+            try (var projectLock = lockProject(oldestKey)) {
+                if (oldestStack.removeLast(oldestEntry)) {
+                    LOGGER.debugWithFormat(
+                        "Command removed from undo/redo-history of workflow %s to stay within memory budget (%d bytes)",
+                        oldestKey, m_undoMemoryBudget);
+                }
+            }
+        }
+    }
+
+    /*
+     * Acquires the lock of the project the given workflow is part of and keeps track of the lock contention.
+     */
+    private CommandStackModifyLock lockProject(final WorkflowKey wfKey) {
+        var lock = m_projectLocks.computeIfAbsent(wfKey.getProjectId(), id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            m_contendedLockCount.increment();
+            var start = System.nanoTime();
+            lock.lock();
+            var waitTime = System.nanoTime() - start;
+            m_lockWaitTimeInNanos.add(waitTime);
+            m_maxLockWaitTimeInNanos.accumulateAndGet(waitTime, Math::max);
+        }
+        m_lockCount.increment();
+        return lock::unlock;
+    }
+
     private static CommandResultEnt waitForCommandResult(final WorkflowKey wfKey, final WorkflowCommand command,
         final WorkflowChangeWaiter wfChangeWaiter, final WorkflowMiddleware workflowMiddleware)
         throws ServiceCallException {
@@ -335,9 +456,12 @@ private static CommandResultEnt waitForCommandResult(final WorkflowKey wfKey, fi
      * @param wfKey reference to the workflow to check the undo-state for
      * @return whether there is at least one command on the undo-stack
      */
-    public synchronized boolean canUndo(final WorkflowKey wfKey) {
-        final var topCommand = Optional.ofNullable(m_undoStacks.get(wfKey)).flatMap(CommandStack::peek).orElse(null);
-        return topCommand != null && topCommand.canUndo();
+    public boolean canUndo(final WorkflowKey wfKey) {
+        try (var projectLock = lockProject(wfKey)) {
+            final var topCommand =
+                Optional.ofNullable(m_undoStacks.get(wfKey)).flatMap(CommandStack::peek).orElse(null);
+            return topCommand != null && topCommand.canUndo();
+        }
     }
 
     /**
@@ -346,16 +470,18 @@ public synchronized boolean canUndo(final WorkflowKey wfKey) {
      * @param wfKey reference to the workflow to undo the last command for
      * @throws ServiceCallException
      */
-    public synchronized void undo(final WorkflowKey wfKey) throws ServiceCallException {
-        var undoStack = m_undoStacks.get(wfKey);
-        if (undoStack != null && !undoStack.isEmpty()) {
-            undoStack.getHeadAndTransferTo(getOrCreateCommandStackFor(wfKey, m_redoStacks)).undo();
-        } else {
-            throw ServiceCallException.builder() //
-                .withTitle("No command to undo") //
-                .withDetails() //
-                .canCopy(false) //
-                .build();
+    public void undo(final WorkflowKey wfKey) throws ServiceCallException {
+        try (var projectLock = lockProject(wfKey)) {
+            var undoStack = m_undoStacks.get(wfKey);
+            if (undoStack != null && !undoStack.isEmpty()) {
+                undoStack.getHeadAndTransferTo(getOrCreateCommandStackFor(wfKey, m_redoStacks)).undo();
+            } else {
+                throw ServiceCallException.builder() //
+                    .withTitle("No command to undo") //
+                    .withDetails() //
+                    .canCopy(false) //
+                    .build();
+            }
         }
     }
 
@@ -365,9 +491,12 @@ public synchronized void undo(final WorkflowKey wfKey) throws ServiceCallExcepti
      * @param wfKey reference to the workflow to check the redo-state for
      * @return whether there is at least one command on the redo-stack
      */
-    public synchronized boolean canRedo(final WorkflowKey wfKey) {
-        final var topCommand = Optional.ofNullable(m_redoStacks.get(wfKey)).flatMap(CommandStack::peek).orElse(null);
-        return topCommand != null && topCommand.canRedo();
+    public boolean canRedo(final WorkflowKey wfKey) {
+        try (var projectLock = lockProject(wfKey)) {
+            final var topCommand =
+                Optional.ofNullable(m_redoStacks.get(wfKey)).flatMap(CommandStack::peek).orElse(null);
+            return topCommand != null && topCommand.canRedo();
+        }
     }
 
     /**
@@ -376,16 +505,18 @@ public synchronized boolean canRedo(final WorkflowKey wfKey) {
      * @param wfKey reference to the workflow to redo the last command for
      * @throws ServiceCallException
      */
-    public synchronized void redo(final WorkflowKey wfKey) throws ServiceCallException {
-        var redoStack = m_redoStacks.get(wfKey);
-        if (redoStack != null && !redoStack.isEmpty()) {
-            redoStack.getHeadAndTransferTo(getOrCreateCommandStackFor(wfKey, m_undoStacks)).redo();
-        } else {
-            throw ServiceCallException.builder() //
-                .withTitle("No command to redo") //
-                .withDetails() //
-                .canCopy(false) //
-                .build();
+    public void redo(final WorkflowKey wfKey) throws ServiceCallException {
+        try (var projectLock = lockProject(wfKey)) {
+            var redoStack = m_redoStacks.get(wfKey);
+            if (redoStack != null && !redoStack.isEmpty()) {
+                redoStack.getHeadAndTransferTo(getOrCreateCommandStackFor(wfKey, m_undoStacks)).redo();
+            } else {
+                throw ServiceCallException.builder() //
+                    .withTitle("No command to redo") //
+                    .withDetails() //
+                    .canCopy(false) //
+                    .build();
+            }
         }
     }
 
@@ -405,9 +536,43 @@ void disposeUndoAndRedoStacks(final String projectId) {
      *
      * @param keyFilter filter determining which workflow(s) to dispose the command stacks of
      */
-    public synchronized void disposeUndoAndRedoStacks(final Predicate<WorkflowKey> keyFilter) {
-        m_undoStacks.entrySet().removeIf(e -> keyFilter.test(e.getKey()));
-        m_redoStacks.entrySet().removeIf(e -> keyFilter.test(e.getKey()));
+    public void disposeUndoAndRedoStacks(final Predicate<WorkflowKey> keyFilter) {
+        var keysByProject = Stream.concat(m_undoStacks.keySet().stream(), m_redoStacks.keySet().stream()) //
+            .filter(keyFilter) //
+            .collect(Collectors.groupingBy(WorkflowKey::getProjectId, Collectors.toSet()));
+        keysByProject.values().forEach(keys -> {
+            try (var projectLock = lockProject(keys.iterator().next())) {
+                for (var key : keys) {
+                    Optional.ofNullable(m_undoStacks.remove(key)).ifPresent(CommandStack::dispose);
+                    Optional.ofNullable(m_redoStacks.remove(key)).ifPresent(CommandStack::dispose);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return metrics about the contention of the per-project locks which serialize the command execution (and the
+     *         undo- and redo-stack operations)
+     * @since 5.12
+     */
+    public LockMetrics getLockMetrics() {
+        return new LockMetrics(m_lockCount.sum(), m_contendedLockCount.sum(),
+            TimeUnit.NANOSECONDS.toMillis(m_lockWaitTimeInNanos.sum()),
+            TimeUnit.NANOSECONDS.toMillis(m_maxLockWaitTimeInNanos.get()));
+    }
+
+    /**
+     * Metrics about the contention of the per-project locks of {@link WorkflowCommands}.
+     *
+     * @param lockCount how often a lock has been acquired (command executions, undo, redo, can-undo, can-redo, ...)
+     * @param contendedLockCount how often a lock couldn't be acquired immediately because it was held by another thread
+     *            (e.g. by a command being executed on the same project)
+     * @param totalWaitTimeInMs the time summed up that threads had to wait for a lock
+     * @param maxWaitTimeInMs the maximum time a thread had to wait for a lock
+     * @since 5.12
+     */
+    public record LockMetrics(long lockCount, long contendedLockCount, long totalWaitTimeInMs, long maxWaitTimeInMs) {
+        //
     }
 
     /**
@@ -430,9 +595,25 @@ int getRedoStackSize(final WorkflowKey wfKey) {
         return redoStack == null ? 0 : redoStack.size();
     }
 
-    private static final class CommandStack {
+    /**
+     * For testing purposes only!
+     *
+     * @return the estimated memory retained by the commands on all undo- and redo-stacks
+     */
+    long getUndoSize() {
+        return m_undoSize.get();
+    }
+
+    /*
+     * A command on a stack together with the order in which it has been executed and the memory it retains.
+     */
+    private record StackEntry(WorkflowCommand command, long sequenceNumber, long sizeInBytes) {
+        //
+    }
+
+    private final class CommandStack {
 
-        private final Deque<WorkflowCommand> m_stack;
+        private final Deque<StackEntry> m_stack;
 
         private WorkflowCommand m_pendingCommand;
 
@@ -442,6 +623,11 @@ private static final class CommandStack {
 
         private final ReentrantLock m_stackModifyLock = new ReentrantLock();
 
+        /*
+         * The memory retained by the commands on this stack; only modified while the respective project is locked.
+         */
+        private volatile long m_sizeInBytes;
+
         CommandStack(final int maxStackSize) {
             m_stack = new ConcurrentLinkedDeque<>();
             m_maxStackSize = maxStackSize;
@@ -499,9 +685,12 @@ void commitPendingChange() {
                 throw new IllegalStateException("Nothing to commit");
             }
             if (m_pendingCommand == null) {
-                m_stack.clear();
+                dispose();
             } else {
-                m_stack.addFirst(m_pendingCommand);
+                var entry = new StackEntry(m_pendingCommand, m_commandSequence.incrementAndGet(),
+                    m_pendingCommand.getUndoSizeEstimate());
+                m_stack.addFirst(entry);
+                addSize(entry.sizeInBytes());
                 ensureMaxStackSize();
                 m_pendingCommand = null;
             }
@@ -510,23 +699,62 @@ void commitPendingChange() {
 
         private void ensureMaxStackSize() {
             if (m_stack.size() > m_maxStackSize) { // NOSONAR - stack size is small enough to not have a performance impact
+                addSize(-m_stack.removeLast().sizeInBytes());
+            }
+        }
+
+        private void addSize(final long delta) {
+            m_sizeInBytes += delta; // NOSONAR - only modified while the project is locked
+            m_undoSize.addAndGet(delta);
+        }
+
+        /**
+         * Removes all commands from the stack and releases the memory accounted for them.
+         */
+        void dispose() {
+            m_stack.clear();
+            addSize(-m_sizeInBytes);
+        }
+
+        /**
+         * @return the command at the bottom of the stack or {@code null} if the stack doesn't retain any memory
+         */
+        StackEntry peekLastIfRetainingMemory() {
+            return m_sizeInBytes > 0 ? m_stack.peekLast() : null;
+        }
+
+        /**
+         * Removes the given entry from the bottom of the stack if it's (still) there.
+         *
+         * @return whether the entry has been removed
+         */
+        boolean removeLast(final StackEntry entry) {
+            if (m_stack.peekLast() == entry) {
                 m_stack.removeLast();
+                addSize(-entry.sizeInBytes());
+                return true;
             }
+            return false;
         }
 
         @SuppressWarnings("java:S1452")
         Optional<WorkflowCommand> peek() {
-            return Optional.ofNullable(m_hasPendingCommit ? m_pendingCommand : m_stack.peek());
+            if (m_hasPendingCommit) {
+                return Optional.ofNullable(m_pendingCommand);
+            }
+            return Optional.ofNullable(m_stack.peek()).map(StackEntry::command);
         }
 
         @SuppressWarnings("java:S1452")
         WorkflowCommand getHeadAndTransferTo(final CommandStack otherCommandStack) {
-            var c = m_stack.poll();
-            if (c == null) {
+            var entry = m_stack.poll();
+            if (entry == null) {
                 throw new NoSuchElementException("Stack is empty");
             }
-            otherCommandStack.m_stack.addFirst(c);
-            return c;
+            addSize(-entry.sizeInBytes());
+            otherCommandStack.m_stack.addFirst(entry);
+            otherCommandStack.addSize(entry.sizeInBytes());
+            return entry.command();
         }
 
         int size() {
@@ -55,6 +55,7 @@
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
@@ -203,9 +204,10 @@ private record DownloadedItem(URI sourceUri, Path localPath) {
     private static DownloadedItem downloadComponent(final SpaceProvider spaceProvider, final String itemId,
         final ExecutionMonitor exec) throws CanceledExecutionException, MutableServiceCallException,
         ServiceExceptions.NetworkException, ServiceExceptions.LoggedOutException {
-        return new DownloadedItem( //
+        return downloadComponent( //
+            spaceProvider, //
             spaceProvider.toKnimeUrl(itemId), //
-            spaceProvider.toLocalAbsolutePath(exec, itemId, VersionId.currentState()).orElseThrow() //
+            version -> spaceProvider.toLocalAbsolutePath(exec, itemId, version) //
         );
     }
 
@@ -213,12 +215,34 @@ private static DownloadedItem downloadComponent(final SpaceProvider spaceProvide
         final String itemId, final ExecutionMonitor exec) throws MutableServiceCallException,
         ServiceExceptions.NetworkException, ServiceExceptions.LoggedOutException, CanceledExecutionException {
         var space = spaceProvider.getSpace(spaceId);
-        return new DownloadedItem( //
+        return downloadComponent( //
+            spaceProvider, //
             space.toKnimeUrl(itemId), //
-            space.toLocalAbsolutePath(exec, itemId).orElseThrow() //
+            version -> space.toLocalAbsolutePath(exec, itemId, version) //
         );
     }
 
+    private static DownloadedItem downloadComponent(final SpaceProvider spaceProvider, final URI sourceUri,
+        final Download download) throws MutableServiceCallException, ServiceExceptions.NetworkException,
+        ServiceExceptions.LoggedOutException, CanceledExecutionException {
+        var version = VersionId.currentState();
+        var cache = DownloadedComponentCache.getInstance();
+        var localPath = cache.get(spaceProvider, sourceUri, version).orElse(null);
+        if (localPath == null) {
+            localPath = download.apply(version).orElseThrow();
+            cache.put(spaceProvider, sourceUri, version, localPath);
+        } else {
+            LOGGER.debug("Component '" + sourceUri + "' not downloaded again but taken from the cache");
+        }
+        return new DownloadedItem(sourceUri, localPath);
+    }
+
+    @FunctionalInterface
+    private interface Download {
+        Optional<Path> apply(VersionId version) throws MutableServiceCallException,
+            ServiceExceptions.NetworkException, ServiceExceptions.LoggedOutException, CanceledExecutionException;
+    }
+
     private static String compileLoadingFailedErrorMessage(final Throwable cause) {
         var error = "The component could not be created";
         if (cause instanceof FileNotFoundException) {
@@ -0,0 +1,152 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.commands.util;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.collections4.map.LRUMap;
+import org.knime.gateway.api.util.VersionId;
+import org.knime.gateway.impl.webui.spaces.SpaceProvider;
+import org.knime.gateway.impl.webui.spaces.SpaceProvider.SpaceProviderConnection;
+
+/**
+ * Caches the local paths of downloaded components, keyed by the component's source URI and version, such that
+ * repeatedly adding the same component doesn't download it again and again.
+ *
+ * Since the cache is shared JVM-wide, the entries are additionally keyed by the space provider and the user it is
+ * connected as. I.e. a component downloaded with the credentials of one user is never handed out to another user.
+ * Components downloaded via a space provider that isn't connected (i.e. without a known user) are not cached at all.
+ *
+ * Since the 'current state' of a component can change at any time, cache entries are only valid for a limited amount
+ * of time, configured via the system property
+ * {@code org.knime.gateway.impl.webui.service.commands.util.DownloadedComponentCache.maxAgeInSeconds}. It defaults to
+ * {@code 0}, i.e. caching is disabled by default. The number of cached components is limited by the system property
+ * {@code org.knime.gateway.impl.webui.service.commands.util.DownloadedComponentCache.maxSize}.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class DownloadedComponentCache {
+
+    private static final DownloadedComponentCache INSTANCE = new DownloadedComponentCache( //
+        Long.getLong(DownloadedComponentCache.class.getName() + ".maxAgeInSeconds", 0) * 1000, //
+        Integer.getInteger(DownloadedComponentCache.class.getName() + ".maxSize", 64) //
+    );
+
+    private final Map<Key, Entry> m_entries;
+
+    private final long m_maxAgeInMs;
+
+    DownloadedComponentCache(final long maxAgeInMs, final int maxSize) {
+        m_maxAgeInMs = maxAgeInMs;
+        m_entries = Collections.synchronizedMap(new LRUMap<>(maxSize));
+    }
+
+    /**
+     * @return the singleton instance
+     */
+    static DownloadedComponentCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param spaceProvider the space provider the component is downloaded from
+     * @param sourceUri the source URI of the component
+     * @param version the version of the component
+     * @return the local path of the downloaded component or an empty optional if there is no (valid) cache entry
+     */
+    Optional<Path> get(final SpaceProvider spaceProvider, final URI sourceUri, final VersionId version) {
+        var key = createKey(spaceProvider, sourceUri, version).orElse(null);
+        if (key == null) {
+            return Optional.empty();
+        }
+        var entry = m_entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - entry.createdAt() >= m_maxAgeInMs || !Files.exists(entry.localPath())) {
+            m_entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.localPath());
+    }
+
+    /**
+     * Caches the local path of a downloaded component (provided caching is enabled).
+     *
+     * @param spaceProvider the space provider the component has been downloaded from
+     * @param sourceUri the source URI of the component
+     * @param version the version of the component
+     * @param localPath the local path of the downloaded component
+     */
+    void put(final SpaceProvider spaceProvider, final URI sourceUri, final VersionId version, final Path localPath) {
+        if (m_maxAgeInMs > 0) {
+            createKey(spaceProvider, sourceUri, version)
+                .ifPresent(key -> m_entries.put(key, new Entry(localPath, System.currentTimeMillis())));
+        }
+    }
+
+    /*
+     * Returns an empty optional if the space provider isn't connected, i.e. the user is not known.
+     */
+    private static Optional<Key> createKey(final SpaceProvider spaceProvider, final URI sourceUri,
+        final VersionId version) {
+        return spaceProvider.getConnection(false) //
+            .map(SpaceProviderConnection::getUsername) //
+            .map(user -> new Key(spaceProvider.getId(), user, sourceUri, version));
+    }
+
+    private record Key(String providerId, String user, URI sourceUri, VersionId version) {
+    }
+
+    private record Entry(Path localPath, long createdAt) {
+    }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.impl.webui.service.events;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.gateway.impl.webui.service.events.EventSource.DeliveryMetrics;
+
+/**
+ * Delivers the events of a single {@link EventSource} (i.e. of one client and one event type) asynchronously to the
+ * event consumer such that a slow consumer (e.g. a slow transport) doesn't block the thread emitting the events.
+ *
+ * The number of pending events is bounded per coalescing key (e.g. per workflow). If the consumer falls behind and the
+ * bound is reached, a new event is coalesced with the latest pending event of the same key (if the event source is able
+ * to, see {@link EventSource#coalesce(Object, Object)}). Otherwise the event is rejected and the emitting thread is
+ * expected to wait for space (see {@link #awaitCapacity(Object)}) before offering it again (i.e. backpressure).
+ *
+ * The events of all the queues are delivered by a shared, bounded pool of daemon threads (see system property
+ * {@code org.knime.gateway.impl.webui.service.events.EventDeliveryQueue.maxThreads}). Once all its threads are busy,
+ * the delivery of the events of further queues is deferred till a thread becomes available.
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class EventDeliveryQueue<E> {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(EventDeliveryQueue.class);
+
+    /* weight of the latest latency in the moving average */
+    private static final double LATENCY_SMOOTHING = 0.1;
+
+    private static final long IDLE_THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+
+    private static final int MAX_THREADS = Math.max(1, Integer.getInteger(EventDeliveryQueue.class.getName()
+        + ".maxThreads", Math.max(8, 2 * Runtime.getRuntime().availableProcessors())));
+
+    private static final ThreadPoolExecutor DELIVERY_EXECUTOR;
+
+    static {
+        var count = new AtomicInteger();
+        // core = max pool size: new threads are started (up to the maximum) before deliveries are queued
+        DELIVERY_EXECUTOR = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, IDLE_THREAD_KEEP_ALIVE_IN_SECONDS,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                var t = new Thread(r, "KNIME-Event-Delivery-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        DELIVERY_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final String m_name;
+
+    private final EventConsumer m_eventConsumer;
+
+    private final int m_capacity;
+
+    private final BinaryOperator<E> m_coalescer;
+
+    private final Deque<Entry<E>> m_pending = new ArrayDeque<>();
+
+    private boolean m_isDelivering;
+
+    private long m_deliveredCount;
+
+    private long m_coalescedCount;
+
+    private long m_blockedCount;
+
+    private double m_averageLatencyInMs;
+
+    private long m_maxLatencyInMs;
+
+    /**
+     * @param name the name passed to the event consumer along with every event
+     * @param eventConsumer the consumer to deliver the events to
+     * @param capacity the maximum number of pending events per coalescing key
+     * @param coalescer merges a pending event with a newer one, or returns {@code null} if not possible
+     */
+    EventDeliveryQueue(final String name, final EventConsumer eventConsumer, final int capacity,
+        final BinaryOperator<E> coalescer) {
+        m_name = name;
+        m_eventConsumer = eventConsumer;
+        m_capacity = Math.max(1, capacity);
+        m_coalescer = coalescer;
+    }
+
+    /**
+     * Enqueues an event for delivery, unless the maximum number of pending events for the given coalescing key is
+     * reached and the event can't be coalesced with the latest pending one. Never blocks.
+     *
+     * @param event the event to deliver
+     * @param projectId see {@link EventConsumer#accept(String, Object, String)}
+     * @param coalescingKey only pending events with the same key are coalesced and counted against the capacity; events
+     *            without a key ({@code null}) are never coalesced
+     * @return {@code true} if the event has been enqueued or coalesced, {@code false} if there is no space
+     */
+    synchronized boolean offer(final E event, final String projectId, final Object coalescingKey) {
+        if (countPending(coalescingKey) >= m_capacity) {
+            var latest = findLatestPending(coalescingKey);
+            var coalesced = coalescingKey == null ? null : m_coalescer.apply(latest.m_event, event);
+            if (coalesced == null) {
+                return false;
+            }
+            latest.m_event = coalesced;
+            m_coalescedCount++;
+            return true;
+        }
+        add(event, projectId, coalescingKey);
+        return true;
+    }
+
+    /**
+     * Enqueues an event for delivery regardless of the number of pending events, i.e. without backpressure. Never
+     * blocks. Meant for single events which must not wait for the consumer (e.g. the initial event of a newly
+     * registered event listener).
+     *
+     * @param event the event to deliver
+     * @param projectId see {@link EventConsumer#accept(String, Object, String)}
+     * @param coalescingKey see {@link #offer(Object, String, Object)}
+     */
+    synchronized void add(final E event, final String projectId, final Object coalescingKey) {
+        m_pending.addLast(new Entry<>(event, projectId, coalescingKey, System.nanoTime()));
+        if (!m_isDelivering) {
+            m_isDelivering = true;
+            DELIVERY_EXECUTOR.execute(this::deliver);
+        }
+    }
+
+    /**
+     * Blocks till the number of pending events for the given coalescing key drops below the capacity.
+     *
+     * @param coalescingKey the coalescing key
+     * @return {@code false} if interrupted while waiting (the interrupt flag is restored), otherwise {@code true}
+     */
+    synchronized boolean awaitCapacity(final Object coalescingKey) {
+        if (countPending(coalescingKey) < m_capacity) {
+            return true;
+        }
+        m_blockedCount++;
+        while (countPending(coalescingKey) >= m_capacity) {
+            try {
+                wait();
+            } catch (InterruptedException e) { // NOSONAR interrupt flag is restored
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry<E> findLatestPending(final Object coalescingKey) {
+        var it = m_pending.descendingIterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (Objects.equals(entry.m_coalescingKey, coalescingKey)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private int countPending(final Object coalescingKey) {
+        var count = 0;
+        for (var entry : m_pending) {
+            if (Objects.equals(entry.m_coalescingKey, coalescingKey)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void deliver() {
+        while (true) {
+            Entry<E> entry;
+            synchronized (this) {
+                entry = m_pending.pollFirst();
+                if (entry == null) {
+                    m_isDelivering = false;
+                    return;
+                }
+                // unblock emitting threads waiting for space
+                notifyAll();
+            }
+            try {
+                m_eventConsumer.accept(m_name, entry.m_event, entry.m_projectId);
+            } catch (RuntimeException e) { // NOSONAR
+                LOGGER.error("Problem delivering event '" + m_name + "'", e);
+            }
+            recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.m_enqueuedAt));
+        }
+    }
+
+    private synchronized void recordLatency(final long latencyInMs) {
+        m_deliveredCount++;
+        m_averageLatencyInMs = LATENCY_SMOOTHING * latencyInMs + (1 - LATENCY_SMOOTHING) * m_averageLatencyInMs;
+        m_maxLatencyInMs = Math.max(m_maxLatencyInMs, latencyInMs);
+    }
+
+    /**
+     * @return a snapshot of the delivery metrics
+     */
+    synchronized DeliveryMetrics getMetrics() {
+        return new DeliveryMetrics(m_pending.size(), m_deliveredCount, m_coalescedCount, m_blockedCount,
+            m_averageLatencyInMs, m_maxLatencyInMs);
+    }
+
+    private static final class Entry<E> {
+
+        private E m_event;
+
+        private final String m_projectId;
+
+        private final Object m_coalescingKey;
+
+        /* the time the (first) event has been enqueued, i.e. the latency includes the time spent being coalesced */
+        private final long m_enqueuedAt;
+
+        private Entry(final E event, final String projectId, final Object coalescingKey, final long enqueuedAt) {
+            m_event = event;
+            m_projectId = projectId;
+            m_coalescingKey = coalescingKey;
+            m_enqueuedAt = enqueuedAt;
+        }
+
+    }
+
+}
@@ -51,6 +51,7 @@
 import java.util.Optional;
 import java.util.function.BiConsumer;
 
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.gateway.impl.webui.service.DefaultServiceContext;
 
@@ -69,8 +70,28 @@
  */
 public abstract class EventSource<T, E> {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(EventSource.class);
+
+    /**
+     * Whether events are delivered asynchronously to the event consumer (see {@link EventDeliveryQueue}). Can be
+     * enabled using a system property.
+     */
+    private static final boolean ASYNC_DELIVERY =
+        Boolean.getBoolean("org.knime.gateway.impl.webui.service.events.EventSource.asyncDelivery");
+
+    /**
+     * The maximum number of events pending per coalescing key if events are delivered asynchronously. Can be
+     * configured using a system property.
+     */
+    private static final int DELIVERY_QUEUE_CAPACITY =
+        Integer.getInteger("org.knime.gateway.impl.webui.service.events.EventSource.deliveryQueueCapacity", 8);
+
     private final EventConsumer m_eventConsumer;
 
+    private int m_deliveryQueueCapacity = ASYNC_DELIVERY ? DELIVERY_QUEUE_CAPACITY : 0;
+
+    private volatile EventDeliveryQueue<E> m_deliveryQueue;
+
     /**
      * Lock to make sure that the initial events issued by {@link #addEventListenerAndGetInitialEventFor(Object)} are
      * the first being forwarded to the event consumer (via {@link #sendEvent(Object)}) when
@@ -135,8 +156,29 @@ protected static final void assertValidProjectId(final String expectedProjectId,
     public void addEventListenerFor(final T eventTypeEnt, final String projectId) {
         // make sure the returned event is the first being send!
         synchronized (m_sendEventLock) {
-            addEventListenerAndGetInitialEventFor(eventTypeEnt, projectId).ifPresent(e -> sendEvent(e, projectId));
+            addEventListenerAndGetInitialEventFor(eventTypeEnt, projectId)
+                .ifPresent(e -> sendInitialEvent(e, projectId));
+        }
+    }
+
+    /*
+     * Sends the initial event without backpressure, i.e. never waits for the event consumer while holding the
+     * send-event-lock (which would block all the other threads emitting events of this source).
+     */
+    private void sendInitialEvent(final E event, final String projectId) {
+        if (m_deliveryQueueCapacity <= 0) {
+            m_eventConsumer.accept(getName(), event, projectId);
+        } else {
+            getOrCreateDeliveryQueue().add(event, projectId, null);
+        }
+    }
+
+    private EventDeliveryQueue<E> getOrCreateDeliveryQueue() {
+        if (m_deliveryQueue == null) {
+            m_deliveryQueue =
+                new EventDeliveryQueue<>(getName(), m_eventConsumer, m_deliveryQueueCapacity, this::coalesce);
         }
+        return m_deliveryQueue;
     }
 
     /**
@@ -163,8 +205,78 @@ public void addEventListenerFor(final T eventTypeEnt, final String projectId) {
      *            {@link EventConsumer#accept(String, Object, String)}.
      */
     protected final void sendEvent(final E event, final String projectId) {
+        sendEvent(event, projectId, null);
+    }
+
+    /**
+     * Called by sub-classes to emit an event. Same as {@link #sendEvent(Object, String)} but additionally specifies a
+     * key that determines which pending events can be coalesced (see {@link #coalesce(Object, Object)}) in case the
+     * events are delivered asynchronously and the event consumer falls behind.
+     *
+     * @param event the event instance
+     * @param projectId the id of the project the event listener is associated with; can be {@code null}
+     * @param coalescingKey only pending events with the same key are coalesced (e.g. the events of the same workflow);
+     *            events without a key ({@code null}) are never coalesced
+     * @since 5.12
+     */
+    protected final void sendEvent(final E event, final String projectId, final Object coalescingKey) {
+        while (true) {
+            EventDeliveryQueue<E> deliveryQueue;
+            synchronized (m_sendEventLock) {
+                if (m_deliveryQueueCapacity <= 0) {
+                    m_eventConsumer.accept(getName(), event, projectId);
+                    return;
+                }
+                deliveryQueue = getOrCreateDeliveryQueue();
+                if (deliveryQueue.offer(event, projectId, coalescingKey)) {
+                    return;
+                }
+            }
+            // the consumer fell behind and the event can't be coalesced -- wait for space without holding the lock,
+            // i.e. without blocking, e.g., the registration of event listeners
+            if (!deliveryQueue.awaitCapacity(coalescingKey)) {
+                LOGGER.warn("Interrupted while waiting to deliver event '" + getName() + "'"
+                    + (projectId == null ? "" : " of project '" + projectId + "'") + ". Event dropped.");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Merges a pending event (i.e. not yet delivered to the event consumer) with a newer one (with the same coalescing
+     * key, see {@link #sendEvent(Object, String, Object)}) such that the resulting event supersedes both. Only called
+     * if events are delivered asynchronously and the event consumer falls behind.
+     *
+     * Event sources whose events supersede the previous ones (e.g. progress or state events) can simply return the newer
+     * event.
+     *
+     * @param pending the pending event
+     * @param next the newer event
+     * @return the merged event or {@code null} if the events can't be merged (the default)
+     * @since 5.12
+     */
+    protected E coalesce(final E pending, final E next) {
+        return null;
+    }
+
+    /**
+     * @return metrics about the asynchronous event delivery (e.g. queue depth, coalesced events, latency) or an empty
+     *         optional if the events are delivered synchronously or no event has been sent, yet
+     * @since 5.12
+     */
+    public final Optional<DeliveryMetrics> getDeliveryMetrics() {
+        return Optional.ofNullable(m_deliveryQueue).map(EventDeliveryQueue::getMetrics);
+    }
+
+    /**
+     * For testing purposes only!
+     *
+     * @param capacity the maximum number of pending events per coalescing key; 0 to deliver the events synchronously
+     */
+    final void setDeliveryQueueCapacity(final int capacity) {
         synchronized (m_sendEventLock) {
-            m_eventConsumer.accept(getName(), event, projectId);
+            m_deliveryQueueCapacity = capacity;
+            m_deliveryQueue = null;
         }
     }
 
@@ -191,4 +303,21 @@ protected void preEventCreation() {
         }
     }
 
+    /**
+     * Metrics of the asynchronous event delivery of an {@link EventSource}.
+     *
+     * @param queueDepth the number of events currently pending
+     * @param deliveredCount the number of events delivered to the event consumer so far
+     * @param coalescedCount the number of events merged into a pending event (instead of being enqueued)
+     * @param blockedCount how often the thread emitting an event had to wait for the event consumer (backpressure)
+     * @param averageLatencyInMs the (moving) average of the time between the moment an event has been emitted and the
+     *            moment it has been delivered
+     * @param maxLatencyInMs the maximum latency observed so far
+     * @since 5.12
+     */
+    public record DeliveryMetrics(int queueDepth, long deliveredCount, long coalescedCount, long blockedCount,
+        double averageLatencyInMs, long maxLatencyInMs) {
+        //
+    }
+
 }
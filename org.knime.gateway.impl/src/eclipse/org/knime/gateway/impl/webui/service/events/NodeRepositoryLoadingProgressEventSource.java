@@ -72,6 +72,9 @@
 
     private static final long EVENT_INTERVAL_IN_MS = 200;
 
+    /* all progress events supersede each other */
+    private static final Object COALESCING_KEY = new Object();
+
     private ProgressListener m_listener;
 
     private LastEventInfo m_lastEventInfo;
@@ -101,11 +104,22 @@ private void handleNodeSpecCollectionProviderProgressEvent(final ProgressEvent p
             || m_lastEventInfo.time + EVENT_INTERVAL_IN_MS < now) {
             sendEvent(builder(NodeRepositoryLoadingProgressEventEntBuilder.class)
                 .setProgress(BigDecimal.valueOf(progressEvent.overallProgress()))
-                .setExtensionName(progressEvent.extensionName()).build(), null);
+                .setExtensionName(progressEvent.extensionName()).build(), null, COALESCING_KEY);
             m_lastEventInfo = new LastEventInfo(progressEvent.extensionName(), now);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * A progress event supersedes all the previous ones.
+     */
+    @Override
+    protected NodeRepositoryLoadingProgressEventEnt coalesce(final NodeRepositoryLoadingProgressEventEnt pending,
+        final NodeRepositoryLoadingProgressEventEnt next) {
+        return next;
+    }
+
     @Override
     public void removeEventListener(final NodeRepositoryLoadingProgressEventTypeEnt eventTypeEnt,
         final String projectId) {
@@ -91,7 +91,8 @@ public Optional<NodeViewStateEvent> addEventListenerAndGetInitialEventFor(final
         m_nnc = nnc;
         m_nodeStateChangeListener = e -> {
             var nodeViewStateEvent = createEvent(m_nnc, m_initialSelectionSupplier);
-            sendEvent(nodeViewStateEvent, projectId);
+            // state events of the same node supersede each other
+            sendEvent(nodeViewStateEvent, projectId, nnc);
         };
         nnc.addNodeStateChangeListener(m_nodeStateChangeListener);
         return Optional.empty();
@@ -103,6 +104,16 @@ private static NodeViewStateEvent createEvent(final NativeNodeContainer nnc,
         return () -> nodeViewEnt;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * A node view state event carries the entire node view, i.e. it supersedes all the previous ones.
+     */
+    @Override
+    protected NodeViewStateEvent coalesce(final NodeViewStateEvent pending, final NodeViewStateEvent next) {
+        return next;
+    }
+
     @Override
     public void removeEventListener(final NativeNodeContainer nnc, final String projectId) {
         if (nnc.removeNodeStateChangeListener(m_nodeStateChangeListener)) {
@@ -50,6 +50,7 @@
 
 import static org.knime.gateway.impl.service.util.DefaultServiceUtil.assertProjectVersion;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,8 +62,11 @@
 import org.knime.gateway.api.util.VersionId;
 import org.knime.gateway.api.webui.entity.CompositeEventEnt;
 import org.knime.gateway.api.webui.entity.CompositeEventEnt.CompositeEventEntBuilder;
+import org.knime.gateway.api.webui.entity.PatchEnt.PatchEntBuilder;
+import org.knime.gateway.api.webui.entity.PatchOpEnt;
 import org.knime.gateway.api.webui.entity.ProjectDirtyStateEventEnt.ProjectDirtyStateEventEntBuilder;
 import org.knime.gateway.api.webui.entity.WorkflowChangedEventEnt;
+import org.knime.gateway.api.webui.entity.WorkflowChangedEventEnt.WorkflowChangedEventEntBuilder;
 import org.knime.gateway.api.webui.entity.WorkflowChangedEventTypeEnt;
 import org.knime.gateway.api.webui.service.util.ServiceExceptions.NodeNotFoundException;
 import org.knime.gateway.api.webui.service.util.ServiceExceptions.NotASubWorkflowException;
@@ -71,6 +75,7 @@
 import org.knime.gateway.impl.service.util.PatchEntCreator;
 import org.knime.gateway.impl.service.util.WorkflowChangesListener;
 import org.knime.gateway.impl.service.util.WorkflowManagerResolver;
+import org.knime.gateway.impl.webui.WorkflowChangedEventPublisher;
 import org.knime.gateway.impl.webui.WorkflowKey;
 import org.knime.gateway.impl.webui.WorkflowMiddleware;
 import org.knime.gateway.impl.webui.WorkflowUtil;
@@ -84,9 +89,12 @@ public class WorkflowChangedEventSource extends EventSource<WorkflowChangedEvent
 
     private final WorkflowMiddleware m_workflowMiddleware;
 
-    // In a multi-user scenario we will need to keep track of the callbacks
-    // per 'user/client' instead of per workflow - see NXT-2599
-    private final Map<WorkflowKey, Runnable> m_workflowChangesCallbacks = new HashMap<>();
+    /*
+     * Maps the workflow key to the runnable which removes the subscription to the workflow's
+     * WorkflowChangedEventPublisher again. The publisher is shared by all event sources (i.e. clients) subscribed to
+     * the same workflow such that the events are only created once for all of them.
+     */
+    private final Map<WorkflowKey, Runnable> m_subscriptions = new HashMap<>();
 
     private final ProjectManager m_projectManager;
 
@@ -106,7 +114,7 @@ public WorkflowChangedEventSource(final EventConsumer eventConsumer, final Workf
     private void removeEventListeners(final String projectId) {
         // remove listeners in case the FE doesn't explicitly do it,
         // e.g., in case the underlying job is swapped (AP in Hub)
-        for (final var wfKey : Set.copyOf(m_workflowChangesCallbacks.keySet())) {
+        for (final var wfKey : Set.copyOf(m_subscriptions.keySet())) {
             if (wfKey.getProjectId().equals(projectId)) {
                 removeEventListener(wfKey);
             }
@@ -124,14 +132,12 @@ protected String getName() {
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings("resource")
     @Override
     public Optional<CompositeEventEnt>
         addEventListenerAndGetInitialEventFor(final WorkflowChangedEventTypeEnt wfEventType, final String projectId) {
         assertValidProjectId(projectId, wfEventType.getProjectId());
         assertProjectVersion(wfEventType.getProjectId(), VersionId.currentState());
         var workflowKey = new WorkflowKey(wfEventType.getProjectId(), wfEventType.getWorkflowId());
-        var workflowChangesListener = m_workflowMiddleware.getWorkflowChangesListener(workflowKey);
 
         try {
             WorkflowUtil.assertWorkflowExists(workflowKey);
@@ -148,13 +154,12 @@ protected String getName() {
             true //
         );
 
-        // add and keep track of callback added to the workflow changes listener (if not already)
-        m_workflowChangesCallbacks.computeIfAbsent(workflowKey, wfKey -> {
+        // subscribe to the workflow changed events (if not already)
+        m_subscriptions.computeIfAbsent(workflowKey, wfKey -> {
             var latestSnapshotId =
                 workflowChangedEvent == null ? wfEventType.getSnapshotId() : workflowChangedEvent.getSnapshotId();
-            final var callback = createWorkflowChangesCallback(workflowKey, new PatchEntCreator(latestSnapshotId));
-            workflowChangesListener.addWorkflowChangeCallback(callback);
-            return callback;
+            return m_workflowMiddleware.getWorkflowChangedEventPublisher(wfKey).subscribe(latestSnapshotId,
+                createSubscriber(wfKey));
         });
 
         if (workflowChangedEvent == null) {
@@ -167,18 +172,21 @@ protected String getName() {
         }
     }
 
-    private Runnable createWorkflowChangesCallback(final WorkflowKey wfKey, final PatchEntCreator patchEntCreator) {
-
+    private WorkflowChangedEventPublisher.Subscriber createSubscriber(final WorkflowKey wfKey) {
         // No version needed, only current state
         var wfm = WorkflowManagerResolver.get(wfKey.getProjectId(), wfKey.getWorkflowId());
-        return () -> {
-            preEventCreation();
-            var workflowChangedEvent = m_workflowMiddleware.buildWorkflowChangedEvent(wfKey, patchEntCreator,
-                patchEntCreator.getLastSnapshotId(), true);
-            if (workflowChangedEvent != null) {
-                var compositeEvent = createCompositeEvent(wfKey, wfm, workflowChangedEvent);
-                sendEvent(compositeEvent, wfKey.getProjectId());
+        return new WorkflowChangedEventPublisher.Subscriber() {
+
+            @Override
+            public void accept(final WorkflowChangedEventEnt workflowChangedEvent) {
+                sendEvent(createCompositeEvent(wfKey, wfm, workflowChangedEvent), wfKey.getProjectId(), wfKey);
+            }
+
+            @Override
+            public void beforeEventCreation() {
+                preEventCreation();
             }
+
         };
     }
 
@@ -190,6 +198,31 @@ private static CompositeEventEnt createCompositeEvent(final WorkflowKey wfKey, f
             .setEvents(List.of(workflowChangedEvent, projectDirtyStateEvent)).build();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Two workflow changed events (of the same workflow) are merged by concatenating the operations of their patches,
+     * i.e. applying the merged patch is equivalent to applying both patches one after the other. The project dirty
+     * state is taken from the newer event.
+     */
+    @Override
+    protected CompositeEventEnt coalesce(final CompositeEventEnt pending, final CompositeEventEnt next) {
+        var pendingEvents = pending.getEvents();
+        var nextEvents = next.getEvents();
+        if (pendingEvents.size() != 2 || nextEvents.size() != 2
+            || !(pendingEvents.get(0) instanceof WorkflowChangedEventEnt pendingWfEvent)
+            || !(nextEvents.get(0) instanceof WorkflowChangedEventEnt nextWfEvent)) {
+            return null;
+        }
+        var ops = new ArrayList<PatchOpEnt>(pendingWfEvent.getPatch().getOps());
+        ops.addAll(nextWfEvent.getPatch().getOps());
+        var workflowChangedEvent = EntityBuilderManager.builder(WorkflowChangedEventEntBuilder.class)
+            .setPatch(EntityBuilderManager.builder(PatchEntBuilder.class).setOps(ops).build())
+            .setSnapshotId(nextWfEvent.getSnapshotId()).build();
+        return EntityBuilderManager.builder(CompositeEventEntBuilder.class)
+            .setEvents(List.of(workflowChangedEvent, nextEvents.get(1))).build();
+    }
+
     @Override
     public void removeEventListener(final WorkflowChangedEventTypeEnt wfEventType, final String projectId) {
         var wfKey = new WorkflowKey(wfEventType.getProjectId(), wfEventType.getWorkflowId());
@@ -197,17 +230,16 @@ public void removeEventListener(final WorkflowChangedEventTypeEnt wfEventType, f
         m_workflowMiddleware.clearCachedDependentNodeProperties(wfKey);
     }
 
-    @SuppressWarnings("resource")
     private void removeEventListener(final WorkflowKey wfKey) {
-        var callback = m_workflowChangesCallbacks.remove(wfKey);
-        if (callback != null && m_workflowMiddleware.hasStateFor(wfKey)) {
-            m_workflowMiddleware.getWorkflowChangesListener(wfKey).removeCallback(callback);
+        var unsubscribe = m_subscriptions.remove(wfKey);
+        if (unsubscribe != null) {
+            unsubscribe.run();
         }
     }
 
     @Override
     public void removeAllEventListeners() {
-        for (final var key : Set.copyOf(m_workflowChangesCallbacks.keySet())) {
+        for (final var key : Set.copyOf(m_subscriptions.keySet())) {
             removeEventListener(key);
         }
     }
@@ -220,7 +252,7 @@ public void removeAllEventListeners() {
      *         argument
      */
     public boolean checkWorkflowChangesListenerCallbackState(final CallState state) {
-        for (final var k : m_workflowChangesCallbacks.keySet()) {
+        for (final var k : m_subscriptions.keySet()) {
             if (m_workflowMiddleware.getWorkflowChangesListener(k).getCallState() == state) {
                 return true;
             }
@@ -234,7 +266,7 @@ public boolean checkWorkflowChangesListenerCallbackState(final CallState state)
      * @return the number of registered event listeners
      */
     int getNumRegisteredListeners() {
-        return m_workflowChangesCallbacks.size();
+        return m_subscriptions.size();
     }
 
 }
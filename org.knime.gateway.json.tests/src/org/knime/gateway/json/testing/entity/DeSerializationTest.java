@@ -47,13 +47,19 @@
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.Assert;
 import org.junit.Test;
+import org.knime.gateway.api.entity.AnnotationIDEnt;
+import org.knime.gateway.api.entity.ConnectionIDEnt;
+import org.knime.gateway.api.entity.NodeIDEnt;
 import org.knime.gateway.api.webui.entity.XYEnt;
 import org.knime.gateway.impl.webui.entity.DefaultXYEnt.DefaultXYEntBuilder;
 import org.knime.gateway.json.util.ObjectMapperUtil;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
@@ -78,4 +84,33 @@ public void testDeserializationWithUnknownProperty() throws JsonProcessingExcept
             Matchers.is(entity));
     }
 
+    /**
+     * Tests the de-/serialization of the id entities.
+     *
+     * @throws JsonProcessingException
+     */
+    @Test
+    public void testIDEntityDeSerialization() throws JsonProcessingException {
+        ObjectMapper mapper = ObjectMapperUtil.getInstance().getObjectMapper();
+        var nodeIds = mapper.readValue("[\"root\", \"root:3:4\", \"root:3:4\"]", NodeIDEnt[].class);
+        MatcherAssert.assertThat(nodeIds[0], Matchers.is(NodeIDEnt.getRootID()));
+        MatcherAssert.assertThat(nodeIds[1], Matchers.is(new NodeIDEnt(3, 4)));
+        MatcherAssert.assertThat("repeated node ids are expected to be shared", nodeIds[2],
+            Matchers.sameInstance(nodeIds[1]));
+        MatcherAssert.assertThat(mapper.writeValueAsString(nodeIds[1]), Matchers.is("\"root:3:4\""));
+
+        var connectionId = mapper.readValue("\"root:3:4_2\"", ConnectionIDEnt.class);
+        MatcherAssert.assertThat(connectionId, Matchers.is(new ConnectionIDEnt(new NodeIDEnt(3, 4), 2)));
+        MatcherAssert.assertThat(mapper.writeValueAsString(connectionId), Matchers.is("\"root:3:4_2\""));
+
+        var annotationId = mapper.readValue("\"root:5_0\"", AnnotationIDEnt.class);
+        MatcherAssert.assertThat(annotationId, Matchers.is(new AnnotationIDEnt(new NodeIDEnt(5), 0)));
+        MatcherAssert.assertThat(mapper.writeValueAsString(annotationId), Matchers.is("\"root:5_0\""));
+
+        Assert.assertThrows(InvalidFormatException.class, () -> mapper.readValue("\"root:a\"", NodeIDEnt.class));
+        Assert.assertThrows(InvalidFormatException.class,
+            () -> mapper.readValue("\"root:3\"", ConnectionIDEnt.class));
+        Assert.assertThrows(MismatchedInputException.class, () -> mapper.readValue("5", AnnotationIDEnt.class));
+    }
+
 }
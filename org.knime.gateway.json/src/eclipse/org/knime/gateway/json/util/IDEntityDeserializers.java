@@ -0,0 +1,170 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.json.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.knime.gateway.api.entity.AnnotationIDEnt;
+import org.knime.gateway.api.entity.ConnectionIDEnt;
+import org.knime.gateway.api.entity.NodeIDEnt;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+/**
+ * Hand-written (i.e. reflection-free) deserializers for the id entities. Since node ids repeat a lot (e.g. the workflow
+ * id of almost every request), parsed {@link NodeIDEnt}s are cached and shared (they are immutable).
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ */
+final class IDEntityDeserializers {
+
+    private static final String ROOT = NodeIDEnt.getRootID().toString();
+
+    /* the cache is simply cleared once it reached its max size */
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private static final Map<String, NodeIDEnt> NODE_ID_CACHE = new ConcurrentHashMap<>();
+
+    private IDEntityDeserializers() {
+        // utility
+    }
+
+    static NodeIDEnt parseNodeIDEnt(final String s) {
+        if (ROOT.equals(s)) {
+            return NodeIDEnt.getRootID();
+        }
+        var id = NODE_ID_CACHE.get(s);
+        if (id == null) {
+            id = new NodeIDEnt(s);
+            if (NODE_ID_CACHE.size() >= MAX_CACHE_SIZE) {
+                NODE_ID_CACHE.clear();
+            }
+            NODE_ID_CACHE.put(s, id);
+        }
+        return id;
+    }
+
+    private static String getText(final JsonParser p, final DeserializationContext ctxt, final Class<?> clazz)
+        throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return (String)ctxt.handleUnexpectedToken(clazz, p);
+        }
+        return p.getText();
+    }
+
+    @SuppressWarnings("serial")
+    static final class NodeIDEntDeserializer extends StdScalarDeserializer<NodeIDEnt> {
+
+        NodeIDEntDeserializer() {
+            super(NodeIDEnt.class);
+        }
+
+        @Override
+        public NodeIDEnt deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            var s = getText(p, ctxt, NodeIDEnt.class);
+            try {
+                return parseNodeIDEnt(s);
+            } catch (IllegalArgumentException e) { // NOSONAR
+                return (NodeIDEnt)ctxt.handleWeirdStringValue(NodeIDEnt.class, s, e.getMessage());
+            }
+        }
+
+    }
+
+    @SuppressWarnings("serial")
+    static final class ConnectionIDEntDeserializer extends StdScalarDeserializer<ConnectionIDEnt> {
+
+        ConnectionIDEntDeserializer() {
+            super(ConnectionIDEnt.class);
+        }
+
+        @Override
+        public ConnectionIDEnt deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            var s = getText(p, ctxt, ConnectionIDEnt.class);
+            var index = s.indexOf('_');
+            try {
+                if (index >= 0) {
+                    return new ConnectionIDEnt(parseNodeIDEnt(s.substring(0, index)),
+                        Integer.parseInt(s, index + 1, s.length(), 10));
+                }
+            } catch (IllegalArgumentException e) { // NOSONAR
+                // handled below
+            }
+            return (ConnectionIDEnt)ctxt.handleWeirdStringValue(ConnectionIDEnt.class, s, "Not a connection id");
+        }
+
+    }
+
+    @SuppressWarnings("serial")
+    static final class AnnotationIDEntDeserializer extends StdScalarDeserializer<AnnotationIDEnt> {
+
+        AnnotationIDEntDeserializer() {
+            super(AnnotationIDEnt.class);
+        }
+
+        @Override
+        public AnnotationIDEnt deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            var s = getText(p, ctxt, AnnotationIDEnt.class);
+            var index = s.indexOf('_');
+            try {
+                if (index >= 0) {
+                    return new AnnotationIDEnt(parseNodeIDEnt(s.substring(0, index)),
+                        Integer.parseInt(s, index + 1, s.length(), 10));
+                }
+            } catch (IllegalArgumentException e) { // NOSONAR
+                // handled below
+            }
+            return (AnnotationIDEnt)ctxt.handleWeirdStringValue(AnnotationIDEnt.class, s, "Not an annotation id");
+        }
+
+    }
+
+}
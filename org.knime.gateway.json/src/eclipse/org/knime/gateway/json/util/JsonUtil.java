@@ -46,10 +46,8 @@
 package org.knime.gateway.json.util;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
-import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
@@ -61,7 +59,6 @@
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -106,14 +103,15 @@ public static final void addWebUIMixIns(final ObjectMapper mapper) {
      *
      * @param mapper the mapper to add the de-/serializer to
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public static void addIDEntityDeSerializer(final ObjectMapper mapper) {
-        for (Class clazz : Arrays.asList(NodeIDEnt.class, ConnectionIDEnt.class, AnnotationIDEnt.class)) {
-            SimpleModule nodeIdMod = new SimpleModule();
-            nodeIdMod.addSerializer(clazz, createToStringSerializer(clazz));
-            nodeIdMod.addDeserializer(clazz, createFromStringDeserializer(clazz));
-            mapper.registerModule(nodeIdMod);
-        }
+        SimpleModule idMod = new SimpleModule();
+        idMod.addSerializer(NodeIDEnt.class, createToStringSerializer(NodeIDEnt.class));
+        idMod.addSerializer(ConnectionIDEnt.class, createToStringSerializer(ConnectionIDEnt.class));
+        idMod.addSerializer(AnnotationIDEnt.class, createToStringSerializer(AnnotationIDEnt.class));
+        idMod.addDeserializer(NodeIDEnt.class, new IDEntityDeserializers.NodeIDEntDeserializer());
+        idMod.addDeserializer(ConnectionIDEnt.class, new IDEntityDeserializers.ConnectionIDEntDeserializer());
+        idMod.addDeserializer(AnnotationIDEnt.class, new IDEntityDeserializers.AnnotationIDEntDeserializer());
+        mapper.registerModule(idMod);
     }
 
     @SuppressWarnings("serial")
@@ -128,23 +126,6 @@ public void serialize(final C value, final JsonGenerator gen, final SerializerPr
         };
     }
 
-    @SuppressWarnings("serial")
-    private static <C> JsonDeserializer<C> createFromStringDeserializer(final Class<C> clazz) {
-        return new StdDeserializer<C>(clazz) {
-
-            @Override
-            public C deserialize(final JsonParser p, final DeserializationContext ctxt)
-                throws IOException {
-                try {
-                    return clazz.getConstructor(String.class).newInstance(p.getText());
-                } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-                        | InvocationTargetException | NoSuchMethodException | SecurityException ex) {
-                    throw new IOException(ex);
-                }
-            }
-        };
-    }
-
     /**
      * Custom serializer for {@link OffsetDateTime} properties. Will be serialized in ISO 8601 format.
      *
@@ -0,0 +1,118 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.gateway.json.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The formats gateway entities (wrapped in json-rpc messages) can be exchanged in. Usually negotiated once per
+ * connection (see {@link #negotiate(String)}).
+ *
+ * @author agent, KNIME GmbH, Konstanz, Germany
+ * @since 5.12
+ */
+public enum WireFormat {
+
+        /**
+         * Plain json text, utf-8 encoded.
+         */
+        JSON("application/json"),
+
+        /**
+         * Binary json (<a href="https://bsonspec.org/">bson</a>). Note that bson requires a document (i.e. an object)
+         * at the top-level; json-rpc batch requests are therefore not supported.
+         */
+        BSON("application/bson");
+
+    private final String m_mediaType;
+
+    WireFormat(final String mediaType) {
+        m_mediaType = mediaType;
+    }
+
+    /**
+     * @return the media type (mime type) of the format
+     */
+    public String getMediaType() {
+        return m_mediaType;
+    }
+
+    /**
+     * @return the (shared) object mapper reading and writing this format
+     */
+    public ObjectMapper getObjectMapper() {
+        return this == BSON ? ObjectMapperUtil.getInstance().getBinaryObjectMapper()
+            : ObjectMapperUtil.getInstance().getObjectMapper();
+    }
+
+    /**
+     * Picks the wire format for a connection based on what the client requested.
+     *
+     * @param requested a comma-separated list of format names or media types in order of preference (as, e.g., given
+     *            by an {@code Accept}-header or a connection parameter); can be {@code null}
+     * @return the first supported of the requested formats, or {@link #JSON} if none is supported (or none requested)
+     */
+    public static WireFormat negotiate(final String requested) {
+        if (requested == null || requested.isBlank()) {
+            return JSON;
+        }
+        for (var candidate : requested.split(",")) {
+            // strip parameters such as 'q=0.9' or 'charset=utf-8'
+            var name = candidate.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            var format = Arrays.stream(values())
+                .filter(f -> f.m_mediaType.equals(name) || f.name().toLowerCase(Locale.ROOT).equals(name)) //
+                .findFirst();
+            if (format.isPresent()) {
+                return format.get();
+            }
+        }
+        return JSON;
+    }
+
+}